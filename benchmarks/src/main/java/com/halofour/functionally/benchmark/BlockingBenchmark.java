@@ -0,0 +1,73 @@
+package com.halofour.functionally.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.halofour.functionally.util.IO;
+import com.halofour.functionally.util.IOExecutors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures running {@code tasks} blocking effects, which each sleep for a millisecond, concurrently with
+ * {@link IO#parTraverseN} and {@link IO#evalOn}.  The {@code platform} executor is the pool of platform threads
+ * returned by {@link IOExecutors#newBlockingPool(String)}, which starts a thread for every effect in flight, and
+ * the {@code virtual} executor starts a virtual thread per effect.  The {@code virtual} executor requires the
+ * library's multi-release JAR to be run on Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BlockingBenchmark {
+    @Param({"1000", "10000"})
+    public int tasks;
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    private ExecutorService pool;
+    private List<Integer> inputs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(executor)) {
+            pool = IOExecutors.newVirtualThreadPerTaskExecutor("benchmark-virtual");
+        } else {
+            pool = IOExecutors.newBlockingPool("benchmark-platform");
+        }
+        inputs = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            inputs.add(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public int blocking() throws Throwable {
+        return IO.parTraverseN(tasks, inputs, input -> IO.apply(() -> {
+            Thread.sleep(1);
+            return input;
+        }).evalOn(pool)).get().size();
+    }
+}
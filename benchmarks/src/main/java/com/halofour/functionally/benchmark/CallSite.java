@@ -0,0 +1,44 @@
+package com.halofour.functionally.benchmark;
+
+/**
+ * The shape of the call sites exercised by a benchmark.
+ */
+public enum CallSite {
+    /**
+     * Every invocation passes the same lambda class, allowing the JIT to inline the callee
+     */
+    MONOMORPHIC(1),
+
+    /**
+     * Invocations rotate through several lambda classes, forcing virtual dispatch at the call site
+     */
+    MEGAMORPHIC(4);
+
+    private final int shapes;
+
+    CallSite(int shapes) {
+        this.shapes = shapes;
+    }
+
+    /**
+     * Returns the number of distinct lambda classes used at each call site
+     * @return the number of distinct lambda classes
+     */
+    public int shapes() {
+        return shapes;
+    }
+
+    /**
+     * Fills {@code target} by rotating through the first {@link #shapes()} elements of {@code candidates}
+     * @param candidates the distinct implementations, at least four
+     * @param target the array to fill
+     * @param <T> the type of the implementations
+     * @return the filled array
+     */
+    public <T> T[] fill(T[] candidates, T[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = candidates[i % shapes];
+        }
+        return target;
+    }
+}
@@ -0,0 +1,36 @@
+package com.halofour.functionally.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A pool of daemon threads shared by all benchmark threads which completes asynchronous work,
+ * so that callbacks are always invoked from a thread other than the one waiting on the result.
+ */
+@State(Scope.Benchmark)
+public class Completers {
+    public ExecutorService pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "benchmark-completer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,110 @@
+package com.halofour.functionally.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.halofour.functionally.util.Fiber;
+import com.halofour.functionally.util.IO;
+import com.halofour.functionally.util.IOScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures forking {@code fibers} concurrent computations which each yield {@code yields} times before completing,
+ * and joining all of them.  {@code fibers} runs them as {@link Fiber}s of an {@link IOScheduler} with a worker per
+ * processor, and {@code shift} runs the same computations with {@link IO#shift()} on the compute pool in place
+ * of {@link IO#cede()}.  The baseline chains the same number of {@link CompletableFuture} stages on the
+ * {@link Completers} pool.  The statistics of the scheduler are printed after each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FiberBenchmark {
+    @Param({"10000", "1000000"})
+    public int fibers;
+
+    @Param({"4"})
+    public int yields;
+
+    private IOScheduler scheduler;
+    private IO<Integer> yielding;
+    private IO<Integer> shifting;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = IOScheduler.create(Runtime.getRuntime().availableProcessors(), "benchmark-fiber");
+        IO<Integer> yielding = IO.pure(0);
+        IO<Integer> shifting = IO.pure(0);
+        for (int i = 0; i < yields; i++) {
+            yielding = yielding.flatMap(value -> IO.cede().map(ignored -> value + 1));
+            shifting = shifting.flatMap(value -> IO.shift().map(ignored -> value + 1));
+        }
+        this.yielding = yielding;
+        this.shifting = shifting;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println(scheduler.stats());
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public long fibers() throws Throwable {
+        List<Fiber<Integer>> forked = new ArrayList<>(fibers);
+        for (int i = 0; i < fibers; i++) {
+            forked.add(scheduler.fork(yielding));
+        }
+        long total = 0;
+        for (Fiber<Integer> fiber : forked) {
+            total += fiber.join().get();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long shift() throws Throwable {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(fibers);
+        for (int i = 0; i < fibers; i++) {
+            futures.add(shifting.toCompletableFuture());
+        }
+        long total = 0;
+        for (CompletableFuture<Integer> future : futures) {
+            total += future.get();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long future(Completers completers) throws Exception {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(fibers);
+        for (int i = 0; i < fibers; i++) {
+            CompletableFuture<Integer> future = CompletableFuture.completedFuture(0);
+            for (int j = 0; j < yields; j++) {
+                future = future.thenApplyAsync(value -> value + 1, completers.pool);
+            }
+            futures.add(future);
+        }
+        long total = 0;
+        for (CompletableFuture<Integer> future : futures) {
+            total += future.get();
+        }
+        return total;
+    }
+}
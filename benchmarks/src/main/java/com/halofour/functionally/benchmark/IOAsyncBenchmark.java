@@ -0,0 +1,72 @@
+package com.halofour.functionally.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.halofour.functionally.util.IO;
+import com.halofour.functionally.util.Success;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link IO#async} callbacks which are completed by the shared {@link Completers} pool and then
+ * continue through {@code stages} {@code map} stages, against the equivalent {@link CompletableFuture} pipeline.
+ * The {@link IO} and baseline threads run side by side in the same group so that both see the same contention
+ * on the completer pool.  The nested subclasses scale the number of groups.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public abstract class IOAsyncBenchmark {
+    @Param({"1", "16"})
+    public int stages;
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public Integer io(Completers completers) throws Throwable {
+        IO<Integer> io = IO.async(callback -> completers.pool.execute(() -> {
+            try {
+                callback.accept(Success.of(0));
+            } catch (Throwable ignored) { }
+        }));
+        for (int i = 0; i < stages; i++) {
+            io = io.map(value -> value + 1);
+        }
+        return io.get();
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public Integer future(Completers completers) throws Exception {
+        CompletableFuture<Integer> future = CompletableFuture.supplyAsync(() -> 0, completers.pool);
+        for (int i = 0; i < stages; i++) {
+            future = future.thenApply(value -> value + 1);
+        }
+        return future.get();
+    }
+
+    @Threads(2)
+    public static class OneGroup extends IOAsyncBenchmark { }
+
+    @Threads(8)
+    public static class FourGroups extends IOAsyncBenchmark { }
+
+    @Threads(64)
+    public static class ThirtyTwoGroups extends IOAsyncBenchmark { }
+}
@@ -0,0 +1,110 @@
+package com.halofour.functionally.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.halofour.functionally.util.IO;
+import com.halofour.functionally.util.function.TryFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures synchronous {@code map}/{@code flatMap} chains of {@link IO} against the equivalent
+ * {@link CompletableFuture} pipeline.  {@code ioAsync} bridges a completed {@link CompletableFuture} into each
+ * stage through {@link IO#async(com.halofour.functionally.util.function.TrySupplier)}, and {@code ioRecover}
+ * fails and skips the {@code depth} stages to a single {@link IO#recover}.  Divide a score by
+ * {@code depth} to get the cost per stage.
+ * The nested subclasses run the same benchmarks with 1, 8 and 64 threads to show how they scale.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public abstract class IOChainBenchmark {
+    private static final TryFunction<Integer, Integer> INCREMENT = value -> value + 1;
+    private static final Function<Integer, Integer> FUTURE_INCREMENT = value -> value + 1;
+
+    @Param({"1", "16", "256"})
+    public int depth;
+
+    private IO<Integer> mapChain;
+    private IO<Integer> flatMapChain;
+    private IO<Integer> asyncChain;
+    private IO<Integer> recoverChain;
+
+    @Setup
+    public void setUp() {
+        IO<Integer> source = IO.apply(() -> 0);
+        mapChain = source;
+        flatMapChain = source;
+        asyncChain = source;
+        recoverChain = IO.failure(new IllegalStateException());
+        for (int i = 0; i < depth; i++) {
+            mapChain = mapChain.map(INCREMENT);
+            flatMapChain = flatMapChain.flatMap(value -> IO.apply(() -> value + 1));
+            asyncChain = asyncChain.flatMap(value -> IO.async(() -> CompletableFuture.completedFuture(value + 1)));
+            recoverChain = recoverChain.map(INCREMENT);
+        }
+        recoverChain = recoverChain.recover(exception -> 0);
+    }
+
+    @Benchmark
+    public Integer ioMap() throws Throwable {
+        return mapChain.get();
+    }
+
+    @Benchmark
+    public Integer ioFlatMap() throws Throwable {
+        return flatMapChain.get();
+    }
+
+    @Benchmark
+    public Integer ioAsync() throws Throwable {
+        return asyncChain.get();
+    }
+
+    @Benchmark
+    public Integer ioRecover() throws Throwable {
+        return recoverChain.get();
+    }
+
+    @Benchmark
+    public Integer futureMap() throws Exception {
+        CompletableFuture<Integer> future = CompletableFuture.supplyAsync(() -> 0, Runnable::run);
+        for (int i = 0; i < depth; i++) {
+            future = future.thenApply(FUTURE_INCREMENT);
+        }
+        return future.get();
+    }
+
+    @Benchmark
+    public Integer futureFlatMap() throws Exception {
+        CompletableFuture<Integer> future = CompletableFuture.supplyAsync(() -> 0, Runnable::run);
+        for (int i = 0; i < depth; i++) {
+            future = future.thenCompose(value -> CompletableFuture.supplyAsync(() -> value + 1, Runnable::run));
+        }
+        return future.get();
+    }
+
+    @Threads(1)
+    public static class OneThread extends IOChainBenchmark { }
+
+    @Threads(8)
+    public static class EightThreads extends IOChainBenchmark { }
+
+    @Threads(64)
+    public static class SixtyFourThreads extends IOChainBenchmark { }
+}
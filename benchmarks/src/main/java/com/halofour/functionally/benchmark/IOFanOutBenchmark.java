@@ -0,0 +1,127 @@
+package com.halofour.functionally.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import com.halofour.functionally.util.IO;
+import com.halofour.functionally.util.Success;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures fanning out {@code width} independent asynchronous branches and joining their results.
+ * {@code ioParSequence} joins the branches with {@link IO#parSequence}, {@code io} evaluates each branch on the
+ * {@link Completers} pool by hand and {@code ioCallbacks} chains the {@link IO#async} branches with {@code flatMap},
+ * which waits for each callback in turn.  The baseline composes the same work with {@link CompletableFuture#allOf}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public abstract class IOFanOutBenchmark {
+    @Param({"4", "32"})
+    public int width;
+
+    private List<IO<Integer>> branches;
+
+    @Setup
+    public void setUp() {
+        branches = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            int index = i;
+            branches.add(IO.apply(() -> index).map(value -> value * 2));
+        }
+    }
+
+    @Benchmark
+    public int io(Completers completers) throws Throwable {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(width);
+        for (IO<Integer> branch : branches) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return branch.get();
+                } catch (Throwable exception) {
+                    throw new CompletionException(exception);
+                }
+            }, completers.pool));
+        }
+        IO<Integer> joined = IO.async(() -> CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> sum(futures)));
+        return joined.get();
+    }
+
+    @Benchmark
+    public int ioParSequence() throws Throwable {
+        return IO.parSequence(branches)
+                .map(IOFanOutBenchmark::sumValues)
+                .get();
+    }
+
+    @Benchmark
+    public int future(Completers completers) throws Exception {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            int index = i;
+            futures.add(CompletableFuture.supplyAsync(() -> index, completers.pool)
+                    .thenApply(value -> value * 2));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> sum(futures))
+                .get();
+    }
+
+    @Benchmark
+    public int ioCallbacks(Completers completers) throws Throwable {
+        IO<Integer> joined = IO.apply(() -> 0);
+        for (int i = 0; i < width; i++) {
+            int index = i;
+            IO<Integer> branch = IO.async(callback -> completers.pool.execute(() -> {
+                try {
+                    callback.accept(Success.of(index * 2));
+                } catch (Throwable ignored) { }
+            }));
+            joined = joined.flatMap(total -> branch.map(value -> total + value));
+        }
+        return joined.get();
+    }
+
+    private static int sumValues(Iterable<Integer> values) {
+        int total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    private static int sum(List<CompletableFuture<Integer>> futures) {
+        int total = 0;
+        for (CompletableFuture<Integer> future : futures) {
+            total += future.join();
+        }
+        return total;
+    }
+
+    @Threads(1)
+    public static class OneThread extends IOFanOutBenchmark { }
+
+    @Threads(8)
+    public static class EightThreads extends IOFanOutBenchmark { }
+
+    @Threads(64)
+    public static class SixtyFourThreads extends IOFanOutBenchmark { }
+}
@@ -0,0 +1,131 @@
+package com.halofour.functionally.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import com.halofour.functionally.util.Failure;
+import com.halofour.functionally.util.Success;
+import com.halofour.functionally.util.Try;
+import com.halofour.functionally.util.TryCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures serializing and deserializing {@link Try} results with Java serialization.  The {@code full} failure
+ * writes the whole exception graph, with its cause and {@code depth} stack frames, while the {@code compact}
+ * failure writes only the class name, message and top four frames through {@link Failure#compact(int)}.
+ * The {@code codec} benchmarks write the same results into a reused direct buffer with a {@link TryCodec}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializationBenchmark {
+    private static final int DEPTH = 64;
+    private static final int COMPACT_FRAMES = 4;
+
+    private Try<String> success;
+    private Try<String> fullFailure;
+    private Try<String> compactFailure;
+
+    private byte[] successBytes;
+    private byte[] fullFailureBytes;
+    private byte[] compactFailureBytes;
+
+    private TryCodec<String> codec;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        success = Success.of("SUCCESS");
+        fullFailure = Failure.of(exception(DEPTH));
+        compactFailure = Failure.<String>of(exception(DEPTH)).compact(COMPACT_FRAMES);
+
+        successBytes = serialize(success);
+        fullFailureBytes = serialize(fullFailure);
+        compactFailureBytes = serialize(compactFailure);
+
+        codec = TryCodec.of(TryCodec.ValueCodec.strings()).withStackFrames(COMPACT_FRAMES);
+        buffer = ByteBuffer.allocateDirect(4096);
+    }
+
+    @Benchmark
+    public byte[] serializeSuccess() throws IOException {
+        return serialize(success);
+    }
+
+    @Benchmark
+    public byte[] serializeFullFailure() throws IOException {
+        return serialize(fullFailure);
+    }
+
+    @Benchmark
+    public byte[] serializeCompactFailure() throws IOException {
+        return serialize(compactFailure);
+    }
+
+    @Benchmark
+    public Object deserializeSuccess() throws Exception {
+        return deserialize(successBytes);
+    }
+
+    @Benchmark
+    public Object deserializeFullFailure() throws Exception {
+        return deserialize(fullFailureBytes);
+    }
+
+    @Benchmark
+    public Object deserializeCompactFailure() throws Exception {
+        return deserialize(compactFailureBytes);
+    }
+
+    @Benchmark
+    public Try<String> codecSuccess() {
+        buffer.clear();
+        codec.encode(success, buffer).flip();
+        return codec.decode(buffer);
+    }
+
+    @Benchmark
+    public Try<String> codecFailure() {
+        buffer.clear();
+        codec.encode(fullFailure, buffer).flip();
+        return codec.decode(buffer);
+    }
+
+    private static Throwable exception(int depth) {
+        if (depth == 0) {
+            return new IllegalStateException("FAILURE", new IOException("cause"));
+        }
+        return exception(depth - 1);
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws Exception {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return input.readObject();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.halofour.functionally.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.halofour.functionally.util.IO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures guarding a computation which completes immediately with a timeout that never fires, so that each
+ * operation schedules and then cancels a timeout.  {@code io} uses {@link IO#timeout(Duration)} and its hashed
+ * wheel timer, while the baseline schedules the timeout on a {@link ScheduledThreadPoolExecutor} with
+ * removal on cancel and completes a {@link CompletableFuture}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public abstract class TimeoutBenchmark {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private ScheduledThreadPoolExecutor scheduler;
+    private IO<Integer> guarded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "benchmark-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        guarded = IO.apply(() -> 1).timeout(TIMEOUT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public int io() throws Throwable {
+        return guarded.get();
+    }
+
+    @Benchmark
+    public int future() throws Exception {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> future.completeExceptionally(new TimeoutException()),
+                TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        future.complete(1);
+        timeout.cancel(false);
+        return future.get();
+    }
+
+    @Threads(1)
+    public static class OneThread extends TimeoutBenchmark { }
+
+    @Threads(8)
+    public static class EightThreads extends TimeoutBenchmark { }
+
+    @Threads(64)
+    public static class SixtyFourThreads extends TimeoutBenchmark { }
+}
@@ -0,0 +1,82 @@
+package com.halofour.functionally.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.halofour.functionally.util.Try;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures validating {@code size} records with a CPU-bound function.  {@code traverseParallel} splits the records
+ * over the common fork/join pool with {@link Try#traverseParallel}, {@code traverse} validates them on the calling
+ * thread with {@link Try#traverse} and the baseline maps a sequential stream through {@link Try#from}.  The
+ * {@code failing} variants fail on the first record, to measure how quickly the parallel traversal stops.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TraverseBenchmark {
+    private static final int ROUNDS = 64;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private List<String> records;
+    private List<String> failingRecords;
+
+    @Setup
+    public void setUp() {
+        records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            records.add(Integer.toString(i));
+        }
+        failingRecords = new ArrayList<>(records);
+        failingRecords.set(0, "invalid");
+    }
+
+    @Benchmark
+    public Try<List<Integer>> traverseParallel() {
+        return Try.traverseParallel(records, TraverseBenchmark::validate);
+    }
+
+    @Benchmark
+    public Try<List<Integer>> traverse() {
+        return Try.traverse(records, TraverseBenchmark::validate);
+    }
+
+    @Benchmark
+    public List<Try<Integer>> stream() {
+        return records.stream()
+                .map(record -> Try.from(() -> validate(record)))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Try<List<Integer>> traverseParallelFailing() {
+        return Try.traverseParallel(failingRecords, TraverseBenchmark::validate);
+    }
+
+    private static int validate(String record) {
+        int value = Integer.parseInt(record);
+        int hash = value;
+        for (int i = 0; i < ROUNDS; i++) {
+            hash = hash * 31 + (hash >>> 7);
+        }
+        return hash == 42 ? -value : value;
+    }
+}
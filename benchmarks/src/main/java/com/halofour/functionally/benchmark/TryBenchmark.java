@@ -0,0 +1,363 @@
+package com.halofour.functionally.benchmark;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.halofour.functionally.util.Failure;
+import com.halofour.functionally.util.RecoveryTable;
+import com.halofour.functionally.util.Success;
+import com.halofour.functionally.util.Try;
+import com.halofour.functionally.util.TryMatcher;
+import com.halofour.functionally.util.TryPattern;
+import com.halofour.functionally.util.TryPipeline;
+import com.halofour.functionally.util.function.TryBiFunction;
+import com.halofour.functionally.util.function.TryFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput and allocation rate of the {@link Try} operators on the success and failure paths.
+ * Each invocation processes a batch of inputs so that megamorphic setups rotate through several lambda classes
+ * at the same call site.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TryBenchmark {
+    static final int BATCH = 1024;
+    private static final int MASK = BATCH - 1;
+
+    private static final RuntimeException PREALLOCATED = new IllegalStateException("preallocated");
+
+    @SuppressWarnings("unchecked")
+    private static final TryFunction<Integer, Integer>[] MAPPERS = new TryFunction[] {
+            (TryFunction<Integer, Integer>) value -> value + 1,
+            (TryFunction<Integer, Integer>) value -> value * 2,
+            (TryFunction<Integer, Integer>) value -> value - 3,
+            (TryFunction<Integer, Integer>) value -> value ^ 5
+    };
+
+    @SuppressWarnings("unchecked")
+    private static final TryFunction<Integer, Try<Integer>>[] FLAT_MAPPERS = new TryFunction[] {
+            (TryFunction<Integer, Try<Integer>>) value -> Success.of(value + 1),
+            (TryFunction<Integer, Try<Integer>>) value -> Success.of(value * 2),
+            (TryFunction<Integer, Try<Integer>>) value -> Success.of(value - 3),
+            (TryFunction<Integer, Try<Integer>>) value -> Success.of(value ^ 5)
+    };
+
+    @SuppressWarnings("unchecked")
+    private static final Predicate<Integer>[] PREDICATES = new Predicate[] {
+            (Predicate<Integer>) value -> value != 7,
+            (Predicate<Integer>) value -> value != 11,
+            (Predicate<Integer>) value -> value != 13,
+            (Predicate<Integer>) value -> value != 17
+    };
+
+    @SuppressWarnings("unchecked")
+    private static final TryFunction<Throwable, Integer>[] RECOVERERS = new TryFunction[] {
+            (TryFunction<Throwable, Integer>) exception -> 1,
+            (TryFunction<Throwable, Integer>) exception -> 2,
+            (TryFunction<Throwable, Integer>) exception -> 3,
+            (TryFunction<Throwable, Integer>) exception -> 4
+    };
+
+    @SuppressWarnings("unchecked")
+    private static final TryBiFunction<Integer, Integer, Integer>[] COMBINERS = new TryBiFunction[] {
+            (TryBiFunction<Integer, Integer, Integer>) (left, right) -> left + right,
+            (TryBiFunction<Integer, Integer, Integer>) (left, right) -> left * right,
+            (TryBiFunction<Integer, Integer, Integer>) (left, right) -> left - right,
+            (TryBiFunction<Integer, Integer, Integer>) (left, right) -> left ^ right
+    };
+
+    @SuppressWarnings("unchecked")
+    private static final Consumer<TryMatcher<Integer, Integer>>[] MATCHERS = new Consumer[] {
+            (Consumer<TryMatcher<Integer, Integer>>) match -> match
+                    .success(value -> value + 1)
+                    .failure(exception -> -1),
+            (Consumer<TryMatcher<Integer, Integer>>) match -> match
+                    .successWhen(value -> value > 0, value -> value * 2)
+                    .failure(IllegalStateException.class, exception -> -2)
+                    .orElseSuccess(0),
+            (Consumer<TryMatcher<Integer, Integer>>) match -> match
+                    .success(0, value -> 0)
+                    .success(value -> value - 3)
+                    .failure(IllegalArgumentException.class, exception -> -3)
+                    .orElseSuccess(0),
+            (Consumer<TryMatcher<Integer, Integer>>) match -> match
+                    .failureWhen(exception -> exception.getMessage() != null, exception -> -4)
+                    .success(value -> value ^ 5)
+                    .orElseSuccess(0)
+    };
+
+    private static final RecoveryTable<Integer> RECOVERY_TABLE = RecoveryTable
+            .<Integer, NullPointerException>of(NullPointerException.class, exception -> 0)
+            .on(IllegalStateException.class, exception -> 1)
+            .on(IllegalArgumentException.class, exception -> 2)
+            .on(RuntimeException.class, exception -> 3);
+
+    private static final RuntimeException[] EXCEPTIONS = new RuntimeException[] {
+            new IllegalArgumentException("illegal argument"),
+            new IllegalStateException("illegal state"),
+            new UnsupportedOperationException("unsupported"),
+            new ArithmeticException("arithmetic")
+    };
+
+    @Param
+    public CallSite callSite;
+
+    private Integer[] values;
+    private Object[] commonValues;
+    private Try<Integer>[] successes;
+    private Try<Integer>[] failures;
+    private TryFunction<Integer, Integer>[] mappers;
+    private TryFunction<Integer, Try<Integer>>[] flatMappers;
+    private Predicate<Integer>[] predicates;
+    private TryFunction<Throwable, Integer>[] recoverers;
+    private TryBiFunction<Integer, Integer, Integer>[] combiners;
+    private Consumer<TryMatcher<Integer, Integer>>[] matchers;
+    private TryPattern<Integer, Integer>[] patterns;
+    private TryPipeline<Integer, Integer>[] pipelines;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        values = new Integer[BATCH];
+        commonValues = new Object[BATCH];
+        successes = new Try[BATCH];
+        failures = new Try[BATCH];
+        RuntimeException[] exceptions = callSite.fill(EXCEPTIONS, new RuntimeException[BATCH]);
+        for (int i = 0; i < BATCH; i++) {
+            values[i] = i + 1000;
+            commonValues[i] = commonValue(i);
+            successes[i] = Success.of(values[i]);
+            failures[i] = Failure.of(exceptions[i]);
+        }
+        mappers = callSite.fill(MAPPERS, new TryFunction[BATCH]);
+        flatMappers = callSite.fill(FLAT_MAPPERS, new TryFunction[BATCH]);
+        predicates = callSite.fill(PREDICATES, new Predicate[BATCH]);
+        recoverers = callSite.fill(RECOVERERS, new TryFunction[BATCH]);
+        combiners = callSite.fill(COMBINERS, new TryBiFunction[BATCH]);
+        matchers = callSite.fill(MATCHERS, new Consumer[BATCH]);
+        TryPattern<Integer, Integer>[] compiled = new TryPattern[MATCHERS.length];
+        for (int i = 0; i < MATCHERS.length; i++) {
+            compiled[i] = TryPattern.of(MATCHERS[i]);
+        }
+        patterns = callSite.fill(compiled, new TryPattern[BATCH]);
+        TryPipeline<Integer, Integer>[] composed = new TryPipeline[MAPPERS.length];
+        for (int i = 0; i < MAPPERS.length; i++) {
+            composed[i] = TryPipeline.<Integer>identity()
+                    .map(MAPPERS[i])
+                    .flatMap(FLAT_MAPPERS[i])
+                    .filter(PREDICATES[i])
+                    .recover(RECOVERERS[i]);
+        }
+        pipelines = callSite.fill(composed, new TryPipeline[BATCH]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void fromSuccess(Blackhole blackhole) {
+        Integer[] values = this.values;
+        for (int i = 0; i < BATCH; i++) {
+            Integer value = values[i];
+            blackhole.consume(Try.from(() -> value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void fromFailure(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(Try.from(() -> {
+                throw PREALLOCATED;
+            }));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void successOfCommon(Blackhole blackhole) {
+        Object[] values = this.commonValues;
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(Success.of(values[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void successOfUncommon(Blackhole blackhole) {
+        Integer[] values = this.values;
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(Success.of(values[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void mapIdentity(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(successes[i].map(value -> value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void successChain(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(successes[i]
+                    .map(mappers[i])
+                    .flatMap(flatMappers[i])
+                    .filter(predicates[i])
+                    .recover(recoverers[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void failureChain(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(failures[i]
+                    .map(mappers[i])
+                    .flatMap(flatMappers[i])
+                    .filter(predicates[i])
+                    .recover(recoverers[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void pipelineSuccess(Blackhole blackhole) {
+        Integer[] values = this.values;
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(pipelines[i].apply(values[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void filterRejected(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(successes[i].filter(value -> false));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void recoverByClass(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(failures[i]
+                    .recover(NullPointerException.class, exception -> 0)
+                    .recover(IllegalStateException.class, exception -> 1)
+                    .recover(IllegalArgumentException.class, exception -> 2)
+                    .recover(RuntimeException.class, exception -> 3));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void recoverAll(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(failures[i].recoverAll(RECOVERY_TABLE));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void combineMap(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(successes[i].combineMap(successes[BATCH - 1 - i], combiners[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void combineFive(Blackhole blackhole) {
+        Try<Integer>[] successes = this.successes;
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(Try.combine(successes[i], successes[(i + 1) & MASK], successes[(i + 2) & MASK],
+                    successes[(i + 3) & MASK], successes[(i + 4) & MASK],
+                    (a, b, c, d, e) -> a + b + c + d + e));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void nestedCombineMapFive(Blackhole blackhole) {
+        Try<Integer>[] successes = this.successes;
+        for (int i = 0; i < BATCH; i++) {
+            Try<Integer> c = successes[(i + 2) & MASK];
+            Try<Integer> d = successes[(i + 3) & MASK];
+            Try<Integer> e = successes[(i + 4) & MASK];
+            blackhole.consume(successes[i].combineFlatMap(successes[(i + 1) & MASK], (a, b) ->
+                    c.combineFlatMap(d, (cv, dv) ->
+                            e.map(ev -> a + b + cv + dv + ev))));
+        }
+    }
+
+    @Benchmark
+    public void sequence(Blackhole blackhole) {
+        blackhole.consume(Try.sequence(Arrays.asList(successes)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void matchSuccess(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(successes[i].match(matchers[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void matchFailure(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(failures[i].match(matchers[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void patternSuccess(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(patterns[i].apply(successes[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void patternFailure(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(patterns[i].apply(failures[i]));
+        }
+    }
+
+    private static Object commonValue(int index) {
+        switch (index & 3) {
+            case 0:
+                return null;
+            case 1:
+                return (index & 4) == 0 ? Boolean.TRUE : Boolean.FALSE;
+            case 2:
+                return Optional.empty();
+            default:
+                return (index & 0xFF) - 128;
+        }
+    }
+}
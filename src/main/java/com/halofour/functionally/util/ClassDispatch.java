@@ -0,0 +1,58 @@
+package com.halofour.functionally.util;
+
+import java.util.function.Function;
+
+/**
+ * Caches a value resolved from an exception class, such as the clauses or handler which apply to its exceptions.
+ * <p>
+ * The value is resolved the first time an exception of a given concrete class is seen and kept in a
+ * {@link ClassValue}, so later lookups cost a single hash lookup however the value is resolved.  The value for
+ * the first class seen is also kept in a field in front of the {@link ClassValue}, as most callers only ever see
+ * one class of exception.  The resolved value may be {@code null}.
+ * @param <V> the type of the resolved values
+ */
+final class ClassDispatch<V> {
+    private final ClassValue<V> valuesByClass;
+    private volatile First<V> first;
+
+    /**
+     * Creates a cache of the values computed by the {@code resolver}
+     * @param resolver computes the value for an exception class, at most once per class
+     */
+    ClassDispatch(Function<Class<?>, V> resolver) {
+        this.valuesByClass = new ClassValue<V>() {
+            @Override
+            protected V computeValue(Class<?> exceptionClass) {
+                return resolver.apply(exceptionClass);
+            }
+        };
+    }
+
+    /**
+     * Returns the value resolved for the {@code exceptionClass}, resolving it if this is the first time the class
+     * is seen
+     * @param exceptionClass the class of the exception
+     * @return the resolved value, which may be {@code null}
+     */
+    V get(Class<?> exceptionClass) {
+        First<V> first = this.first;
+        if (first != null && first.exceptionClass == exceptionClass) {
+            return first.value;
+        }
+        V value = valuesByClass.get(exceptionClass);
+        if (first == null) {
+            this.first = new First<>(exceptionClass, value);
+        }
+        return value;
+    }
+
+    private static final class First<V> {
+        final Class<?> exceptionClass;
+        final V value;
+
+        First(Class<?> exceptionClass, V value) {
+            this.exceptionClass = exceptionClass;
+            this.value = value;
+        }
+    }
+}
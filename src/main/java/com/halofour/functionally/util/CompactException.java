@@ -0,0 +1,42 @@
+package com.halofour.functionally.util;
+
+/**
+ * Stands in for an exception deserialized from the compact form of a {@link Failure} whose class could not be
+ * instantiated, either because it is not available or because it has no constructor accepting a message.
+ *
+ * @see Failure#compact(int)
+ */
+public final class CompactException extends RuntimeException {
+    private static final long serialVersionUID = 6026722627981327465L;
+
+    private final String exceptionClassName;
+
+    /**
+     * Constructs the {@link CompactException} for an exception of the given class
+     * @param exceptionClassName the name of the class of the original exception
+     * @param message the message of the original exception
+     */
+    public CompactException(String exceptionClassName, String message) {
+        super(message);
+        this.exceptionClassName = exceptionClassName;
+    }
+
+    /**
+     * Gets the name of the class of the original exception
+     * @return the class name
+     */
+    public String getExceptionClassName() {
+        return exceptionClassName;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        String message = getLocalizedMessage();
+        return message != null ? exceptionClassName + ": " + message : exceptionClassName;
+    }
+}
@@ -0,0 +1,46 @@
+package com.halofour.functionally.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Creates the exceptions for the failures the library raises as part of its own control flow, such as a
+ * predicate rejecting a value.  They do not capture a stack trace, which would otherwise be the bulk of the
+ * cost of a rejection, as the stack only ever points back into the library.
+ */
+final class ControlFlowExceptions {
+    private ControlFlowExceptions() { }
+
+    static NoSuchElementException predicateRejected() {
+        return new PredicateRejectedException();
+    }
+
+    static UnsupportedOperationException cannotInvertSuccess() {
+        return new CannotInvertSuccessException();
+    }
+
+    private static final class PredicateRejectedException extends NoSuchElementException {
+        private static final long serialVersionUID = 2978206339315498224L;
+
+        PredicateRejectedException() {
+            super("The value did not meet the predicate.");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static final class CannotInvertSuccessException extends UnsupportedOperationException {
+        private static final long serialVersionUID = -6717000917150227311L;
+
+        CannotInvertSuccessException() {
+            super("Cannot invert Success.");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
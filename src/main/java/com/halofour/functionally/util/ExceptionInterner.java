@@ -0,0 +1,68 @@
+package com.halofour.functionally.util;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link FailureRetention} which shares a single instance between equivalent exceptions.
+ */
+final class ExceptionInterner implements FailureRetention {
+    private final int maxEntries;
+    private final ConcurrentMap<Key, Throwable> table = new ConcurrentHashMap<>();
+
+    ExceptionInterner(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative.");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Throwable retainException(Throwable exception) {
+        Key key = new Key(exception);
+        Throwable interned = table.get(key);
+        if (interned != null) {
+            return interned;
+        }
+        if (table.size() >= maxEntries) {
+            return exception;
+        }
+        interned = table.putIfAbsent(key, exception);
+        return interned != null ? interned : exception;
+    }
+
+    private static final class Key {
+        private final Class<?> exceptionClass;
+        private final String message;
+        private final StackTraceElement origin;
+        private final int hashCode;
+
+        Key(Throwable exception) {
+            StackTraceElement[] stackTrace = exception.getStackTrace();
+            this.exceptionClass = exception.getClass();
+            this.message = exception.getMessage();
+            this.origin = stackTrace.length > 0 ? stackTrace[0] : null;
+            this.hashCode = Objects.hash(exceptionClass, message, origin);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof Key) {
+                Key other = (Key) obj;
+                return exceptionClass == other.exceptionClass
+                        && Objects.equals(message, other.message)
+                        && Objects.equals(origin, other.origin);
+            }
+            return false;
+        }
+    }
+}
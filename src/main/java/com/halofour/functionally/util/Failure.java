@@ -8,6 +8,9 @@ import java.util.function.Predicate;
 import com.halofour.functionally.util.function.TryBiFunction;
 import com.halofour.functionally.util.function.TryFunction;
 import com.halofour.functionally.util.function.TrySupplier;
+import com.halofour.functionally.util.function.TryToDoubleFunction;
+import com.halofour.functionally.util.function.TryToIntFunction;
+import com.halofour.functionally.util.function.TryToLongFunction;
 
 /**
  * Represents a computation that has failed with an exception
@@ -17,9 +20,15 @@ public final class Failure<T> implements Try<T> {
     private static final long serialVersionUID = 2452948373057856082L;
 
     private final Throwable exception;
+    private final transient int compactFrames;
 
     private Failure(Throwable exception) {
+        this(exception, -1);
+    }
+
+    private Failure(Throwable exception, int compactFrames) {
         this.exception = exception;
+        this.compactFrames = compactFrames;
     }
 
     @Override
@@ -42,6 +51,11 @@ public final class Failure<T> implements Try<T> {
         throw exception;
     }
 
+    @Override
+    public T getUnchecked() {
+        throw sneakyThrow(exception);
+    }
+
     @Override
     public Optional<Throwable> getException() {
         return Optional.of(exception);
@@ -74,6 +88,36 @@ public final class Failure<T> implements Try<T> {
         return (Failure<R>) this;
     }
 
+    @Override
+    public TryInt mapToInt(TryToIntFunction<? super T> function) {
+        return TryInt.failure(exception);
+    }
+
+    @Override
+    public TryLong mapToLong(TryToLongFunction<? super T> function) {
+        return TryLong.failure(exception);
+    }
+
+    @Override
+    public TryDouble mapToDouble(TryToDoubleFunction<? super T> function) {
+        return TryDouble.failure(exception);
+    }
+
+    @Override
+    public TryInt flatMapToInt(TryFunction<? super T, TryInt> function) {
+        return TryInt.failure(exception);
+    }
+
+    @Override
+    public TryLong flatMapToLong(TryFunction<? super T, TryLong> function) {
+        return TryLong.failure(exception);
+    }
+
+    @Override
+    public TryDouble flatMapToDouble(TryFunction<? super T, TryDouble> function) {
+        return TryDouble.failure(exception);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <U, R> Try<R> combineMap(Try<U> other, TryBiFunction<? super T, ? super U, ? extends R> function) {
@@ -99,6 +143,9 @@ public final class Failure<T> implements Try<T> {
     @Override
     public <E extends Throwable> Try<T> recover(Class<E> exceptionClass, TryFunction<? super E, ? extends T> function) {
         if (exceptionClass.isInstance(exception)) {
+            if (TryMetrics.ENABLED) {
+                TryMetrics.recordRecovery();
+            }
             try {
                 return Success.of(function.apply(exceptionClass.cast(exception)));
             } catch (Throwable exception) {
@@ -116,6 +163,9 @@ public final class Failure<T> implements Try<T> {
     @Override
     public <E extends Throwable> Try<T> recoverWith(Class<E> exceptionClass, TryFunction<? super E, Try<T>> function) {
         if (exceptionClass.isInstance(exception)) {
+            if (TryMetrics.ENABLED) {
+                TryMetrics.recordRecovery();
+            }
             try {
                 return function.apply(exceptionClass.cast(exception));
             } catch (Throwable exception) {
@@ -125,6 +175,11 @@ public final class Failure<T> implements Try<T> {
         return this;
     }
 
+    @Override
+    public Try<T> recoverAll(RecoveryTable<T> table) {
+        return table.recover(this);
+    }
+
     @Override
     public <R> Try<R> fold(TryFunction<? super Throwable, ? extends R> onFailure, TryFunction<? super T, ? extends R> onSuccess) {
         try {
@@ -191,6 +246,71 @@ public final class Failure<T> implements Try<T> {
         return String.format("Failure[%s]", exception);
     }
 
+    Throwable exception() {
+        return exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> Failure<R> coerce() {
+        return (Failure<R>) this;
+    }
+
+    /**
+     * Returns the failed {@code computation} as a {@link Failure} of another type, recreating it from its exception
+     * if it is not a {@link Failure}
+     */
+    @SuppressWarnings("unchecked")
+    static <R> Failure<R> failed(Try<?> computation) {
+        if (computation instanceof Failure) {
+            return (Failure<R>) computation;
+        }
+        return Failure.of(computation.getException().get());
+    }
+
+    int compactFrames() {
+        return compactFrames;
+    }
+
+    /**
+     * Returns a failed computation of the same exception which is serialized in a compact form, as the class name
+     * and message of the exception and at most {@code maxFrames} of its stack frames.  The cause and suppressed
+     * exceptions are not serialized.  When deserialized the exception is recreated through its constructor
+     * accepting a message, or as a {@link CompactException} if the class is not available or has no such constructor.
+     * @param maxFrames the maximum number of stack frames to serialize, which may be zero
+     * @return the failed computation
+     */
+    public Failure<T> compact(int maxFrames) {
+        if (maxFrames < 0) {
+            throw new IllegalArgumentException("maxFrames must not be negative.");
+        }
+        return maxFrames == compactFrames ? this : new Failure<>(exception, maxFrames);
+    }
+
+    /**
+     * Returns the failed computation of the exception retained by the {@code policy}.  A policy such as
+     * {@link FailureRetention#trimStackTrace(int)} may mutate the exception in place, which affects every other
+     * holder of it.
+     * @param policy the retention policy
+     * @return {@code this} if the policy retained the same exception; otherwise, the computation of the retained exception
+     */
+    public Failure<T> retain(FailureRetention policy) {
+        Throwable retained = policy.retainException(exception);
+        Objects.requireNonNull(retained, "policy must not retain a null exception.");
+        return retained == exception ? this : new Failure<>(retained, compactFrames);
+    }
+
+    private Object writeReplace() {
+        return new SerializedTry(this);
+    }
+
+    /**
+     * Restores a {@link Failure} read from a stream written before {@link SerializedTry}, whose transient
+     * {@code compactFrames} would otherwise be read as zero and serialize it again in the compact form
+     */
+    private Object readResolve() {
+        return new Failure<>(exception);
+    }
+
     /**
      * Creates a {@link Failure} computation of the given {@code exception}
      * @param exception the exception
@@ -202,9 +322,23 @@ public final class Failure<T> implements Try<T> {
         if (isFatal(exception)) {
             rethrow(exception);
         }
+        if (TryMetrics.ENABLED) {
+            TryMetrics.recordFailure(exception);
+        }
+        if (FlightEvents.ENABLED) {
+            FlightEvents.failureCreated(exception);
+        }
         return new Failure<>(exception);
     }
 
+    /**
+     * Creates a {@link Failure} of a fatal {@code exception} without rethrowing it, so that it can be handed to a
+     * thread waiting on the result of a computation before it is rethrown on the current thread
+     */
+    static <T> Failure<T> fatal(Throwable exception) {
+        return new Failure<>(Objects.requireNonNull(exception, "exception must not be null."));
+    }
+
     /**
      * Evaluates if a given exception is non-fatal and can be wrapped by a {@link Failure}
      * @param exception the exception
@@ -240,6 +374,18 @@ public final class Failure<T> implements Try<T> {
         }
     }
 
+    /**
+     * Rethrows the given exception as-is, including checked exceptions, without wrapping it
+     * @param exception the exception to rethrow
+     * @param <E> the type of the exception as seen by the compiler, inferred as an unchecked exception
+     * @return never returns; declared so that callers can write {@code throw Failure.sneakyThrow(exception)}
+     * @throws E the exception
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Throwable> RuntimeException sneakyThrow(Throwable exception) throws E {
+        throw (E) exception;
+    }
+
     /**
      * Creates a {@link Failure computation of the given {@code exception}
      * @param valueClass the class of the result of the computation, for generic inference
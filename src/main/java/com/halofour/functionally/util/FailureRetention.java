@@ -0,0 +1,70 @@
+package com.halofour.functionally.util;
+
+/**
+ * A policy that reduces the memory retained by the exceptions of failed computations which are kept around for a
+ * long time, such as the results of a batch held for a reconciliation report.
+ * <p>
+ * A policy returns the exception to retain in place of the given one.  It must return an exception of the same
+ * class, so that {@link Try#isFailure(Class)} and {@link Try#recover(Class, com.halofour.functionally.util.function.TryFunction)}
+ * behave the same for the retained computation.
+ */
+@FunctionalInterface
+public interface FailureRetention {
+    /**
+     * Returns the exception to retain in place of {@code exception}
+     * @param exception the exception of the failed computation
+     * @return the exception to retain, of the same class as {@code exception}
+     */
+    Throwable retainException(Throwable exception);
+
+    /**
+     * Applies this policy to the computation if it has failed; otherwise, returns the computation
+     * @param computation the computation
+     * @param <T> the type of the value of the computation
+     * @return the computation to retain
+     */
+    default <T> Try<T> retain(Try<T> computation) {
+        if (!computation.isSuccess()) {
+            return Failure.<T>failed(computation).retain(this);
+        }
+        return computation;
+    }
+
+    /**
+     * Returns a policy which applies this policy and then the {@code next} policy
+     * @param next the policy to apply to the exception retained by this policy
+     * @return the composed policy
+     */
+    default FailureRetention andThen(FailureRetention next) {
+        return exception -> next.retainException(retainException(exception));
+    }
+
+    /**
+     * Returns a policy which trims the stack trace of the exception, and of its causes, to the top
+     * {@code maxFrames} frames.
+     * <p>
+     * The exception is trimmed in place with {@link Throwable#setStackTrace(StackTraceElement[])} rather than
+     * copied, as an arbitrary exception cannot be recreated with the same class, so every other holder of the same
+     * instance also sees the trimmed trace: other {@link Try}s of the exception, an exception interned by
+     * {@link #intern(int)}, or code which has caught it.  Only apply this policy to exceptions whose full stack
+     * trace is no longer needed anywhere.
+     * @param maxFrames the number of frames to keep
+     * @return the policy
+     */
+    static FailureRetention trimStackTrace(int maxFrames) {
+        return new StackTraceTrimmer(maxFrames);
+    }
+
+    /**
+     * Returns a policy which replaces the exception with the first equivalent exception it has retained, where
+     * equivalent exceptions have the same class, message and origin frame.  The retained exception keeps the
+     * stack trace, cause and suppressed exceptions of the first exception seen.  Once the policy has retained
+     * {@code maxEntries} distinct exceptions further distinct exceptions are returned as-is, so that exceptions
+     * with unique messages cannot grow the table without bound.
+     * @param maxEntries the maximum number of distinct exceptions retained
+     * @return the policy
+     */
+    static FailureRetention intern(int maxEntries) {
+        return new ExceptionInterner(maxEntries);
+    }
+}
@@ -0,0 +1,55 @@
+package com.halofour.functionally.util;
+
+/**
+ * A computation running as a lightweight fiber of an {@link IOScheduler}
+ * @param <T> the type of the result of the computation
+ */
+public final class Fiber<T> {
+    private final IORunLoop loop;
+    private final Promise<T> promise;
+
+    Fiber(IORunLoop loop, Promise<T> promise) {
+        this.loop = loop;
+        this.promise = promise;
+    }
+
+    /**
+     * Returns a computation that waits for the fiber to complete, without blocking a thread, and completes with
+     * its result
+     * @return the computation of the result of the fiber
+     */
+    public IO<T> join() {
+        return IO.async(promise::onComplete);
+    }
+
+    /**
+     * Requests that the fiber stops.  The fiber fails with a {@link java.util.concurrent.CancellationException}
+     * before it evaluates its next effect, or when it is resumed from the asynchronous boundary on which it is
+     * suspended.
+     */
+    public void cancel() {
+        loop.cancel();
+    }
+
+    /**
+     * Returns {@code true} if the fiber has completed, successfully or not
+     * @return {@code true} if completed; otherwise, {@code false}
+     */
+    public boolean isDone() {
+        return promise.isDone();
+    }
+
+    /**
+     * Returns the result of the fiber, if it has completed
+     * @return the result, or {@code null} if the fiber has not completed
+     */
+    public Try<T> getNow() {
+        return promise.getNow();
+    }
+
+    @Override
+    public String toString() {
+        Try<T> result = promise.getNow();
+        return result != null ? String.format("Fiber[%s]", result) : "Fiber[running]";
+    }
+}
@@ -0,0 +1,100 @@
+package com.halofour.functionally.util;
+
+/**
+ * Emits the JDK Flight Recorder events of {@link IO} runs and {@link Failure} creation.
+ * <p>
+ * The events are only emitted on a runtime which provides the {@code jdk.jfr} API, which is Java 11 and later and
+ * the OpenJDK 8 builds from 8u262, and can be turned off entirely with {@code -Dfunctionally.jfr=false}.  That is
+ * decided once into the {@code static final} {@link #ENABLED} field which guards every hook, so the hooks are
+ * folded away when the API is not available.  Otherwise each hook costs only the check of whether its event is
+ * enabled in a running recording.  The event classes are only loaded through the {@link Recorder}, which is only
+ * loaded after the {@code jdk.jfr} API has been found.
+ * <p>
+ * The events are:
+ * <ul>
+ *     <li>{@code com.halofour.functionally.IORun}, the duration of each run of an {@link IO} from start to end</li>
+ *     <li>{@code com.halofour.functionally.IOAsync}, each asynchronous boundary crossed, for as long as the
+ *     run-loop waited on it</li>
+ *     <li>{@code com.halofour.functionally.IOBlocked}, the time a thread spent blocked in {@link IO#get()}</li>
+ *     <li>{@code com.halofour.functionally.Failure}, each {@link Failure} created by {@link Failure#of(Throwable)},
+ *     with the class of its exception</li>
+ * </ul>
+ * The duration events have a default threshold of zero, which can be raised per event through the recording
+ * settings, for example {@code com.halofour.functionally.IORun#threshold=10 ms}.
+ */
+final class FlightEvents {
+    /**
+     * The system property which can be set to {@code false} to turn off the events
+     */
+    static final String ENABLED_PROPERTY = "functionally.jfr";
+
+    private static final String RECORDER_CLASS = "com.halofour.functionally.util.FlightEventRecorder";
+
+    private static final String FAILURE_EVENT_CLASS = "com.halofour.functionally.util.FailureEvent";
+
+    private static final Recorder RECORDER = !"false".equals(System.getProperty(ENABLED_PROPERTY)) ? load() : null;
+
+    static final boolean ENABLED = RECORDER != null;
+
+    private FlightEvents() { }
+
+    private static Recorder load() {
+        try {
+            ClassLoader loader = FlightEvents.class.getClassLoader();
+            Class.forName("jdk.jfr.Event", false, loader);
+            Class.forName(FAILURE_EVENT_CLASS, true, loader);
+            return Class.forName(RECORDER_CLASS, true, loader).asSubclass(Recorder.class)
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | SecurityException exception) {
+            return null;
+        }
+    }
+
+    static Object beginIORun() {
+        return RECORDER.beginIORun();
+    }
+
+    static void endIORun(Object started, Try<?> result) {
+        RECORDER.endIORun(started, result);
+    }
+
+    static Object beginAsync() {
+        return RECORDER.beginAsync();
+    }
+
+    static void endAsync(Object started, boolean suspended) {
+        RECORDER.endAsync(started, suspended);
+    }
+
+    static Object beginBlocked() {
+        return RECORDER.beginBlocked();
+    }
+
+    static void endBlocked(Object started) {
+        RECORDER.endBlocked(started);
+    }
+
+    static void failureCreated(Throwable exception) {
+        RECORDER.failureCreated(exception);
+    }
+
+    /**
+     * Emits the events through the {@code jdk.jfr} API.  It is implemented by {@code FlightEventRecorder}, which is
+     * compiled from {@code src/main/jfr} against the API of the building JDK rather than the Java 8 API.
+     */
+    interface Recorder {
+        Object beginIORun();
+
+        void endIORun(Object started, Try<?> result);
+
+        Object beginAsync();
+
+        void endAsync(Object started, boolean suspended);
+
+        Object beginBlocked();
+
+        void endBlocked(Object started);
+
+        void failureCreated(Throwable exception);
+    }
+}
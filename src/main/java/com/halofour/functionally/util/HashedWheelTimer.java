@@ -0,0 +1,316 @@
+package com.halofour.functionally.util;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Schedules short tasks to run after a delay on a single daemon thread, using a hashed wheel of buckets.
+ * <p>
+ * The wheel advances one bucket per tick, and a timeout is placed in the bucket of the tick on which it expires
+ * along with the number of full rotations remaining before it does, so scheduling and expiring a timeout cost
+ * O(1) however many are pending, unlike the O(log n) heap of a {@link java.util.Timer} or
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}.  Other threads only ever add to a queue of new
+ * timeouts and a queue of cancelled timeouts, which the timer thread drains into and out of the doubly linked
+ * buckets on each tick, so cancelling is also O(1) and the buckets need no locks.  Timeouts expire at most one
+ * tick late.  The thread parks indefinitely while no timeouts are pending.
+ * <p>
+ * Tasks run on the timer thread and must hand any real work off to another executor.
+ */
+final class HashedWheelTimer {
+    private static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime = System.nanoTime();
+    private final ConcurrentLinkedQueue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean idle;
+    private volatile boolean stopped;
+
+    /**
+     * Creates and starts a timer
+     * @param tickNanos the duration of a tick, which is the resolution of the timer
+     * @param wheelSize the number of buckets, rounded up to a power of two
+     * @param name the name of the timer thread
+     */
+    HashedWheelTimer(long tickNanos, int wheelSize, String name) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tickNanos must be positive.");
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("wheelSize must be positive and at most 2^30.");
+        }
+        this.tickNanos = tickNanos;
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.wheel = new Bucket[Math.max(size, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.thread = new Thread(this::run, Objects.requireNonNull(name, "name must not be null."));
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the timer shared by the {@link IO} timing operators, with a tick of one millisecond
+     * @return the shared timer
+     */
+    static HashedWheelTimer shared() {
+        return SharedHolder.SHARED;
+    }
+
+    /**
+     * Schedules the {@code task} to run on the timer thread once the {@code delay} has elapsed
+     * @param task the task, which must not block
+     * @param delay the delay
+     * @param unit the unit of the delay
+     * @return the handle of the timeout, which can be used to cancel it
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "task must not be null.");
+        Objects.requireNonNull(unit, "unit must not be null.");
+        if (stopped) {
+            throw new IllegalStateException("The timer has been stopped.");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(0L, unit.toNanos(delay));
+        if (deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        Timeout timeout = new Timeout(this, task, deadline);
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        if (idle) {
+            LockSupport.unpark(thread);
+        }
+        return timeout;
+    }
+
+    /**
+     * Schedules the {@code task} to run on the timer thread once the {@code delay} has elapsed.  A delay too long
+     * to be represented in nanoseconds never expires.
+     * @param task the task, which must not block
+     * @param delay the delay
+     * @return the handle of the timeout, which can be used to cancel it
+     */
+    Timeout schedule(Runnable task, Duration delay) {
+        Objects.requireNonNull(delay, "delay must not be null.");
+        long nanos;
+        try {
+            nanos = delay.toNanos();
+        } catch (ArithmeticException exception) {
+            nanos = delay.isNegative() ? 0L : Long.MAX_VALUE;
+        }
+        return schedule(task, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of timeouts which have been scheduled and have neither expired nor been cancelled
+     * @return the number of pending timeouts
+     */
+    long pendingTimeouts() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the timer thread, abandoning the pending timeouts
+     */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        long tick = 0;
+        while (!stopped) {
+            // new timeouts are placed relative to the last tick processed, so that those whose deadline passed
+            // while the thread was delayed expire in order with the buckets it catches up on
+            removeCancelled();
+            transferScheduled(tick);
+            long currentTick = (System.nanoTime() - startTime) / tickNanos;
+            while (tick < currentTick) {
+                tick++;
+                wheel[(int) (tick & mask)].expire();
+            }
+
+            if (pending.get() == 0) {
+                idle = true;
+                if (pending.get() == 0 && scheduled.isEmpty() && !stopped) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+                continue;
+            }
+            long sleep = (tick + 1) * tickNanos - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+        }
+    }
+
+    private void transferScheduled(long tick) {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (!timeout.compareAndSet(Timeout.NEW, Timeout.WAITING)) {
+                continue;
+            }
+            long target = timeout.deadline / tickNanos + (timeout.deadline % tickNanos != 0 ? 1 : 0);
+            target = Math.max(tick + 1, target);
+            timeout.rounds = (target - tick - 1) / wheel.length;
+            wheel[(int) (target & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * The handle of a scheduled task.  A timeout is {@code NEW} until the timer thread moves it into a bucket,
+     * when it becomes {@code WAITING}.  Only a {@code WAITING} timeout has to be unlinked from its bucket when
+     * it is cancelled; a {@code NEW} one is skipped when the timer thread reaches it.
+     */
+    static final class Timeout extends AtomicInteger {
+        private static final long serialVersionUID = 1L;
+
+        private static final int NEW = 0;
+        private static final int WAITING = 1;
+        private static final int CANCELLED = 2;
+        private static final int EXPIRED = 3;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+
+        // only accessed by the timer thread
+        private long rounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout so that its task does not run
+         * @return {@code true} if this call cancelled the timeout; {@code false} if it had already expired or been
+         * cancelled
+         */
+        boolean cancel() {
+            for (;;) {
+                int state = get();
+                if (state == NEW) {
+                    if (compareAndSet(NEW, CANCELLED)) {
+                        timer.pending.decrementAndGet();
+                        return true;
+                    }
+                } else if (state == WAITING) {
+                    if (compareAndSet(WAITING, CANCELLED)) {
+                        timer.pending.decrementAndGet();
+                        timer.cancelled.add(this);
+                        return true;
+                    }
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        boolean isCancelled() {
+            return get() == CANCELLED;
+        }
+
+        boolean isExpired() {
+            return get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!compareAndSet(WAITING, EXPIRED)) {
+                return;
+            }
+            timer.pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable exception) {
+                Thread thread = Thread.currentThread();
+                Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+                if (handler != null) {
+                    handler.uncaughtException(thread, exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of the timeouts which expire on the ticks mapped to one slot of the wheel
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (tail == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.previous != null) {
+                timeout.previous.next = next;
+            } else {
+                head = next;
+            }
+            if (next != null) {
+                next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.rounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.rounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    private static final class SharedHolder {
+        static final HashedWheelTimer SHARED = new HashedWheelTimer(DEFAULT_TICK_NANOS, DEFAULT_WHEEL_SIZE,
+                "functionally-timer");
+    }
+}
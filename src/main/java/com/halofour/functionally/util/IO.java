@@ -1,67 +1,598 @@
 package com.halofour.functionally.util;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
+import com.halofour.functionally.util.function.TryBiFunction;
 import com.halofour.functionally.util.function.TryConsumer;
 import com.halofour.functionally.util.function.TryFunction;
 import com.halofour.functionally.util.function.TrySupplier;
 
-public final class IO<T> {
-    private final TrySupplier<CompletionStage<T>> parent;
+/**
+ * Describes a computation, possibly asynchronous, that performs side effects when it is run.
+ * <p>
+ * An {@link IO} is a tree of instructions ({@code pure}, {@code delay}, {@code async}, {@code bind} and
+ * {@code handle}) which are interpreted by an iterative run-loop, so arbitrarily long or recursive chains of
+ * {@link #map(TryFunction)} and {@link #flatMap(TryFunction)} run without growing the stack.  A failure unwinds
+ * the pending stages to the nearest {@link #recover(TryFunction)}, {@link #recoverWith(TryFunction)},
+ * {@link #fold(TryFunction, TryFunction)} or {@link #attempt()} which handles it, in flight and without wrapping
+ * the exception.
+ * The run-loop stays on the calling thread until it reaches an asynchronous boundary, after which it
+ * continues on the thread which completes that boundary.  A computation forked as a {@link Fiber} of an
+ * {@link IOScheduler} instead always continues on a worker of that scheduler.
+ * @param <T> the type of the result of the computation
+ */
+public abstract class IO<T> {
+    static final int PURE = 0;
+    static final int RAISE_ERROR = 1;
+    static final int DELAY = 2;
+    static final int ASYNC = 3;
+    static final int MAP = 4;
+    static final int BIND = 5;
+    static final int FUTURE = 6;
+    static final int HANDLE = 7;
+    static final int CEDE = 8;
 
-    private IO(TrySupplier<CompletionStage<T>> parent) {
-        this.parent = parent;
+    private static final IO<Void> CEDE_INSTANCE = new Cede();
+
+    final int tag;
+
+    private IO(int tag) {
+        this.tag = tag;
     }
 
+    /**
+     * Runs the computation, blocking the current thread until it completes
+     * @return the result of the computation
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws Throwable the exception with which the computation failed, as-is
+     */
     public T get() throws Throwable {
-        return parent.get()
-                .toCompletableFuture()
-                .get();
+        Try<T> result;
+        if (TryMetrics.ENABLED) {
+            long start = System.nanoTime();
+            try {
+                result = IORunLoop.await(this);
+            } finally {
+                TryMetrics.recordIO(System.nanoTime() - start);
+            }
+        } else {
+            result = IORunLoop.await(this);
+        }
+        return result.get();
     }
 
-    public <R> IO<R> map(TryFunction<? super T, ? extends R> function) {
-        return new IO<>(() -> parent.get().thenCompose(value -> {
-            try {
-                R result = function.apply(value);
-                return CompletableFuture.completedFuture(result);
-            } catch (Throwable exception) {
-                return IO.exceptionally(exception);
+    /**
+     * Runs the computation on the current thread until it completes or reaches an asynchronous boundary, and
+     * then returns without blocking.  The {@code callback} is invoked with the result on the thread which
+     * completes the computation.
+     * @param callback the consumer of the result of the computation
+     */
+    public void runAsync(TryConsumer<Try<T>> callback) {
+        Objects.requireNonNull(callback, "callback must not be null.");
+        IORunLoop.start(this, callback);
+    }
+
+    /**
+     * Runs the computation as {@link #runAsync(TryConsumer)} does and returns a {@link CompletableFuture} of its
+     * result.  A failure completes the future exceptionally with the original exception.
+     * @return the future of the result of the computation
+     */
+    public CompletableFuture<T> toCompletableFuture() {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        IORunLoop.start(this, (Try<T> result) -> {
+            if (result.isSuccess()) {
+                future.complete(result.getUnchecked());
+            } else {
+                future.completeExceptionally(result.getException().get());
             }
-        }));
+        });
+        return future;
     }
 
+    /**
+     * Returns a computation that forks this computation as a new {@link Fiber} and completes with it immediately.
+     * The fiber runs on the {@link IOScheduler} of the current fiber, or on {@link IOScheduler#shared()} when not
+     * run by a fiber.
+     * @return the computation of the forked fiber
+     */
+    public IO<Fiber<T>> start() {
+        return new Delay<>(() -> {
+            IOScheduler scheduler = IOScheduler.current();
+            return (scheduler != null ? scheduler : IOScheduler.shared()).fork(this);
+        });
+    }
+
+    /**
+     * Maps the result of the computation using the {@code function}
+     * @param function the function to compute the result of the returned {@link IO}
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the result of the current computation
+     */
+    public <R> IO<R> map(TryFunction<? super T, ? extends R> function) {
+        return new Mapped<>(this, function);
+    }
+
+    /**
+     * Maps the result of the computation to the computation returned by the {@code function}
+     * @param function the function to compute the returned {@link IO}
+     * @param <R> the type of the result of the returned computation
+     * @return the computation returned by the {@code function}
+     */
     public <R> IO<R> flatMap(TryFunction<? super T, IO<R>> function) {
-        return new IO<>(() -> parent.get()
-                .thenCompose(value -> {
-                    try {
-                        IO<R> io = function.apply(value);
-                        return io.parent.get();
-                    } catch (Throwable exception) {
-                        return IO.exceptionally(exception);
-                    }
-                }));
+        return new Bind<>(this, function);
+    }
+
+    /**
+     * Returns a computation of the result of this computation as a {@link Try}, which never fails
+     * @return the computation of the {@link Success} of the result or the {@link Failure} of the exception
+     */
+    public IO<Try<T>> attempt() {
+        TryFunction<Throwable, Try<T>> onFailure = Failure::of;
+        return new Handle<>(this, Throwable.class, Success::of, onFailure, false);
     }
 
+    /**
+     * Maps the exception of the computation using the {@code function} if it fails
+     * @param function the function to compute the result from the exception
+     * @return the recovered computation
+     */
+    public IO<T> recover(TryFunction<? super Throwable, ? extends T> function) {
+        return recover(Throwable.class, function);
+    }
+
+    /**
+     * Maps the exception of the computation using the {@code function} if it fails with the specified exception class
+     * @param exceptionClass the class of the exception
+     * @param function the function to compute the result from the exception
+     * @param <E> the type of the exception
+     * @return the recovered computation
+     */
+    public <E extends Throwable> IO<T> recover(Class<E> exceptionClass, TryFunction<? super E, ? extends T> function) {
+        Objects.requireNonNull(exceptionClass, "exceptionClass must not be null.");
+        return new Handle<>(this, exceptionClass, null, function, false);
+    }
+
+    /**
+     * Continues with the computation returned by the {@code function} if this computation fails
+     * @param function the function to compute the recovering computation from the exception
+     * @return the recovered computation
+     */
+    public IO<T> recoverWith(TryFunction<? super Throwable, IO<T>> function) {
+        return recoverWith(Throwable.class, function);
+    }
+
+    /**
+     * Continues with the computation returned by the {@code function} if this computation fails with the specified
+     * exception class
+     * @param exceptionClass the class of the exception
+     * @param function the function to compute the recovering computation from the exception
+     * @param <E> the type of the exception
+     * @return the recovered computation
+     */
+    public <E extends Throwable> IO<T> recoverWith(Class<E> exceptionClass, TryFunction<? super E, IO<T>> function) {
+        Objects.requireNonNull(exceptionClass, "exceptionClass must not be null.");
+        return new Handle<>(this, exceptionClass, null, function, true);
+    }
+
+    /**
+     * Maps the result of the computation using {@code onSuccess} if it succeeds; otherwise, maps its exception
+     * using {@code onFailure}.  An exception thrown by {@code onSuccess} is not passed to {@code onFailure}.
+     * @param onFailure the function to apply to the exception of the failed computation
+     * @param onSuccess the function to apply to the result of the successful computation
+     * @param <R> the return type of the functions
+     * @return the computation of the result of either {@code onSuccess} or {@code onFailure}
+     */
+    public <R> IO<R> fold(TryFunction<? super Throwable, ? extends R> onFailure, TryFunction<? super T, ? extends R> onSuccess) {
+        Objects.requireNonNull(onSuccess, "onSuccess must not be null.");
+        return new Handle<>(this, Throwable.class, onSuccess, onFailure, false);
+    }
+
+    /**
+     * Repeats the computation indefinitely, until it fails
+     * @param <R> the type of the result, which is never produced
+     * @return the repeated computation
+     */
+    public <R> IO<R> forever() {
+        return flatMap(ignored -> forever());
+    }
+
+    /**
+     * Returns a computation that waits for the {@code duration} without blocking a thread and then runs this
+     * computation
+     * @param duration the delay
+     * @return the delayed computation
+     */
+    public IO<T> delayBy(Duration duration) {
+        return sleep(duration).flatMap(ignored -> this);
+    }
+
+    /**
+     * Returns a computation that fails with a {@link java.util.concurrent.TimeoutException} and cancels this
+     * computation if it does not complete within the {@code duration}.  When this computation completes first the
+     * timeout is cancelled and its result is returned as-is.
+     * @param duration the maximum time to wait for the computation
+     * @return the computation
+     */
+    public IO<T> timeout(Duration duration) {
+        Objects.requireNonNull(duration, "duration must not be null.");
+        return new Async<>(callback -> IOTimeout.subscribe(this, duration, callback));
+    }
+
+    /**
+     * Returns a computation that runs this computation on a thread of the {@code executor} and then continues
+     * on the {@link IOExecutors#compute()} pool, whether it succeeds or fails
+     * @param executor the executor on which this computation is run
+     * @return the computation
+     */
+    public IO<T> evalOn(Executor executor) {
+        return evalOn(executor, IOExecutors.compute());
+    }
+
+    /**
+     * Returns a computation that runs this computation on a thread of the {@code executor} and then continues
+     * on a thread of the {@code continueOn} executor, whether it succeeds or fails
+     * @param executor the executor on which this computation is run
+     * @param continueOn the executor on which the stages following this computation are run
+     * @return the computation
+     */
+    public IO<T> evalOn(Executor executor, Executor continueOn) {
+        Objects.requireNonNull(executor, "executor must not be null.");
+        Objects.requireNonNull(continueOn, "continueOn must not be null.");
+        return new Async<>(callback -> executor.execute(() -> IORunLoop.start(this,
+                result -> execute(continueOn, callback, result))), true);
+    }
+
+    /**
+     * Runs this computation and the {@code other} computation in parallel and maps both of their results using
+     * the {@code function}.  This is the parallel counterpart of {@link Try#combineMap(Try, TryBiFunction)}.
+     * If either computation fails the other is cancelled and the returned computation fails immediately.
+     * @param other the other computation
+     * @param function the function to compute the result of the returned {@link IO}
+     * @param <U> the type of the result of the other computation
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the results of both computations
+     */
+    @SuppressWarnings("unchecked")
+    public <U, R> IO<R> parCombineMap(IO<U> other, TryBiFunction<? super T, ? super U, ? extends R> function) {
+        return IO.<Object>parSequence(Arrays.asList(this, other))
+                .map(results -> function.apply((T) results.get(0), (U) results.get(1)));
+    }
+
+    /**
+     * Returns a computation that runs this computation at most once and shares its result, successful or failed,
+     * with every subsequent run.  Runs that start while the first is still in flight wait on its result.
+     * @return the memoized computation
+     */
+    public IO<T> memoize() {
+        return new Async<>(new Memoized<>(this, -1L, true)::subscribe);
+    }
+
+    /**
+     * Returns a computation that runs this computation at most once per {@code timeToLive} and shares its result
+     * with every run until it expires.  Runs that start while the computation is in flight wait on its result.
+     * @param timeToLive how long the result is retained
+     * @param retainFailures {@code true} if a failed result is retained for the {@code timeToLive}; otherwise
+     *                       a failed result is only shared with the runs already waiting on it
+     * @return the memoized computation
+     */
+    public IO<T> memoize(Duration timeToLive, boolean retainFailures) {
+        Objects.requireNonNull(timeToLive, "timeToLive must not be null.");
+        return new Async<>(new Memoized<>(this, timeToLive.toNanos(), retainFailures)::subscribe);
+    }
+
+    /**
+     * Returns a computation that completes immediately with the given {@code value}
+     * @param value the result of the computation
+     * @param <T> the type of the result
+     * @return the computation
+     */
+    public static <T> IO<T> pure(T value) {
+        return new Pure<>(value);
+    }
+
+    /**
+     * Returns a computation that fails immediately with the given {@code exception}
+     * @param exception the exception
+     * @param <T> the type of the result had the computation been successful
+     * @return the failed computation
+     */
+    public static <T> IO<T> failure(Throwable exception) {
+        Objects.requireNonNull(exception, "exception must not be null.");
+        return new RaiseError<>(exception);
+    }
+
+    /**
+     * Returns a computation that invokes the {@code supplier} each time it is run
+     * @param supplier the source of the result
+     * @param <T> the type of the result
+     * @return the computation
+     */
     public static <T> IO<T> apply(TrySupplier<? extends T> supplier) {
-        return async(() -> CompletableFuture.completedFuture(supplier.get()));
+        return new Delay<>(supplier);
+    }
+
+    /**
+     * Returns a computation that invokes the {@code supplier} on the {@link IOExecutors#blocking()} pool
+     * and then continues on the {@link IOExecutors#compute()} pool
+     * @param supplier the source of the result, which may block the thread
+     * @param <T> the type of the result
+     * @return the computation
+     */
+    public static <T> IO<T> blocking(TrySupplier<? extends T> supplier) {
+        return IO.<T>apply(supplier).evalOn(IOExecutors.blocking());
     }
 
+    /**
+     * Returns a computation that continues on a thread of the {@code executor}
+     * @param executor the executor on which the following stages are run
+     * @return the computation
+     */
+    public static IO<Void> shift(Executor executor) {
+        Objects.requireNonNull(executor, "executor must not be null.");
+        return new Async<>(callback -> executor.execute(() -> accept(callback, Try.unit())), true);
+    }
+
+    /**
+     * Returns a computation that completes once the {@code duration} has elapsed, without blocking a thread.
+     * The delay is measured by a shared timer with a resolution of one millisecond, after which the computation
+     * continues on the {@link IOExecutors#compute()} pool, or on the {@link IOScheduler} of the current fiber.
+     * @param duration the delay
+     * @return the computation
+     */
+    public static IO<Void> sleep(Duration duration) {
+        Objects.requireNonNull(duration, "duration must not be null.");
+        return new Async<>(callback -> {
+            IOScheduler scheduler = IOScheduler.current();
+            Executor executor = scheduler != null ? scheduler : IOExecutors.compute();
+            HashedWheelTimer.shared().schedule(() -> execute(executor, callback, Try.unit()), duration);
+        });
+    }
+
+    /**
+     * Returns a computation that continues on a thread of the {@link IOExecutors#compute()} pool
+     * @return the computation
+     */
+    public static IO<Void> shift() {
+        return shift(IOExecutors.compute());
+    }
+
+    /**
+     * Returns a computation that yields the worker of the current fiber to the other fibers scheduled on it and
+     * continues once they have had their turn.  When not run by a fiber of an {@link IOScheduler} it completes
+     * immediately.
+     * @return the computation
+     */
+    public static IO<Void> cede() {
+        return CEDE_INSTANCE;
+    }
+
+    /**
+     * Runs all of the {@code computations} in parallel on the {@link IOExecutors#compute()} pool.
+     * If any computation fails the others are cancelled and the returned computation fails immediately.
+     * @param computations the computations
+     * @param <T> the type of the results
+     * @return the computation of the results, in the order of the {@code computations}
+     */
+    public static <T> IO<List<T>> parSequence(List<? extends IO<? extends T>> computations) {
+        return parTraverseN(Integer.MAX_VALUE, computations, IO::widen);
+    }
+
+    /**
+     * Applies the {@code function} to each of the {@code inputs} and runs the resulting computations in parallel
+     * on the {@link IOExecutors#compute()} pool, with at most {@code concurrency} of them in flight at once.
+     * If any computation fails the others are cancelled, no more are started, and the returned computation
+     * fails immediately.
+     * @param concurrency the maximum number of computations in flight at once
+     * @param inputs the inputs
+     * @param function the function returning the computation for each input
+     * @param <A> the type of the inputs
+     * @param <B> the type of the results
+     * @return the computation of the results, in the order of the {@code inputs}
+     */
+    public static <A, B> IO<List<B>> parTraverseN(int concurrency, Iterable<? extends A> inputs,
+                                                  TryFunction<? super A, IO<B>> function) {
+        return IOParallel.traverse(inputs, function, concurrency, true, IOExecutors.compute());
+    }
+
+    /**
+     * Applies the {@code function} to each of the {@code inputs} and runs the resulting computations in parallel
+     * on the {@link IOExecutors#compute()} pool, with at most {@code concurrency} of them in flight at once.
+     * If any computation fails the others are cancelled, no more are started, and the returned computation
+     * fails immediately.
+     * @param concurrency the maximum number of computations in flight at once
+     * @param inputs the inputs
+     * @param function the function returning the computation for each input
+     * @param <A> the type of the inputs
+     * @param <B> the type of the results
+     * @return the computation of the results, in the order in which the computations completed
+     */
+    public static <A, B> IO<List<B>> parTraverseNUnordered(int concurrency, Iterable<? extends A> inputs,
+                                                           TryFunction<? super A, IO<B>> function) {
+        return IOParallel.traverse(inputs, function, concurrency, false, IOExecutors.compute());
+    }
+
+    /**
+     * Returns a computation that invokes the {@code supplier} at most once per {@code timeToLive} and shares its
+     * successful result; a failed result is not retained, so the next run invokes the {@code supplier} again
+     * @param supplier the source of the result
+     * @param timeToLive how long the successful result is retained
+     * @param <T> the type of the result
+     * @return the cached computation
+     */
+    public static <T> IO<T> cached(TrySupplier<? extends T> supplier, Duration timeToLive) {
+        return IO.<T>apply(supplier).memoize(timeToLive, false);
+    }
+
+    /**
+     * Returns a computation that completes with the {@link CompletionStage} returned by the {@code supplier}.
+     * A {@link CompletableFuture} which has already completed is read directly, without registering a callback.
+     * @param supplier the source of the {@link CompletionStage}
+     * @param <T> the type of the result
+     * @return the asynchronous computation
+     */
     public static <T> IO<T> async(TrySupplier<CompletionStage<T>> supplier) {
-        return new IO<>(supplier);
+        return new FromFuture<>(supplier);
     }
 
+    /**
+     * Returns a computation that completes when the {@code callback} is invoked with its result
+     * @param callback registers the consumer to be invoked with the result of the computation
+     * @param <T> the type of the result
+     * @return the asynchronous computation
+     */
     public static <T> IO<T> async(TryConsumer<TryConsumer<Try<T>>> callback) {
-        return async(() -> {
-            CompletableFuture<T> future = new CompletableFuture<>();
-            callback.accept(completed -> completed.fold(future::completeExceptionally, future::complete));
-            return future;
+        return new Async<>(callback);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> IO<T> widen(IO<? extends T> io) {
+        return (IO<T>) io;
+    }
+
+    static <T> void execute(Executor executor, TryConsumer<Try<T>> callback, Try<T> result) {
+        try {
+            executor.execute(() -> accept(callback, result));
+        } catch (RejectedExecutionException exception) {
+            accept(callback, Failure.of(exception));
+        }
+    }
+
+    private static <T> void accept(TryConsumer<Try<T>> callback, Try<T> result) {
+        try {
+            callback.accept(result);
+        } catch (Throwable exception) {
+            Failure.rethrow(exception);
+        }
+    }
+
+    static Throwable unwrap(Throwable exception) {
+        if (exception instanceof CompletionException && exception.getCause() != null) {
+            return exception.getCause();
+        }
+        return exception;
+    }
+
+    static <T> void whenComplete(CompletionStage<T> stage, TryConsumer<Try<T>> callback) {
+        stage.whenComplete((value, exception) -> {
+            try {
+                if (exception != null) {
+                    callback.accept(Failure.of(unwrap(exception)));
+                } else {
+                    callback.accept(Success.of(value));
+                }
+            } catch (Throwable callbackException) {
+                Failure.rethrow(callbackException);
+            }
         });
     }
 
-    private static <R> CompletionStage<R> exceptionally(Throwable exception) {
-        CompletableFuture<R> future = new CompletableFuture<>();
-        future.completeExceptionally(exception);
-        return future;
+    static final class Pure<T> extends IO<T> {
+        final T value;
+
+        Pure(T value) {
+            super(PURE);
+            this.value = value;
+        }
+    }
+
+    static final class RaiseError<T> extends IO<T> {
+        final Throwable exception;
+
+        RaiseError(Throwable exception) {
+            super(RAISE_ERROR);
+            this.exception = exception;
+        }
+    }
+
+    static final class Delay<T> extends IO<T> {
+        final TrySupplier<? extends T> supplier;
+
+        Delay(TrySupplier<? extends T> supplier) {
+            super(DELAY);
+            this.supplier = supplier;
+        }
+    }
+
+    static final class Async<T> extends IO<T> {
+        final TryConsumer<TryConsumer<Try<T>>> callback;
+        final boolean shifts;
+
+        Async(TryConsumer<TryConsumer<Try<T>>> callback) {
+            this(callback, false);
+        }
+
+        /**
+         * @param shifts {@code true} if the callback is invoked by a task submitted to an executor, in which case
+         *               the run-loop suspends before registering it so that the computation always continues on
+         *               the thread of that executor
+         */
+        Async(TryConsumer<TryConsumer<Try<T>>> callback, boolean shifts) {
+            super(ASYNC);
+            this.callback = callback;
+            this.shifts = shifts;
+        }
+    }
+
+    static final class FromFuture<T> extends IO<T> {
+        final TrySupplier<CompletionStage<T>> supplier;
+
+        FromFuture(TrySupplier<CompletionStage<T>> supplier) {
+            super(FUTURE);
+            this.supplier = supplier;
+        }
+    }
+
+    static final class Cede extends IO<Void> {
+        Cede() {
+            super(CEDE);
+        }
+    }
+
+    static final class Mapped<S, T> extends IO<T> {
+        final IO<S> source;
+        final TryFunction<? super S, ? extends T> function;
+
+        Mapped(IO<S> source, TryFunction<? super S, ? extends T> function) {
+            super(MAP);
+            this.source = source;
+            this.function = function;
+        }
+    }
+
+    static final class Handle<S, T> extends IO<T> {
+        final IO<S> source;
+        final Class<? extends Throwable> exceptionClass;
+        final TryFunction<? super S, ?> onSuccess;
+        final TryFunction<?, ?> onFailure;
+        final boolean bind;
+
+        Handle(IO<S> source, Class<? extends Throwable> exceptionClass, TryFunction<? super S, ?> onSuccess,
+               TryFunction<?, ?> onFailure, boolean bind) {
+            super(HANDLE);
+            this.source = source;
+            this.exceptionClass = exceptionClass;
+            this.onSuccess = onSuccess;
+            this.onFailure = Objects.requireNonNull(onFailure, "function must not be null.");
+            this.bind = bind;
+        }
+    }
+
+    static final class Bind<S, T> extends IO<T> {
+        final IO<S> source;
+        final TryFunction<? super S, IO<T>> function;
+
+        Bind(IO<S> source, TryFunction<? super S, IO<T>> function) {
+            super(BIND);
+            this.source = source;
+            this.function = function;
+        }
     }
 }
@@ -0,0 +1,124 @@
+package com.halofour.functionally.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The default executors used to run {@link IO} computations.
+ * <p>
+ * CPU-bound work belongs on the {@link #compute()} pool, which is bounded to the number of available processors,
+ * while work that blocks the thread belongs on the {@link #blocking()} pool, which grows as needed and releases
+ * threads after they have been idle for a minute.  Both pools use daemon threads.
+ * <p>
+ * On Java 21 and later the {@link #blocking()} pool instead starts a virtual thread per task, and the
+ * {@link #virtual()} executor is available to evaluate any computation on virtual threads with
+ * {@link IO#evalOn(Executor)}.
+ */
+public final class IOExecutors {
+    private static final long BLOCKING_KEEP_ALIVE_SECONDS = 60L;
+
+    private IOExecutors() { }
+
+    /**
+     * Returns the shared pool for CPU-bound work, sized to the number of available processors
+     * @return the compute pool
+     */
+    public static Executor compute() {
+        return ComputeHolder.COMPUTE;
+    }
+
+    /**
+     * Returns the shared pool for work which blocks the thread, which creates threads on demand, or on Java 21
+     * and later starts a virtual thread per task
+     * @return the blocking pool
+     */
+    public static Executor blocking() {
+        return BlockingHolder.BLOCKING;
+    }
+
+    /**
+     * Returns the shared executor which starts a new virtual thread for each task
+     * @return the virtual thread executor
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads
+     */
+    public static Executor virtual() {
+        if (!IOPlatform.isVirtualThreadsAvailable()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later.");
+        }
+        return VirtualHolder.VIRTUAL;
+    }
+
+    /**
+     * Returns {@code true} if the runtime supports virtual threads, which requires Java 21 or later
+     * @return {@code true} if virtual threads are available; otherwise, {@code false}
+     */
+    public static boolean isVirtualThreadsAvailable() {
+        return IOPlatform.isVirtualThreadsAvailable();
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task
+     * @param name the prefix of the names of the threads
+     * @return the executor
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+        return IOPlatform.newVirtualThreadPerTaskExecutor(name);
+    }
+
+    /**
+     * Creates a work-stealing pool for CPU-bound work
+     * @param parallelism the number of threads
+     * @param name the prefix of the names of the threads
+     * @return the pool
+     */
+    public static ExecutorService newComputePool(int parallelism, String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, true);
+    }
+
+    /**
+     * Creates an unbounded pool for work which blocks the thread
+     * @param name the prefix of the names of the threads
+     * @return the pool
+     */
+    public static ExecutorService newBlockingPool(String name) {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                BLOCKING_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                daemonThreadFactory(name));
+    }
+
+    static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class ComputeHolder {
+        static final ExecutorService COMPUTE = newComputePool(Runtime.getRuntime().availableProcessors(), "functionally-compute");
+    }
+
+    private static final class BlockingHolder {
+        static final ExecutorService BLOCKING = IOPlatform.newSharedBlockingPool("functionally-blocking");
+    }
+
+    private static final class VirtualHolder {
+        static final ExecutorService VIRTUAL = IOPlatform.newVirtualThreadPerTaskExecutor("functionally-virtual");
+    }
+}
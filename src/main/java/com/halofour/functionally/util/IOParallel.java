@@ -0,0 +1,169 @@
+package com.halofour.functionally.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.halofour.functionally.util.function.TryConsumer;
+import com.halofour.functionally.util.function.TryFunction;
+
+/**
+ * Runs the computations of a parallel traversal of {@link IO}s, at most {@code concurrency} at a time.
+ * <p>
+ * Each computation is started on its own run-loop on the {@code executor}.  As each one completes the next
+ * input is started, until every input has completed or one of them has failed.  The first failure completes
+ * the traversal immediately, cancels the computations still in flight and prevents any more from starting.
+ * @param <A> the type of the inputs
+ * @param <B> the type of the results of the computations
+ */
+final class IOParallel<A, B> {
+    private final Object[] inputs;
+    private final TryFunction<? super A, IO<B>> function;
+    private final boolean ordered;
+    private final Executor executor;
+    private final TryConsumer<Try<List<B>>> callback;
+
+    private final Object[] results;
+    private final AtomicReferenceArray<IORunLoop> running;
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger slots = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private IOParallel(Object[] inputs, TryFunction<? super A, IO<B>> function, boolean ordered,
+                       Executor executor, TryConsumer<Try<List<B>>> callback) {
+        this.inputs = inputs;
+        this.function = function;
+        this.ordered = ordered;
+        this.executor = executor;
+        this.callback = callback;
+        this.results = new Object[inputs.length];
+        this.running = new AtomicReferenceArray<>(inputs.length);
+    }
+
+    /**
+     * Returns a computation which applies the {@code function} to each of the {@code inputs} and runs the
+     * resulting computations in parallel
+     * @param inputs the inputs
+     * @param function the function returning the computation for each input
+     * @param concurrency the maximum number of computations in flight at once
+     * @param ordered {@code true} to return the results in the order of the {@code inputs}; otherwise
+     *                they are returned in the order in which the computations completed
+     * @param executor the executor on which each computation is started
+     * @param <A> the type of the inputs
+     * @param <B> the type of the results
+     * @return the parallel computation
+     */
+    static <A, B> IO<List<B>> traverse(Iterable<? extends A> inputs, TryFunction<? super A, IO<B>> function,
+                                       int concurrency, boolean ordered, Executor executor) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive.");
+        }
+        return IO.async(callback -> new IOParallel<A, B>(toArray(inputs), function, ordered, executor, callback)
+                .start(concurrency));
+    }
+
+    private static Object[] toArray(Iterable<?> inputs) {
+        if (inputs instanceof Collection) {
+            return ((Collection<?>) inputs).toArray();
+        }
+        List<Object> list = new ArrayList<>();
+        for (Object input : inputs) {
+            list.add(input);
+        }
+        return list.toArray();
+    }
+
+    private void start(int concurrency) throws Throwable {
+        if (inputs.length == 0) {
+            callback.accept(Success.of(Collections.emptyList()));
+            return;
+        }
+        for (int i = Math.min(concurrency, inputs.length); i > 0; i--) {
+            startNext();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void startNext() {
+        if (finished.get()) {
+            return;
+        }
+        int index = started.getAndIncrement();
+        if (index >= inputs.length) {
+            return;
+        }
+
+        IO<B> io;
+        try {
+            io = function.apply((A) inputs[index]);
+        } catch (Throwable exception) {
+            fail(exception);
+            return;
+        }
+
+        IORunLoop loop = IORunLoop.create((Try<B> result) -> complete(index, result));
+        running.set(index, loop);
+        if (finished.get()) {
+            // the traversal failed after the check above and may already have swept the running loops
+            running.set(index, null);
+            loop.cancel();
+            return;
+        }
+        try {
+            executor.execute(() -> loop.start(io));
+        } catch (RejectedExecutionException exception) {
+            fail(exception);
+        }
+    }
+
+    private void complete(int index, Try<B> result) {
+        running.set(index, null);
+        if (result.isFailure()) {
+            fail(result.getException().get());
+            return;
+        }
+
+        int slot = ordered ? index : slots.getAndIncrement();
+        results[slot] = result.getUnchecked();
+        if (completed.incrementAndGet() == inputs.length) {
+            succeed();
+        } else {
+            startNext();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void succeed() {
+        if (finished.compareAndSet(false, true)) {
+            accept(Success.of(Collections.unmodifiableList((List<B>) Arrays.asList(results))));
+        }
+    }
+
+    private void fail(Throwable exception) {
+        if (finished.compareAndSet(false, true)) {
+            for (int i = 0; i < inputs.length; i++) {
+                IORunLoop loop = running.getAndSet(i, null);
+                if (loop != null) {
+                    loop.cancel();
+                }
+            }
+            accept(Failure.of(exception));
+        }
+    }
+
+    private void accept(Try<List<B>> result) {
+        try {
+            callback.accept(result);
+        } catch (Throwable exception) {
+            Failure.rethrow(exception);
+        }
+    }
+}
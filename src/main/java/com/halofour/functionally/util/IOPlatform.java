@@ -0,0 +1,41 @@
+package com.halofour.functionally.util;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates the threads on which {@link IO} computations run.
+ * <p>
+ * This is the Java 8 implementation, which only uses platform threads.  The multi-release JAR replaces it on
+ * Java 21 and later with an implementation which runs blocking work on virtual threads, from
+ * {@code src/main/java21}; the two must keep the same members.
+ */
+final class IOPlatform {
+    private IOPlatform() { }
+
+    /**
+     * Returns {@code true} if the runtime supports virtual threads
+     * @return {@code false}, as Java 8 has no virtual threads
+     */
+    static boolean isVirtualThreadsAvailable() {
+        return false;
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task
+     * @param name the prefix of the names of the threads
+     * @return never
+     * @throws UnsupportedOperationException always, as Java 8 has no virtual threads
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or later.");
+    }
+
+    /**
+     * Creates the shared pool for work which blocks the thread
+     * @param name the prefix of the names of the threads
+     * @return the pool of platform threads
+     */
+    static ExecutorService newSharedBlockingPool(String name) {
+        return IOExecutors.newBlockingPool(name);
+    }
+}
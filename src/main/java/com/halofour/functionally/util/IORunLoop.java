@@ -0,0 +1,489 @@
+package com.halofour.functionally.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import com.halofour.functionally.util.function.TryConsumer;
+import com.halofour.functionally.util.function.TryFunction;
+
+/**
+ * Interprets the instructions of an {@link IO}.
+ * <p>
+ * The run-loop keeps the pending {@code map}, {@code flatMap} and error handler continuations on an
+ * array-backed stack rather than on the call stack, and evaluates synchronous instructions without allocating
+ * any intermediate results.  A failure pops the stack down to the nearest handler which accepts its exception.
+ * When it reaches an {@code async} instruction it suspends, and it is resumed on the thread which completes the
+ * asynchronous callback.  A single instance is created per run of an {@link IO} and is only ever executed by one
+ * thread at a time.
+ * <p>
+ * A run-loop created for a fiber of an {@link IOScheduler} instead resumes on a worker of that scheduler, and
+ * yields its worker after every {@link IOScheduler#yieldInterval()} steps and on each {@code cede} instruction by
+ * scheduling its remaining work as a new task.
+ */
+final class IORunLoop {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final TryConsumer<Try<Object>> callback;
+    private final IOScheduler scheduler;
+    private int budget;
+    private IO<?>[] stack = new IO<?>[INITIAL_CAPACITY];
+    private int size;
+
+    private Object runEvent;
+
+    private volatile boolean cancelled;
+    private volatile Try<Object> result;
+    private volatile Thread waiter;
+
+    private IORunLoop(TryConsumer<Try<Object>> callback, IOScheduler scheduler) {
+        this.callback = callback;
+        this.scheduler = scheduler;
+        if (scheduler != null) {
+            this.budget = scheduler.yieldInterval();
+        }
+    }
+
+    /**
+     * Runs the {@code io} on the current thread, blocking if it suspends, until it completes
+     * @param io the computation
+     * @param <T> the type of the result of the computation
+     * @return the result of the computation
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Try<T> await(IO<T> io) throws InterruptedException {
+        IORunLoop loop = new IORunLoop(null, null);
+        if (FlightEvents.ENABLED) {
+            loop.runEvent = FlightEvents.beginIORun();
+        }
+        Try<Object> result = loop.run(io, null, null);
+        if (result == null) {
+            result = loop.block();
+        }
+        if (FlightEvents.ENABLED) {
+            FlightEvents.endIORun(loop.runEvent, result);
+        }
+        return (Try<T>) result;
+    }
+
+    /**
+     * Runs the {@code io} on the current thread until it completes or suspends, invoking {@code callback} with its result
+     * @param io the computation
+     * @param callback the consumer of the result of the computation
+     * @param <T> the type of the result of the computation
+     * @return the run-loop, which can be used to cancel the computation
+     */
+    static <T> IORunLoop start(IO<T> io, TryConsumer<Try<T>> callback) {
+        IORunLoop loop = create(callback);
+        loop.start(io);
+        return loop;
+    }
+
+    /**
+     * Creates a run-loop which invokes {@code callback} with the result of the computation it is started with
+     * @param callback the consumer of the result of the computation
+     * @param <T> the type of the result of the computation
+     * @return the run-loop
+     */
+    @SuppressWarnings("unchecked")
+    static <T> IORunLoop create(TryConsumer<Try<T>> callback) {
+        return create(null, callback);
+    }
+
+    /**
+     * Creates a run-loop for a fiber of the {@code scheduler}, which invokes {@code callback} with the result of
+     * the computation it is started with
+     * @param scheduler the scheduler on whose workers the computation runs, or {@code null} for none
+     * @param callback the consumer of the result of the computation
+     * @param <T> the type of the result of the computation
+     * @return the run-loop
+     */
+    @SuppressWarnings("unchecked")
+    static <T> IORunLoop create(IOScheduler scheduler, TryConsumer<Try<T>> callback) {
+        return new IORunLoop((TryConsumer<Try<Object>>) (TryConsumer<?>) callback, scheduler);
+    }
+
+    /**
+     * Runs the {@code io} on the current thread until it completes or suspends
+     * @param io the computation
+     */
+    void start(IO<?> io) {
+        if (FlightEvents.ENABLED) {
+            runEvent = FlightEvents.beginIORun();
+        }
+        Try<Object> result = run(io, null, null);
+        if (result != null) {
+            complete(result);
+        }
+    }
+
+    /**
+     * Requests that the computation stops.  The run-loop fails with a {@link CancellationException} before it
+     * evaluates its next effect, or when it is resumed from the asynchronous boundary on which it is suspended.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Try<Object> run(IO<?> current, Object value, Throwable error) {
+        for (;;) {
+            if (scheduler != null && --budget < 0 && yieldWorker(current, value, error)) {
+                return null;
+            }
+            if (current != null) {
+                switch (current.tag) {
+                    case IO.PURE:
+                        value = ((IO.Pure<Object>) current).value;
+                        error = null;
+                        break;
+                    case IO.RAISE_ERROR:
+                        error = ((IO.RaiseError<Object>) current).exception;
+                        break;
+                    case IO.DELAY:
+                        if (cancelled) {
+                            return cancelled();
+                        }
+                        try {
+                            value = ((IO.Delay<Object>) current).supplier.get();
+                            error = null;
+                        } catch (Throwable exception) {
+                            error = nonFatal(exception);
+                        }
+                        break;
+                    case IO.ASYNC:
+                        if (cancelled) {
+                            return cancelled();
+                        }
+                        IO.Async<Object> async = (IO.Async<Object>) current;
+                        Resume resume = new Resume(this, async.shifts);
+                        if (FlightEvents.ENABLED) {
+                            resume.event = FlightEvents.beginAsync();
+                        }
+                        try {
+                            async.callback.accept(resume);
+                        } catch (Throwable exception) {
+                            resume.accept(Failure.of(nonFatal(exception)));
+                        }
+                        if (async.shifts || resume.suspend()) {
+                            return null;
+                        }
+                        if (FlightEvents.ENABLED) {
+                            FlightEvents.endAsync(resume.event, false);
+                        }
+                        Try<Object> completed = resume.result();
+                        if (completed.isSuccess()) {
+                            value = completed.getUnchecked();
+                            error = null;
+                        } else {
+                            error = completed.getException().get();
+                        }
+                        break;
+                    case IO.FUTURE:
+                        if (cancelled) {
+                            return cancelled();
+                        }
+                        CompletionStage<Object> stage;
+                        try {
+                            stage = ((IO.FromFuture<Object>) current).supplier.get();
+                        } catch (Throwable exception) {
+                            error = nonFatal(exception);
+                            break;
+                        }
+                        if (!(stage instanceof CompletableFuture) || !((CompletableFuture<?>) stage).isDone()) {
+                            current = new IO.Async<Object>(callback -> IO.whenComplete(stage, callback));
+                            continue;
+                        }
+                        try {
+                            value = ((CompletableFuture<Object>) stage).getNow(null);
+                            error = null;
+                        } catch (CompletionException exception) {
+                            error = nonFatal(IO.unwrap(exception));
+                        } catch (CancellationException exception) {
+                            error = exception;
+                        }
+                        break;
+                    case IO.CEDE:
+                        if (cancelled) {
+                            return cancelled();
+                        }
+                        value = null;
+                        error = null;
+                        if (scheduler != null && yieldWorker(null, null, null)) {
+                            return null;
+                        }
+                        break;
+                    case IO.MAP:
+                        push(current);
+                        current = ((IO.Mapped<?, ?>) current).source;
+                        continue;
+                    case IO.BIND:
+                        push(current);
+                        current = ((IO.Bind<?, ?>) current).source;
+                        continue;
+                    case IO.HANDLE:
+                        push(current);
+                        current = ((IO.Handle<?, ?>) current).source;
+                        continue;
+                    default:
+                        throw new IllegalStateException("Unknown IO instruction: " + current.tag);
+                }
+                current = null;
+            }
+
+            if (error != null) {
+                IO.Handle<Object, Object> handler = unwind(error);
+                if (handler == null) {
+                    return Failure.of(error);
+                }
+                Throwable exception = error;
+                error = null;
+                try {
+                    Object handled = ((TryFunction<Throwable, Object>) handler.onFailure).apply(exception);
+                    if (handler.bind) {
+                        current = (IO<?>) handled;
+                        if (current == null) {
+                            error = new NullPointerException("recoverWith function returned null.");
+                        }
+                    } else {
+                        value = handled;
+                    }
+                } catch (Throwable handlerException) {
+                    error = nonFatal(handlerException);
+                }
+                continue;
+            }
+            if (size == 0) {
+                return Success.of(value);
+            }
+
+            IO<?> frame = pop();
+            try {
+                switch (frame.tag) {
+                    case IO.MAP:
+                        value = ((IO.Mapped<Object, Object>) frame).function.apply(value);
+                        break;
+                    case IO.BIND:
+                        current = ((IO.Bind<Object, Object>) frame).function.apply(value);
+                        if (current == null) {
+                            error = new NullPointerException("flatMap function returned null.");
+                        }
+                        break;
+                    default:
+                        TryFunction<Object, ?> onSuccess = ((IO.Handle<Object, Object>) frame).onSuccess;
+                        if (onSuccess != null) {
+                            value = onSuccess.apply(value);
+                        }
+                        break;
+                }
+            } catch (Throwable exception) {
+                error = nonFatal(exception);
+            }
+        }
+    }
+
+    private void resume(Try<Object> completed) {
+        if (scheduler != null && !scheduler.isCurrentWorker()) {
+            try {
+                scheduler.execute(() -> resumeNow(completed));
+                return;
+            } catch (RejectedExecutionException ignored) {
+                // the scheduler has been shut down, so the computation finishes on the completing thread
+            }
+        }
+        resumeNow(completed);
+    }
+
+    private void resumeNow(Try<Object> completed) {
+        Try<Object> result = cancelled ? cancelled() : completed.isSuccess()
+                ? run(null, completed.getUnchecked(), null)
+                : run(null, null, completed.getException().get());
+        if (result != null) {
+            complete(result);
+        }
+    }
+
+    /**
+     * Schedules the rest of the computation as a new task on the scheduler, so that the other fibers on the
+     * worker get to run first
+     * @return {@code true} if the computation was scheduled and the run-loop must return; {@code false} if the
+     * scheduler has been shut down and the run-loop continues in place
+     */
+    private boolean yieldWorker(IO<?> current, Object value, Throwable error) {
+        budget = scheduler.yieldInterval();
+        try {
+            scheduler.reschedule(() -> {
+                Try<Object> result = run(current, value, error);
+                if (result != null) {
+                    complete(result);
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Pops the pending stages down to the nearest handler of the {@code error}, discarding those it skips
+     * @param error the exception
+     * @return the handler, or {@code null} if there is none and the stack is now empty
+     */
+    @SuppressWarnings("unchecked")
+    private IO.Handle<Object, Object> unwind(Throwable error) {
+        while (size > 0) {
+            IO<?> frame = pop();
+            if (frame.tag == IO.HANDLE && ((IO.Handle<?, ?>) frame).exceptionClass.isInstance(error)) {
+                return (IO.Handle<Object, Object>) frame;
+            }
+        }
+        return null;
+    }
+
+    private Try<Object> cancelled() {
+        clear();
+        return Failure.of(new CancellationException("The computation was cancelled."));
+    }
+
+    private void complete(Try<Object> result) {
+        if (callback != null) {
+            if (FlightEvents.ENABLED) {
+                FlightEvents.endIORun(runEvent, result);
+            }
+            try {
+                callback.accept(result);
+            } catch (Throwable exception) {
+                Failure.rethrow(exception);
+            }
+        } else {
+            this.result = result;
+            Thread waiter = this.waiter;
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    private Try<Object> block() throws InterruptedException {
+        waiter = Thread.currentThread();
+        Object blockedEvent = FlightEvents.ENABLED ? FlightEvents.beginBlocked() : null;
+        try {
+            Try<Object> result;
+            while ((result = this.result) == null) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return result;
+        } finally {
+            if (FlightEvents.ENABLED) {
+                FlightEvents.endBlocked(blockedEvent);
+            }
+        }
+    }
+
+    private void push(IO<?> frame) {
+        if (size == stack.length) {
+            stack = Arrays.copyOf(stack, size << 1);
+        }
+        stack[size++] = frame;
+    }
+
+    private IO<?> pop() {
+        IO<?> frame = stack[--size];
+        stack[size] = null;
+        return frame;
+    }
+
+    private void clear() {
+        Arrays.fill(stack, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the {@code exception} if it is non-fatal.  A fatal exception first completes the run-loop with it,
+     * so that a thread waiting on the result is released even when the computation is running on another thread,
+     * and is then rethrown.
+     */
+    private Throwable nonFatal(Throwable exception) {
+        if (Failure.isFatal(exception)) {
+            clear();
+            try {
+                complete(Failure.fatal(exception));
+            } finally {
+                Failure.rethrow(exception);
+            }
+        }
+        return exception;
+    }
+
+    /**
+     * The callback handed to an asynchronous instruction.  When it is invoked, by any thread, before the
+     * registering thread has suspended the run-loop, the result is handed back to the run-loop, which continues in
+     * place on the registering thread; the completing thread never waits.  Once the run-loop has suspended it is
+     * resumed on the completing thread.  The callback of an
+     * instruction which shifts to an executor starts out suspended, so that it always resumes the computation on
+     * the thread which invokes it.
+     * <p>
+     * A result handed back to the registering thread is itself the state it is swapped in as, so that only the
+     * first of racing completions is published.
+     */
+    private static final class Resume extends AtomicReference<Object> implements TryConsumer<Try<Object>> {
+        private static final long serialVersionUID = 1L;
+
+        private static final Object REGISTERING = new Object();
+        private static final Object SUSPENDED = new Object();
+        private static final Object RESUMED = new Object();
+
+        private final IORunLoop loop;
+        private Object event;
+
+        Resume(IORunLoop loop, boolean suspended) {
+            super(suspended ? SUSPENDED : REGISTERING);
+            this.loop = loop;
+        }
+
+        @Override
+        public void accept(Try<Object> completed) {
+            Objects.requireNonNull(completed, "completed must not be null.");
+            for (;;) {
+                Object state = get();
+                if (state == REGISTERING) {
+                    if (compareAndSet(REGISTERING, completed)) {
+                        return;
+                    }
+                } else if (state == SUSPENDED) {
+                    if (compareAndSet(SUSPENDED, RESUMED)) {
+                        if (FlightEvents.ENABLED) {
+                            FlightEvents.endAsync(event, true);
+                        }
+                        loop.resume(completed);
+                        return;
+                    }
+                } else {
+                    return;
+                }
+            }
+        }
+
+        boolean suspend() {
+            return compareAndSet(REGISTERING, SUSPENDED);
+        }
+
+        /**
+         * Returns the result handed back before the registering thread could suspend the run-loop
+         */
+        @SuppressWarnings("unchecked")
+        Try<Object> result() {
+            return (Try<Object>) get();
+        }
+    }
+}
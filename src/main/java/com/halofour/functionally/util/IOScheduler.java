@@ -0,0 +1,490 @@
+package com.halofour.functionally.util;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs {@link IO} computations as lightweight {@link Fiber}s on a fixed pool of worker threads.
+ * <p>
+ * Each fiber has its own run-loop, which keeps its continuations on a heap-allocated stack, so a fiber suspended
+ * on an asynchronous boundary holds no thread and a JVM can keep millions of them in flight.  Each worker has
+ * its own bounded run queue: work scheduled from a worker, such as the continuation of a fiber that yields, goes
+ * to the back of that worker's queue so that it stays on the same core, and only spills into the shared injection
+ * queue when the local queue is full.  Work scheduled from any other thread, such as a fiber resumed by the thread
+ * which completed its asynchronous callback, goes to the injection queue.  An idle worker takes work from the
+ * injection queue, then steals from the other workers' queues, and parks only when there is none left.
+ * <p>
+ * A fiber yields to the other fibers on its worker automatically after every {@code yieldInterval} steps of its
+ * run-loop, and explicitly with {@link IO#cede()}, so that a long synchronous computation cannot starve the rest.
+ * The scheduler is also an {@link Executor}, so it can be passed to {@link IO#evalOn(Executor)} and
+ * {@link IO#shift(Executor)}.  Its threads are daemon threads.
+ */
+public final class IOScheduler implements Executor {
+    /**
+     * The default number of run-loop steps after which a fiber yields
+     */
+    public static final int DEFAULT_YIELD_INTERVAL = 1024;
+
+    private static final int LOCAL_CAPACITY = 256;
+    private static final int INJECTION_CHECK_INTERVAL = 61;
+    private static final int SPINS_BEFORE_PARK = 64;
+
+    private final Worker[] workers;
+    private final ConcurrentLinkedQueue<Runnable> injected = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idle = new AtomicInteger();
+    private final LongAdder yields = new LongAdder();
+    private final LongAdder fibers = new LongAdder();
+    private final int yieldInterval;
+    private volatile boolean shutdown;
+
+    private IOScheduler(int parallelism, String name, int yieldInterval) {
+        this.yieldInterval = yieldInterval;
+        this.workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(this, i, name + "-" + (i + 1));
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Returns the shared scheduler, with a worker per available processor
+     * @return the shared scheduler
+     */
+    public static IOScheduler shared() {
+        return SharedHolder.SHARED;
+    }
+
+    /**
+     * Creates a scheduler with the given number of workers, whose fibers yield every
+     * {@link #DEFAULT_YIELD_INTERVAL} steps
+     * @param parallelism the number of worker threads
+     * @param name the prefix of the names of the worker threads
+     * @return the scheduler
+     */
+    public static IOScheduler create(int parallelism, String name) {
+        return create(parallelism, name, DEFAULT_YIELD_INTERVAL);
+    }
+
+    /**
+     * Creates a scheduler with the given number of workers
+     * @param parallelism the number of worker threads
+     * @param name the prefix of the names of the worker threads
+     * @param yieldInterval the number of run-loop steps after which a fiber yields to the other fibers
+     * @return the scheduler
+     */
+    public static IOScheduler create(int parallelism, String name, int yieldInterval) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive.");
+        }
+        if (yieldInterval < 1) {
+            throw new IllegalArgumentException("yieldInterval must be positive.");
+        }
+        Objects.requireNonNull(name, "name must not be null.");
+        return new IOScheduler(parallelism, name, yieldInterval);
+    }
+
+    /**
+     * Starts running the {@code io} as a new fiber on this scheduler
+     * @param io the computation
+     * @param <T> the type of the result of the computation
+     * @return the fiber
+     * @throws RejectedExecutionException if the scheduler has been shut down
+     */
+    public <T> Fiber<T> fork(IO<T> io) {
+        Objects.requireNonNull(io, "io must not be null.");
+        Promise<T> promise = new Promise<>();
+        IORunLoop loop = IORunLoop.create(this, (Try<T> result) -> {
+            fibers.decrement();
+            promise.complete(result);
+        });
+        fibers.increment();
+        try {
+            execute(() -> loop.start(io));
+        } catch (RejectedExecutionException exception) {
+            fibers.decrement();
+            throw exception;
+        }
+        return new Fiber<>(loop, promise);
+    }
+
+    /**
+     * Schedules the {@code task} to run on a worker of this scheduler
+     * @param task the task
+     * @throws RejectedExecutionException if the scheduler has been shut down
+     */
+    @Override
+    public void execute(Runnable task) {
+        Objects.requireNonNull(task, "task must not be null.");
+        if (shutdown) {
+            throw new RejectedExecutionException("The scheduler has been shut down.");
+        }
+        Worker worker = currentWorker();
+        if (worker == null || !worker.queue.offer(task)) {
+            injected.add(task);
+        }
+        if (idle.get() > 0) {
+            wakeOne();
+        }
+    }
+
+    /**
+     * Schedules the continuation of a fiber which yields.  It stays in the run queue of the current worker unless
+     * tasks are waiting in the injection queue, in which case it goes behind them so that the fibers scheduled
+     * from other threads get their turn.
+     * @param task the continuation
+     * @throws RejectedExecutionException if the scheduler has been shut down
+     */
+    void reschedule(Runnable task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("The scheduler has been shut down.");
+        }
+        Worker worker = currentWorker();
+        if (worker == null || !injected.isEmpty() || !worker.queue.offer(task)) {
+            injected.add(task);
+        }
+        if (idle.get() > 0) {
+            wakeOne();
+        }
+        yields.increment();
+    }
+
+    /**
+     * Stops the workers.  Tasks and fibers which have not yet run are abandoned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the scheduler has been shut down
+     * @return {@code true} if shut down; otherwise, {@code false}
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Returns the current statistics of the scheduler.  The values are read one at a time while they may still
+     * be updated, so the snapshot is not an atomic view.
+     * @return the statistics
+     */
+    public Stats stats() {
+        long executed = 0;
+        long steals = 0;
+        long parks = 0;
+        int queueDepth = 0;
+        for (Worker worker : workers) {
+            executed += worker.executed;
+            steals += worker.steals;
+            parks += worker.parks;
+            queueDepth += worker.queue.size();
+        }
+        return new Stats(workers.length, fibers.sum(), executed, steals, parks, yields.sum(),
+                queueDepth, injected.size());
+    }
+
+    int yieldInterval() {
+        return yieldInterval;
+    }
+
+    /**
+     * Returns {@code true} if the current thread is a worker of this scheduler
+     */
+    boolean isCurrentWorker() {
+        return currentWorker() != null;
+    }
+
+    /**
+     * Returns the scheduler of the current worker thread, or {@code null} if the current thread is not a worker
+     */
+    static IOScheduler current() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof Worker ? ((Worker) thread).scheduler : null;
+    }
+
+    private Worker currentWorker() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof Worker && ((Worker) thread).scheduler == this) {
+            return (Worker) thread;
+        }
+        return null;
+    }
+
+    private void wakeOne() {
+        int start = ThreadLocalRandom.current().nextInt(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            Worker worker = workers[(start + i) % workers.length];
+            if (worker.parked.get() && worker.parked.compareAndSet(true, false)) {
+                idle.decrementAndGet();
+                LockSupport.unpark(worker);
+                return;
+            }
+        }
+    }
+
+    private Runnable steal(Worker thief) {
+        int start = ThreadLocalRandom.current().nextInt(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            Worker victim = workers[(start + i) % workers.length];
+            if (victim != thief) {
+                Runnable task = victim.queue.poll();
+                if (task != null) {
+                    thief.steals++;
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Runnable findWork(Worker worker) {
+        Runnable task;
+        if (++worker.ticks % INJECTION_CHECK_INTERVAL == 0 && (task = injected.poll()) != null) {
+            return task;
+        }
+        if ((task = worker.queue.poll()) != null) {
+            return task;
+        }
+        if ((task = injected.poll()) != null) {
+            return task;
+        }
+        return steal(worker);
+    }
+
+    private Runnable awaitWork(Worker worker) {
+        for (int i = 0; i < SPINS_BEFORE_PARK; i++) {
+            Runnable task = findWork(worker);
+            if (task != null || shutdown) {
+                return task;
+            }
+            Thread.yield();
+        }
+
+        worker.parked.set(true);
+        idle.incrementAndGet();
+        Runnable task = findWork(worker);
+        if (task != null || shutdown) {
+            if (worker.parked.compareAndSet(true, false)) {
+                idle.decrementAndGet();
+            }
+            return task;
+        }
+        while (worker.parked.get() && !shutdown) {
+            worker.parks++;
+            LockSupport.park(this);
+        }
+        return null;
+    }
+
+    private void runWorker(Worker worker) {
+        while (!shutdown) {
+            Runnable task = findWork(worker);
+            if (task == null) {
+                task = awaitWork(worker);
+                if (task == null) {
+                    continue;
+                }
+            }
+            try {
+                task.run();
+            } catch (Throwable exception) {
+                Thread.UncaughtExceptionHandler handler = worker.getUncaughtExceptionHandler();
+                if (handler != null) {
+                    handler.uncaughtException(worker, exception);
+                }
+            }
+            worker.executed++;
+        }
+    }
+
+    /**
+     * The statistics of an {@link IOScheduler} at the time of {@link IOScheduler#stats()}
+     */
+    public static final class Stats {
+        private final int workers;
+        private final long fibers;
+        private final long executed;
+        private final long steals;
+        private final long parks;
+        private final long yields;
+        private final int localQueueDepth;
+        private final int injectedQueueDepth;
+
+        Stats(int workers, long fibers, long executed, long steals, long parks, long yields,
+              int localQueueDepth, int injectedQueueDepth) {
+            this.workers = workers;
+            this.fibers = fibers;
+            this.executed = executed;
+            this.steals = steals;
+            this.parks = parks;
+            this.yields = yields;
+            this.localQueueDepth = localQueueDepth;
+            this.injectedQueueDepth = injectedQueueDepth;
+        }
+
+        /**
+         * Gets the number of worker threads
+         * @return the number of workers
+         */
+        public int getWorkers() {
+            return workers;
+        }
+
+        /**
+         * Gets the number of fibers which have been forked and have not yet completed
+         * @return the number of live fibers
+         */
+        public long getFibers() {
+            return fibers;
+        }
+
+        /**
+         * Gets the number of tasks run by the workers, including each slice of a fiber between its yields
+         * @return the count
+         */
+        public long getExecuted() {
+            return executed;
+        }
+
+        /**
+         * Gets the number of tasks a worker took from the queue of another worker
+         * @return the count
+         */
+        public long getSteals() {
+            return steals;
+        }
+
+        /**
+         * Gets the number of times a worker parked for lack of work
+         * @return the count
+         */
+        public long getParks() {
+            return parks;
+        }
+
+        /**
+         * Gets the number of times a fiber yielded, automatically or through {@link IO#cede()}
+         * @return the count
+         */
+        public long getYields() {
+            return yields;
+        }
+
+        /**
+         * Gets the number of tasks waiting in the run queues of the workers
+         * @return the depth of the local queues
+         */
+        public int getLocalQueueDepth() {
+            return localQueueDepth;
+        }
+
+        /**
+         * Gets the number of tasks waiting in the shared injection queue
+         * @return the depth of the injection queue
+         */
+        public int getInjectedQueueDepth() {
+            return injectedQueueDepth;
+        }
+
+        /**
+         * Gets the total number of tasks waiting to run
+         * @return the depth of all of the queues
+         */
+        public int getQueueDepth() {
+            return localQueueDepth + injectedQueueDepth;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("IOScheduler.Stats[workers=%d, fibers=%d, executed=%d, steals=%d, parks=%d, yields=%d, localQueueDepth=%d, injectedQueueDepth=%d]",
+                    workers, fibers, executed, steals, parks, yields, localQueueDepth, injectedQueueDepth);
+        }
+    }
+
+    private static final class Worker extends Thread {
+        final IOScheduler scheduler;
+        final LocalQueue queue = new LocalQueue();
+        final AtomicBoolean parked = new AtomicBoolean();
+        int ticks;
+        volatile long executed;
+        volatile long steals;
+        volatile long parks;
+
+        Worker(IOScheduler scheduler, int index, String name) {
+            super(name);
+            this.scheduler = scheduler;
+            this.ticks = index;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            scheduler.runWorker(this);
+        }
+    }
+
+    /**
+     * A bounded run queue which only its worker adds to, at the tail, and which its worker and thieves take from,
+     * at the head.  A slot is only reused once the head has moved past it, so a taker which wins the
+     * compare-and-set of the head always takes the task it read.  Takers never write the slots; the worker clears
+     * the slots which have been taken, by index, the next time it adds a task, since a taker clearing by value
+     * could wipe the same task added again into the reused slot.
+     */
+    private static final class LocalQueue {
+        private static final int MASK = LOCAL_CAPACITY - 1;
+
+        private final AtomicReferenceArray<Runnable> tasks = new AtomicReferenceArray<>(LOCAL_CAPACITY);
+        private final AtomicInteger head = new AtomicInteger();
+        private final AtomicInteger tail = new AtomicInteger();
+        private int cleared;
+
+        boolean offer(Runnable task) {
+            int t = tail.get();
+            int h = head.get();
+            if (t - h >= LOCAL_CAPACITY) {
+                return false;
+            }
+            while (cleared != h) {
+                tasks.lazySet(cleared++ & MASK, null);
+            }
+            tasks.lazySet(t & MASK, task);
+            tail.lazySet(t + 1);
+            return true;
+        }
+
+        Runnable poll() {
+            for (;;) {
+                int h = head.get();
+                if (h - tail.get() >= 0) {
+                    return null;
+                }
+                Runnable task = tasks.get(h & MASK);
+                if (head.compareAndSet(h, h + 1)) {
+                    return task;
+                }
+            }
+        }
+
+        int size() {
+            return Math.max(0, tail.get() - head.get());
+        }
+    }
+
+    private static final class SharedHolder {
+        static final IOScheduler SHARED = new IOScheduler(Runtime.getRuntime().availableProcessors(),
+                "functionally-fiber", DEFAULT_YIELD_INTERVAL);
+    }
+}
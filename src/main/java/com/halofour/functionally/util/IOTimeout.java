@@ -0,0 +1,73 @@
+package com.halofour.functionally.util;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.halofour.functionally.util.function.TryConsumer;
+
+/**
+ * Races a run of an {@link IO} against a timeout of the {@link HashedWheelTimer}.
+ * <p>
+ * Whichever finishes first wins a single compare-and-set.  When the computation completes first it cancels the
+ * timeout, which is O(1), and passes its result on the thread which completed it.  When the timeout expires
+ * first it cancels the computation and fails with a {@link TimeoutException}, which it hands to the
+ * {@code executor} so that the computation continues off the timer thread.
+ * @param <T> the type of the result of the computation
+ */
+final class IOTimeout<T> extends AtomicBoolean implements TryConsumer<Try<T>>, Runnable {
+    private static final long serialVersionUID = 1L;
+
+    private final Duration duration;
+    private final Executor executor;
+    private final TryConsumer<Try<T>> callback;
+    private final IORunLoop loop;
+    private volatile HashedWheelTimer.Timeout timeout;
+
+    private IOTimeout(Duration duration, Executor executor, IOScheduler scheduler, TryConsumer<Try<T>> callback) {
+        this.duration = duration;
+        this.executor = executor;
+        this.callback = callback;
+        this.loop = IORunLoop.create(scheduler, this);
+    }
+
+    /**
+     * Runs the {@code io}, invoking the {@code callback} with its result or with a {@link TimeoutException} if it
+     * does not complete within the {@code duration}
+     * @param io the computation
+     * @param duration the timeout
+     * @param callback the consumer of the result
+     * @param <T> the type of the result of the computation
+     */
+    static <T> void subscribe(IO<T> io, Duration duration, TryConsumer<Try<T>> callback) {
+        IOScheduler scheduler = IOScheduler.current();
+        Executor executor = scheduler != null ? scheduler : IOExecutors.compute();
+        IOTimeout<T> race = new IOTimeout<>(duration, executor, scheduler, callback);
+        race.timeout = HashedWheelTimer.shared().schedule(race, duration);
+        race.loop.start(io);
+    }
+
+    /**
+     * Completes with the result of the computation, unless the timeout has already expired
+     */
+    @Override
+    public void accept(Try<T> result) throws Throwable {
+        if (compareAndSet(false, true)) {
+            timeout.cancel();
+            callback.accept(result);
+        }
+    }
+
+    /**
+     * Fails with a {@link TimeoutException}, unless the computation has already completed
+     */
+    @Override
+    public void run() {
+        if (compareAndSet(false, true)) {
+            loop.cancel();
+            IO.execute(executor, callback,
+                    Failure.of(new TimeoutException("The computation did not complete within " + duration + ".")));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.halofour.functionally.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.halofour.functionally.util.function.TryConsumer;
+
+/**
+ * Shares the result of a single run of an {@link IO} between all of its subscribers.
+ * <p>
+ * The state is held in a single {@link AtomicReference} which is either empty, the {@link Promise} of the run
+ * in flight, or the completed result.  Subscribers attach to the promise of a run in flight with a single
+ * compare-and-set and no locks are taken.
+ * @param <T> the type of the result of the computation
+ */
+final class Memoized<T> {
+    private static final long NEVER = -1L;
+
+    private final IO<T> source;
+    private final long timeToLiveNanos;
+    private final boolean retainFailures;
+    private final AtomicReference<Object> state = new AtomicReference<>();
+
+    /**
+     * Creates the memoized computation
+     * @param source the computation to run at most once per expiration
+     * @param timeToLiveNanos how long the result is retained, or a negative value to retain it indefinitely
+     * @param retainFailures {@code true} if failed results are retained; otherwise they are discarded immediately
+     */
+    Memoized(IO<T> source, long timeToLiveNanos, boolean retainFailures) {
+        this.source = source;
+        this.timeToLiveNanos = timeToLiveNanos < 0 ? NEVER : timeToLiveNanos;
+        this.retainFailures = retainFailures;
+    }
+
+    /**
+     * Invokes the {@code callback} with the cached result, running the computation if there is none
+     * @param callback the consumer of the result
+     * @throws Throwable an exception thrown by the {@code callback}
+     */
+    @SuppressWarnings("unchecked")
+    void subscribe(TryConsumer<Try<T>> callback) throws Throwable {
+        for (;;) {
+            Object current = state.get();
+            if (current instanceof Promise) {
+                ((Promise<T>) current).onComplete(callback);
+                return;
+            }
+            if (current instanceof Completed && !((Completed<T>) current).isExpired()) {
+                callback.accept(((Completed<T>) current).result);
+                return;
+            }
+            Promise<T> promise = new Promise<>();
+            if (state.compareAndSet(current, promise)) {
+                promise.onComplete(callback);
+                IORunLoop.start(source, result -> complete(promise, result));
+                return;
+            }
+        }
+    }
+
+    private void complete(Promise<T> promise, Try<T> result) throws Throwable {
+        Object completed = null;
+        if (result.isSuccess() || retainFailures) {
+            completed = new Completed<>(result, timeToLiveNanos != NEVER, System.nanoTime() + timeToLiveNanos);
+        }
+        state.compareAndSet(promise, completed);
+        promise.complete(result);
+    }
+
+    private static final class Completed<T> {
+        final Try<T> result;
+        final boolean expires;
+        final long deadline;
+
+        Completed(Try<T> result, boolean expires, long deadline) {
+            this.result = result;
+            this.expires = expires;
+            this.deadline = deadline;
+        }
+
+        boolean isExpired() {
+            return expires && System.nanoTime() - deadline >= 0;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.halofour.functionally.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.halofour.functionally.util.function.TryFunction;
+
+/**
+ * Applies a function to each element of a list in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * The list is split in halves until a range is no larger than the threshold, and each range writes its results into
+ * the slots of a shared array so that the results keep the order of the inputs.  The first exception thrown by the
+ * function sets a shared flag which every subtask checks before it starts and before each element, so that once a
+ * failure has occurred the subtasks still in flight stop at their next element and those not yet started do nothing.
+ * @param <A> the type of the inputs
+ * @param <B> the type of the results
+ */
+final class ParallelTraversal<A, B> {
+    private static final int TASKS_PER_THREAD = 8;
+
+    private final Object[] inputs;
+    private final Object[] results;
+    private final TryFunction<? super A, ? extends B> function;
+    private final int threshold;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    private ParallelTraversal(Object[] inputs, TryFunction<? super A, ? extends B> function, int threshold) {
+        this.inputs = inputs;
+        this.results = new Object[inputs.length];
+        this.function = function;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Applies the {@code function} to each of the {@code inputs} in parallel, splitting the inputs into enough
+     * ranges to keep every thread of the {@code pool} busy
+     * @param inputs the inputs
+     * @param function the function to apply to each input
+     * @param pool the pool on which the function is applied
+     * @param <A> the type of the inputs
+     * @param <B> the type of the results
+     * @return the computation of the list of results, or the failed computation of the first exception thrown
+     */
+    static <A, B> Try<List<B>> traverse(List<? extends A> inputs, TryFunction<? super A, ? extends B> function,
+                                        ForkJoinPool pool) {
+        int threshold = Math.max(1, inputs.size() / (pool.getParallelism() * TASKS_PER_THREAD));
+        return traverse(inputs, function, pool, threshold);
+    }
+
+    /**
+     * Applies the {@code function} to each of the {@code inputs} in parallel
+     * @param inputs the inputs
+     * @param function the function to apply to each input
+     * @param pool the pool on which the function is applied
+     * @param threshold the largest number of inputs a single task applies the function to without splitting
+     * @param <A> the type of the inputs
+     * @param <B> the type of the results
+     * @return the computation of the list of results, or the failed computation of the first exception thrown
+     */
+    @SuppressWarnings("unchecked")
+    static <A, B> Try<List<B>> traverse(List<? extends A> inputs, TryFunction<? super A, ? extends B> function,
+                                        ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive.");
+        }
+        ParallelTraversal<A, B> traversal = new ParallelTraversal<>(inputs.toArray(), function, threshold);
+        pool.invoke(traversal.new Range(0, traversal.inputs.length));
+
+        Throwable exception = traversal.failure.get();
+        if (exception != null) {
+            return Failure.of(exception);
+        }
+        return Success.of(Collections.unmodifiableList((List<B>) Arrays.asList(traversal.results)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                results[i] = function.apply((A) inputs[i]);
+            } catch (Throwable exception) {
+                if (Failure.isFatal(exception)) {
+                    cancelled = true;
+                    Failure.rethrow(exception);
+                }
+                failure.compareAndSet(null, exception);
+                cancelled = true;
+                return;
+            }
+        }
+    }
+
+    private final class Range extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        Range(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled) {
+                return;
+            }
+            if (to - from <= threshold) {
+                apply(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            Range right = new Range(middle, to);
+            right.fork();
+            new Range(from, middle).compute();
+            right.join();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.halofour.functionally.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.halofour.functionally.util.function.TryConsumer;
+
+/**
+ * A single-assignment cell for the result of a computation which completes asynchronously.
+ * <p>
+ * The state is either {@code null}, a stack of the callbacks waiting on the result, or the completed {@link Try}
+ * itself, so completing the promise stores the result with a single compare-and-set and allocates nothing.
+ * Callbacks are invoked with the {@link Try} as-is; a failure is never wrapped in a
+ * {@link java.util.concurrent.CompletionException}.
+ * @param <T> the type of the result of the computation
+ */
+final class Promise<T> extends AtomicReference<Object> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Completes the promise with the {@code result} and invokes the waiting callbacks, in the order in which they
+     * were registered, on the current thread.  Every callback is invoked even if an earlier one throws, after which
+     * the first exception thrown is rethrown.
+     * @param result the result
+     * @return {@code true} if this call completed the promise; {@code false} if it was already completed
+     * @throws Throwable an exception thrown by a callback
+     */
+    @SuppressWarnings("unchecked")
+    boolean complete(Try<T> result) throws Throwable {
+        Objects.requireNonNull(result, "result must not be null.");
+        for (;;) {
+            Object current = get();
+            if (current instanceof Try) {
+                return false;
+            }
+            if (compareAndSet(current, result)) {
+                if (current != null) {
+                    accept(reverse((Callback<T>) current), result);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Invokes the {@code callback} with the result, immediately on the current thread if the promise is already
+     * completed, or else on the thread which completes it
+     * @param callback the consumer of the result
+     * @throws Throwable an exception thrown by the {@code callback} when it was invoked immediately
+     */
+    @SuppressWarnings("unchecked")
+    void onComplete(TryConsumer<Try<T>> callback) throws Throwable {
+        Objects.requireNonNull(callback, "callback must not be null.");
+        for (;;) {
+            Object current = get();
+            if (current instanceof Try) {
+                callback.accept((Try<T>) current);
+                return;
+            }
+            if (compareAndSet(current, new Callback<>(callback, (Callback<T>) current))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the result of the promise, if it has completed
+     * @return the result, or {@code null} if the promise has not completed
+     */
+    @SuppressWarnings("unchecked")
+    Try<T> getNow() {
+        Object current = get();
+        return current instanceof Try ? (Try<T>) current : null;
+    }
+
+    /**
+     * Returns {@code true} if the promise has completed
+     * @return {@code true} if completed; otherwise, {@code false}
+     */
+    boolean isDone() {
+        return get() instanceof Try;
+    }
+
+    private static <T> void accept(Callback<T> callbacks, Try<T> result) throws Throwable {
+        Throwable callbackException = null;
+        for (Callback<T> callback = callbacks; callback != null; callback = callback.next) {
+            try {
+                callback.callback.accept(result);
+            } catch (Throwable exception) {
+                if (callbackException == null) {
+                    callbackException = exception;
+                }
+            }
+        }
+        if (callbackException != null) {
+            throw callbackException;
+        }
+    }
+
+    private static <T> Callback<T> reverse(Callback<T> callbacks) {
+        if (callbacks.next == null) {
+            return callbacks;
+        }
+        Callback<T> reversed = null;
+        for (Callback<T> callback = callbacks; callback != null; callback = callback.next) {
+            reversed = new Callback<>(callback.callback, reversed);
+        }
+        return reversed;
+    }
+
+    private static final class Callback<T> {
+        final TryConsumer<Try<T>> callback;
+        final Callback<T> next;
+
+        Callback(TryConsumer<Try<T>> callback, Callback<T> next) {
+            this.callback = callback;
+            this.next = next;
+        }
+    }
+}
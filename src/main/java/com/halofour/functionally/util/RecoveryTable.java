@@ -0,0 +1,136 @@
+package com.halofour.functionally.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.halofour.functionally.util.function.TryFunction;
+
+/**
+ * An immutable table of recovery functions indexed by exception class, used by {@link Try#recoverAll(RecoveryTable)}.
+ * <p>
+ * A failed computation is recovered by the function registered for the nearest superclass of its exception, found
+ * by walking up from the concrete class of the exception.  Each table is copied on write, so a table can be built
+ * up from a shared base and used from any number of threads; the walk is done once per concrete exception class
+ * and table.
+ * @param <T> the type of the value of the recovered computation
+ */
+public final class RecoveryTable<T> {
+    private static final int RECOVER = 0;
+    private static final int RECOVER_WITH = 1;
+
+    private final Map<Class<?>, Handler> handlers;
+    private final ClassDispatch<Handler> handlersByClass = new ClassDispatch<>(this::resolve);
+
+    private RecoveryTable(Map<Class<?>, Handler> handlers) {
+        this.handlers = handlers;
+    }
+
+    /**
+     * Returns a table which recovers from exceptions of the given class using the {@code function}
+     * @param exceptionClass the class of the exception
+     * @param function the function to apply to the exception
+     * @param <T> the type of the value of the recovered computation
+     * @param <E> the type of the exception
+     * @return the table
+     */
+    public static <T, E extends Throwable> RecoveryTable<T> of(Class<E> exceptionClass, TryFunction<? super E, ? extends T> function) {
+        return new RecoveryTable<T>(new HashMap<>()).on(exceptionClass, function);
+    }
+
+    /**
+     * Returns a table which recovers from exceptions of the given class with the return value of the {@code function}
+     * @param exceptionClass the class of the exception
+     * @param function the function to apply to the exception
+     * @param <T> the type of the value of the recovered computation
+     * @param <E> the type of the exception
+     * @return the table
+     */
+    public static <T, E extends Throwable> RecoveryTable<T> ofWith(Class<E> exceptionClass, TryFunction<? super E, Try<T>> function) {
+        return new RecoveryTable<T>(new HashMap<>()).onWith(exceptionClass, function);
+    }
+
+    /**
+     * Returns a copy of this table which also recovers from exceptions of the given class using the {@code function},
+     * replacing any function already registered for that class
+     * @param exceptionClass the class of the exception
+     * @param function the function to apply to the exception
+     * @param <E> the type of the exception
+     * @return the table
+     */
+    public <E extends Throwable> RecoveryTable<T> on(Class<E> exceptionClass, TryFunction<? super E, ? extends T> function) {
+        return with(exceptionClass, new Handler(RECOVER, function));
+    }
+
+    /**
+     * Returns a copy of this table which also recovers from exceptions of the given class with the return value of
+     * the {@code function}, replacing any function already registered for that class
+     * @param exceptionClass the class of the exception
+     * @param function the function to apply to the exception
+     * @param <E> the type of the exception
+     * @return the table
+     */
+    public <E extends Throwable> RecoveryTable<T> onWith(Class<E> exceptionClass, TryFunction<? super E, Try<T>> function) {
+        return with(exceptionClass, new Handler(RECOVER_WITH, function));
+    }
+
+    /**
+     * Recovers the failed computation using the function registered for its exception, if any
+     * @param failure the failed computation
+     * @return the recovered computation, or {@code failure} if no function is registered for its exception
+     */
+    Try<T> recover(Failure<T> failure) {
+        return recover(failure, failure.exception());
+    }
+
+    /**
+     * Recovers a failed computation using the function registered for its {@code exception}, if any
+     * @param failed the failed computation
+     * @param exception the exception of the failed computation
+     * @return the recovered computation, or {@code failed} if no function is registered for the exception
+     */
+    @SuppressWarnings("unchecked")
+    Try<T> recover(Try<T> failed, Throwable exception) {
+        Handler handler = handlersByClass.get(exception.getClass());
+        if (handler == null) {
+            return failed;
+        }
+        if (TryMetrics.ENABLED) {
+            TryMetrics.recordRecovery();
+        }
+        try {
+            if (handler.kind == RECOVER) {
+                return Success.of((T) handler.function.apply(exception));
+            }
+            return (Try<T>) handler.function.apply(exception);
+        } catch (Throwable recoverException) {
+            return Failure.of(recoverException);
+        }
+    }
+
+    private RecoveryTable<T> with(Class<?> exceptionClass, Handler handler) {
+        Map<Class<?>, Handler> handlers = new HashMap<>(this.handlers);
+        handlers.put(exceptionClass, handler);
+        return new RecoveryTable<>(handlers);
+    }
+
+    private Handler resolve(Class<?> exceptionClass) {
+        for (Class<?> current = exceptionClass; current != null; current = current.getSuperclass()) {
+            Handler handler = handlers.get(current);
+            if (handler != null) {
+                return handler;
+            }
+        }
+        return null;
+    }
+
+    private static final class Handler {
+        final int kind;
+        final TryFunction<Object, ?> function;
+
+        @SuppressWarnings("unchecked")
+        Handler(int kind, TryFunction<?, ?> function) {
+            this.kind = kind;
+            this.function = (TryFunction<Object, ?>) function;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.halofour.functionally.util;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.lang.reflect.Constructor;
+
+/**
+ * The serialized form of {@link Success} and {@link Failure}.
+ * <p>
+ * A computation is written as a tag byte followed by its value or exception, so that the stream carries the class
+ * descriptor of this proxy once rather than those of the computation classes and their fields.  A {@link Failure}
+ * marked with {@link Failure#compact(int)} writes only the class name and message of its exception and its top
+ * stack frames, in place of the whole graph of the exception.  When read back the exception is recreated through
+ * its constructor accepting a message, or as a {@link CompactException} if that is not possible.
+ */
+final class SerializedTry implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte COMPACT_FAILURE = 2;
+
+    private Object computation;
+
+    /**
+     * Creates an empty proxy, for deserialization
+     */
+    public SerializedTry() { }
+
+    SerializedTry(Try<?> computation) {
+        this.computation = computation;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        if (computation instanceof Success) {
+            out.writeByte(SUCCESS);
+            out.writeObject(((Success<?>) computation).get());
+            return;
+        }
+        Failure<?> failure = (Failure<?>) computation;
+        if (failure.compactFrames() < 0) {
+            out.writeByte(FAILURE);
+            out.writeObject(failure.exception());
+        } else {
+            out.writeByte(COMPACT_FAILURE);
+            writeCompact(out, failure.exception(), failure.compactFrames());
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case SUCCESS:
+                computation = Success.resolve(in.readObject());
+                break;
+            case FAILURE:
+                computation = Failure.of((Throwable) in.readObject());
+                break;
+            case COMPACT_FAILURE:
+                computation = Failure.of(readCompact(in));
+                break;
+            default:
+                throw new IOException("Unknown serialized Try tag: " + tag);
+        }
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        return computation;
+    }
+
+    private static void writeCompact(ObjectOutput out, Throwable exception, int maxFrames) throws IOException {
+        out.writeUTF(exception.getClass().getName());
+        writeNullableUTF(out, exception.getMessage());
+        StackTraceElement[] stackTrace = maxFrames > 0 ? exception.getStackTrace() : new StackTraceElement[0];
+        int frames = Math.min(maxFrames, stackTrace.length);
+        out.writeInt(frames);
+        for (int i = 0; i < frames; i++) {
+            StackTraceElement frame = stackTrace[i];
+            out.writeUTF(frame.getClassName());
+            out.writeUTF(frame.getMethodName());
+            writeNullableUTF(out, frame.getFileName());
+            out.writeInt(frame.getLineNumber());
+        }
+    }
+
+    private static Throwable readCompact(ObjectInput in) throws IOException {
+        String className = in.readUTF();
+        String message = readNullableUTF(in);
+        StackTraceElement[] stackTrace = new StackTraceElement[in.readInt()];
+        for (int i = 0; i < stackTrace.length; i++) {
+            stackTrace[i] = new StackTraceElement(in.readUTF(), in.readUTF(), readNullableUTF(in), in.readInt());
+        }
+        Throwable exception = instantiate(className, message);
+        exception.setStackTrace(stackTrace);
+        return exception;
+    }
+
+    /**
+     * Recreates an exception of the named class through its constructor accepting a message, or as a
+     * {@link CompactException} if the class is not available, has no such constructor or is a fatal exception
+     */
+    static Throwable instantiate(String className, String message) {
+        try {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            Class<?> exceptionClass = Class.forName(className, false, loader != null ? loader : SerializedTry.class.getClassLoader());
+            if (Throwable.class.isAssignableFrom(exceptionClass)) {
+                Constructor<?> constructor = exceptionClass.getConstructor(String.class);
+                Throwable exception = (Throwable) constructor.newInstance(message);
+                if (Failure.isNonFatal(exception)) {
+                    return exception;
+                }
+            }
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException ignored) {
+            // fall back to the stand-in below
+        }
+        return new CompactException(className, message);
+    }
+
+    private static void writeNullableUTF(ObjectOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(ObjectInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
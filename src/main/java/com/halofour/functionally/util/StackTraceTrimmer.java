@@ -0,0 +1,33 @@
+package com.halofour.functionally.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * A {@link FailureRetention} which trims the stack traces of an exception and its causes.  The exceptions are
+ * mutated in place, so the trimmed traces are visible to every other holder of the same instances.
+ */
+final class StackTraceTrimmer implements FailureRetention {
+    private final int maxFrames;
+
+    StackTraceTrimmer(int maxFrames) {
+        if (maxFrames < 0) {
+            throw new IllegalArgumentException("maxFrames must not be negative.");
+        }
+        this.maxFrames = maxFrames;
+    }
+
+    @Override
+    public Throwable retainException(Throwable exception) {
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable current = exception; current != null && visited.add(current); current = current.getCause()) {
+            StackTraceElement[] stackTrace = current.getStackTrace();
+            if (stackTrace.length > maxFrames) {
+                current.setStackTrace(Arrays.copyOf(stackTrace, maxFrames));
+            }
+        }
+        return exception;
+    }
+}
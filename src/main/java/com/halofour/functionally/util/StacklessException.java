@@ -0,0 +1,27 @@
+package com.halofour.functionally.util;
+
+/**
+ * An exception which captures neither a stack trace nor suppressed exceptions, for failures used as control flow
+ * where the cost of walking the stack would dominate.  As an instance carries no mutable state it may be
+ * preallocated and shared between failures.
+ */
+public class StacklessException extends RuntimeException {
+    private static final long serialVersionUID = -4415402365932151718L;
+
+    /**
+     * Constructs the {@link StacklessException} with the specified detail message
+     * @param message the detail message
+     */
+    public StacklessException(String message) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * Constructs the {@link StacklessException} with the specified detail message and cause
+     * @param message the detail message
+     * @param cause the cause
+     */
+    public StacklessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
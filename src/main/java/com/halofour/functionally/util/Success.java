@@ -1,7 +1,6 @@
 package com.halofour.functionally.util;
 
 import java.io.Serializable;
-import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -9,6 +8,9 @@ import java.util.function.Predicate;
 import com.halofour.functionally.util.function.TryBiFunction;
 import com.halofour.functionally.util.function.TryFunction;
 import com.halofour.functionally.util.function.TrySupplier;
+import com.halofour.functionally.util.function.TryToDoubleFunction;
+import com.halofour.functionally.util.function.TryToIntFunction;
+import com.halofour.functionally.util.function.TryToLongFunction;
 
 /**
  * Represents a computation that has completed successfully with a value
@@ -17,6 +19,21 @@ import com.halofour.functionally.util.function.TrySupplier;
 public final class Success<T> implements Try<T>, Serializable {
     private static final long serialVersionUID = -3845326151749903251L;
 
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 127;
+
+    private static final Success<?> NULL = new Success<>(null);
+    private static final Success<Boolean> TRUE = new Success<>(Boolean.TRUE);
+    private static final Success<Boolean> FALSE = new Success<>(Boolean.FALSE);
+    private static final Success<Optional<?>> EMPTY = new Success<>(Optional.empty());
+    private static final Success<?>[] INTEGERS = new Success<?>[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < INTEGERS.length; i++) {
+            INTEGERS[i] = new Success<>(Integer.valueOf(i + CACHE_LOW));
+        }
+    }
+
     private final T value;
 
     private Success(T value) {
@@ -43,6 +60,11 @@ public final class Success<T> implements Try<T>, Serializable {
         return value;
     }
 
+    @Override
+    public T getUnchecked() {
+        return value;
+    }
+
     @Override
     public Optional<Throwable> getException() {
         return Optional.empty();
@@ -64,9 +86,14 @@ public final class Success<T> implements Try<T>, Serializable {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <R> Try<R> map(TryFunction<? super T, ? extends R> function) {
         try {
-            return Success.of(function.apply(value));
+            R result = function.apply(value);
+            if (result == value) {
+                return (Success<R>) this;
+            }
+            return Success.of(result);
         } catch (Throwable exception) {
             return Failure.of(exception);
         }
@@ -81,6 +108,60 @@ public final class Success<T> implements Try<T>, Serializable {
         }
     }
 
+    @Override
+    public TryInt mapToInt(TryToIntFunction<? super T> function) {
+        try {
+            return TryInt.success(function.applyAsInt(value));
+        } catch (Throwable exception) {
+            return TryInt.failure(exception);
+        }
+    }
+
+    @Override
+    public TryLong mapToLong(TryToLongFunction<? super T> function) {
+        try {
+            return TryLong.success(function.applyAsLong(value));
+        } catch (Throwable exception) {
+            return TryLong.failure(exception);
+        }
+    }
+
+    @Override
+    public TryDouble mapToDouble(TryToDoubleFunction<? super T> function) {
+        try {
+            return TryDouble.success(function.applyAsDouble(value));
+        } catch (Throwable exception) {
+            return TryDouble.failure(exception);
+        }
+    }
+
+    @Override
+    public TryInt flatMapToInt(TryFunction<? super T, TryInt> function) {
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return TryInt.failure(exception);
+        }
+    }
+
+    @Override
+    public TryLong flatMapToLong(TryFunction<? super T, TryLong> function) {
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return TryLong.failure(exception);
+        }
+    }
+
+    @Override
+    public TryDouble flatMapToDouble(TryFunction<? super T, TryDouble> function) {
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return TryDouble.failure(exception);
+        }
+    }
+
     @Override
     public <U, R> Try<R> combineMap(Try<U> other, TryBiFunction<? super T, ? super U, ? extends R> function) {
         return other.map(otherValue -> function.apply(value, otherValue));
@@ -97,7 +178,7 @@ public final class Success<T> implements Try<T>, Serializable {
             if (predicate.test(value)) {
                 return this;
             }
-            return Failure.of(new NoSuchElementException("The value did not meet the predicate."));
+            return Failure.of(ControlFlowExceptions.predicateRejected());
         } catch (Throwable exception) {
             return Failure.of(exception);
         }
@@ -123,6 +204,11 @@ public final class Success<T> implements Try<T>, Serializable {
         return this;
     }
 
+    @Override
+    public Success<T> recoverAll(RecoveryTable<T> table) {
+        return this;
+    }
+
     @Override
     public <R> Try<R> fold(TryFunction<? super Throwable, ? extends R> onFailure, TryFunction<? super T, ? extends R> onSuccess) {
         return map(onSuccess);
@@ -130,7 +216,7 @@ public final class Success<T> implements Try<T>, Serializable {
 
     @Override
     public Failure<Throwable> failed() {
-        return Failure.of(new UnsupportedOperationException("Cannot invert Success."));
+        return Failure.of(ControlFlowExceptions.cannotInvertSuccess());
     }
 
     @Override
@@ -182,15 +268,68 @@ public final class Success<T> implements Try<T>, Serializable {
     }
 
     /**
-     * Creates a {@link Success} computation of the given {@code value}
+     * Creates a {@link Success} computation of the given {@code value}.  A shared instance is returned for
+     * {@code null}, {@link Boolean#TRUE}, {@link Boolean#FALSE}, {@link Optional#empty()} and the cached
+     * {@link Integer} instances from -128 to 127.
      * @param value the value of the computation
      * @param <T> the type of the value of the computation
      * @return the {@link Success}
      */
+    @SuppressWarnings("unchecked")
     public static <T> Success<T> of(T value) {
+        if (TryMetrics.ENABLED) {
+            TryMetrics.recordSuccess();
+        }
+        if (value == null) {
+            return (Success<T>) NULL;
+        }
+        if (value instanceof Integer) {
+            int index = (Integer) value - CACHE_LOW;
+            if (index >= 0 && index < INTEGERS.length && INTEGERS[index].value == value) {
+                return (Success<T>) INTEGERS[index];
+            }
+        } else if (value == Boolean.TRUE) {
+            return (Success<T>) TRUE;
+        } else if (value == Boolean.FALSE) {
+            return (Success<T>) FALSE;
+        } else if (value == EMPTY.value) {
+            return (Success<T>) EMPTY;
+        }
         return new Success<>(value);
     }
 
+    /**
+     * Returns the shared {@link Success} computation of {@code null}
+     * @param <T> the type of the value of the computation
+     * @return the {@link Success}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Success<T> ofNull() {
+        return (Success<T>) NULL;
+    }
+
+    /**
+     * Returns the {@link Success} computation of a deserialized {@code value}, which is canonicalized first
+     * so that the shared instances are restored
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Success<T> resolve(T value) {
+        if (value instanceof Boolean) {
+            return (Success<T>) of(Boolean.valueOf((Boolean) value));
+        } else if (value instanceof Integer) {
+            return (Success<T>) of(Integer.valueOf((Integer) value));
+        }
+        return of(value);
+    }
+
+    private Object writeReplace() {
+        return new SerializedTry(this);
+    }
+
+    private Object readResolve() {
+        return resolve(value);
+    }
+
     private static final class Matcher<T, R> implements TryMatcher<T, R> {
         private final Success<T> success;
         private Try<R> result;
@@ -0,0 +1,213 @@
+package com.halofour.functionally.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collector;
+
+/**
+ * {@link Collector}s which aggregate streams of {@link Try} computations in a single pass.
+ * <p>
+ * Each collector accumulates into a mutable container per thread and merges the containers of parallel streams
+ * by appending or adding into the left container, so that a parallel stream is collected in the same single pass
+ * as a sequential one.  The collectors which return lists preserve the encounter order of the stream.
+ */
+public final class Tries {
+    private Tries() { }
+
+    /**
+     * Returns a collector which partitions the computations into the values of the successful computations and
+     * the exceptions of the failed computations
+     * @param <T> the type of the values of the computations
+     * @return the collector
+     */
+    public static <T> Collector<Try<? extends T>, ?, Partition<T>> partitioning() {
+        return Collector.of(
+                Partition<T>::new,
+                Partition::add,
+                Partition::merge,
+                Partition::seal);
+    }
+
+    /**
+     * Returns a collector which collects the values of the successful computations, ignoring the failed computations
+     * @param <T> the type of the values of the computations
+     * @return the collector
+     */
+    public static <T> Collector<Try<? extends T>, ?, List<T>> successes() {
+        return Collector.<Try<? extends T>, List<T>, List<T>>of(
+                ArrayList::new,
+                (values, computation) -> {
+                    if (computation.isSuccess()) {
+                        values.add(computation.getUnchecked());
+                    }
+                },
+                Tries::append,
+                Collections::unmodifiableList);
+    }
+
+    /**
+     * Returns a collector which counts the failed computations by the class of their exception, ignoring the
+     * successful computations
+     * @return the collector
+     */
+    public static Collector<Try<?>, ?, Map<Class<? extends Throwable>, Long>> failureCountsByClass() {
+        return Collector.<Try<?>, Map<Class<? extends Throwable>, long[]>, Map<Class<? extends Throwable>, Long>>of(
+                HashMap::new,
+                (counts, computation) -> {
+                    if (!computation.isSuccess()) {
+                        counts.computeIfAbsent(computation.getException().get().getClass(), key -> new long[1])[0]++;
+                    }
+                },
+                (left, right) -> {
+                    for (Map.Entry<Class<? extends Throwable>, long[]> entry : right.entrySet()) {
+                        long[] count = left.putIfAbsent(entry.getKey(), entry.getValue());
+                        if (count != null) {
+                            count[0] += entry.getValue()[0];
+                        }
+                    }
+                    return left;
+                },
+                counts -> {
+                    Map<Class<? extends Throwable>, Long> result = new HashMap<>(counts.size() * 2);
+                    for (Map.Entry<Class<? extends Throwable>, long[]> entry : counts.entrySet()) {
+                        result.put(entry.getKey(), entry.getValue()[0]);
+                    }
+                    return Collections.unmodifiableMap(result);
+                },
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a collector which collects the values of the computations if all of them are successful; otherwise,
+     * returns the first failed computation in encounter order.  The values are discarded as soon as a failed
+     * computation is seen.
+     * @param <T> the type of the values of the computations
+     * @return the collector
+     */
+    public static <T> Collector<Try<? extends T>, ?, Try<List<T>>> firstFailureOrList() {
+        return Collector.of(
+                FirstFailure<T>::new,
+                FirstFailure::add,
+                FirstFailure::merge,
+                FirstFailure::result);
+    }
+
+    /**
+     * Returns a collector which reduces the values of the successful computations using the {@code operator},
+     * ignoring the failed computations
+     * @param identity the identity value of the reduction, returned if there are no successful computations
+     * @param operator the associative operator combining two values
+     * @param <T> the type of the values of the computations
+     * @return the collector
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Collector<Try<? extends T>, ?, T> reducing(T identity, BinaryOperator<T> operator) {
+        return Collector.<Try<? extends T>, Object[], T>of(
+                () -> new Object[] { identity },
+                (container, computation) -> {
+                    if (computation.isSuccess()) {
+                        container[0] = operator.apply((T) container[0], computation.getUnchecked());
+                    }
+                },
+                (left, right) -> {
+                    left[0] = operator.apply((T) left[0], (T) right[0]);
+                    return left;
+                },
+                container -> (T) container[0]);
+    }
+
+    private static <T> List<T> append(List<T> left, List<T> right) {
+        left.addAll(right);
+        return left;
+    }
+
+    /**
+     * The values of the successful computations and the exceptions of the failed computations of a stream
+     * @param <T> the type of the values of the computations
+     */
+    public static final class Partition<T> {
+        private List<T> values = new ArrayList<>();
+        private List<Throwable> exceptions = new ArrayList<>();
+
+        private Partition() { }
+
+        /**
+         * Returns the values of the successful computations in encounter order
+         * @return the values
+         */
+        public List<T> getValues() {
+            return values;
+        }
+
+        /**
+         * Returns the exceptions of the failed computations in encounter order
+         * @return the exceptions
+         */
+        public List<Throwable> getExceptions() {
+            return exceptions;
+        }
+
+        private void add(Try<? extends T> computation) {
+            if (computation.isSuccess()) {
+                values.add(computation.getUnchecked());
+            } else {
+                exceptions.add(computation.getException().get());
+            }
+        }
+
+        private Partition<T> merge(Partition<T> other) {
+            values.addAll(other.values);
+            exceptions.addAll(other.exceptions);
+            return this;
+        }
+
+        private Partition<T> seal() {
+            values = Collections.unmodifiableList(values);
+            exceptions = Collections.unmodifiableList(exceptions);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Partition[values=%s, exceptions=%s]", values, exceptions);
+        }
+    }
+
+    private static final class FirstFailure<T> {
+        private List<T> values = new ArrayList<>();
+        private Failure<?> failure;
+
+        void add(Try<? extends T> computation) {
+            if (failure != null) {
+                return;
+            }
+            if (computation.isSuccess()) {
+                values.add(computation.getUnchecked());
+            } else {
+                failure = Failure.failed(computation);
+                values = null;
+            }
+        }
+
+        FirstFailure<T> merge(FirstFailure<T> other) {
+            if (failure == null) {
+                if (other.failure != null) {
+                    return other;
+                }
+                values.addAll(other.values);
+            }
+            return this;
+        }
+
+        Try<List<T>> result() {
+            if (failure != null) {
+                return failure.coerce();
+            }
+            return Success.of(Collections.unmodifiableList(values));
+        }
+    }
+}
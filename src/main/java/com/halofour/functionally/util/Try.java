@@ -1,13 +1,27 @@
 package com.halofour.functionally.util;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import com.halofour.functionally.util.function.TryBiFunction;
 import com.halofour.functionally.util.function.TryFunction;
+import com.halofour.functionally.util.function.TryFunction3;
+import com.halofour.functionally.util.function.TryFunction4;
+import com.halofour.functionally.util.function.TryFunction5;
+import com.halofour.functionally.util.function.TryFunction6;
+import com.halofour.functionally.util.function.TryFunction7;
+import com.halofour.functionally.util.function.TryFunction8;
 import com.halofour.functionally.util.function.TrySupplier;
+import com.halofour.functionally.util.function.TryToDoubleFunction;
+import com.halofour.functionally.util.function.TryToIntFunction;
+import com.halofour.functionally.util.function.TryToLongFunction;
 
 /**
  * The {@link Try} type represents a computation that may either result
@@ -42,6 +56,19 @@ public interface Try<T> extends Serializable {
      */
     T get() throws Throwable;
 
+    /**
+     * Returns the value of the computation if successful; otherwise, throws the original exception without
+     * wrapping it, even if it is a checked exception
+     * @return the value of the computation
+     */
+    default T getUnchecked() {
+        try {
+            return get();
+        } catch (Throwable exception) {
+            throw Failure.sneakyThrow(exception);
+        }
+    }
+
     /**
      * Returns the exception of the computation if it failed; otherwise {@link Optional#empty()}
      * @return the exception of the failed computation
@@ -84,6 +111,108 @@ public interface Try<T> extends Serializable {
      */
     <R> Try<R> flatMap(TryFunction<? super T, Try<R>> function);
 
+    /**
+     * Maps the value of the computation to a {@code int} using the {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the value of the returned {@link TryInt}
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    default TryInt mapToInt(TryToIntFunction<? super T> function) {
+        Optional<Throwable> exception = getException();
+        if (exception.isPresent()) {
+            return TryInt.failure(exception.get());
+        }
+        try {
+            return TryInt.success(function.applyAsInt(get()));
+        } catch (Throwable functionException) {
+            return TryInt.failure(functionException);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to a {@code long} using the {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the value of the returned {@link TryLong}
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    default TryLong mapToLong(TryToLongFunction<? super T> function) {
+        Optional<Throwable> exception = getException();
+        if (exception.isPresent()) {
+            return TryLong.failure(exception.get());
+        }
+        try {
+            return TryLong.success(function.applyAsLong(get()));
+        } catch (Throwable functionException) {
+            return TryLong.failure(functionException);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to a {@code double} using the {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the value of the returned {@link TryDouble}
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    default TryDouble mapToDouble(TryToDoubleFunction<? super T> function) {
+        Optional<Throwable> exception = getException();
+        if (exception.isPresent()) {
+            return TryDouble.failure(exception.get());
+        }
+        try {
+            return TryDouble.success(function.applyAsDouble(get()));
+        } catch (Throwable functionException) {
+            return TryDouble.failure(functionException);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the returned {@link TryInt}
+     * @return the return value from {@code function}
+     */
+    default TryInt flatMapToInt(TryFunction<? super T, TryInt> function) {
+        Optional<Throwable> exception = getException();
+        if (exception.isPresent()) {
+            return TryInt.failure(exception.get());
+        }
+        try {
+            return function.apply(get());
+        } catch (Throwable functionException) {
+            return TryInt.failure(functionException);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the returned {@link TryLong}
+     * @return the return value from {@code function}
+     */
+    default TryLong flatMapToLong(TryFunction<? super T, TryLong> function) {
+        Optional<Throwable> exception = getException();
+        if (exception.isPresent()) {
+            return TryLong.failure(exception.get());
+        }
+        try {
+            return function.apply(get());
+        } catch (Throwable functionException) {
+            return TryLong.failure(functionException);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the returned {@link TryDouble}
+     * @return the return value from {@code function}
+     */
+    default TryDouble flatMapToDouble(TryFunction<? super T, TryDouble> function) {
+        Optional<Throwable> exception = getException();
+        if (exception.isPresent()) {
+            return TryDouble.failure(exception.get());
+        }
+        try {
+            return function.apply(get());
+        } catch (Throwable functionException) {
+            return TryDouble.failure(functionException);
+        }
+    }
+
     /**
      * Maps the values of both computations using the {@code function} if both are successful; otherwise returns the failed computation
      * @param other the other computation
@@ -144,6 +273,17 @@ public interface Try<T> extends Serializable {
      */
     <E extends Throwable> Try<T> recoverWith(Class<E> exceptionClass, TryFunction<? super E, Try<T>> function);
 
+    /**
+     * Applies the function registered in the {@code table} for the most specific class of the exception if the
+     * computation has failed; otherwise, returns {@code this}
+     * @param table the recovery functions indexed by exception class
+     * @return the recovered computation, or {@code this} if no function is registered for the exception
+     */
+    default Try<T> recoverAll(RecoveryTable<T> table) {
+        Optional<Throwable> exception = getException();
+        return exception.isPresent() ? table.recover(this, exception.get()) : this;
+    }
+
     /**
      * Applies the function {@code onSuccess} if the computation was successful; otherwise, applies the function {@code onFailure}
      * @param onFailure the function to apply to the exception of the failed computation
@@ -197,6 +337,14 @@ public interface Try<T> extends Serializable {
         return Success.of(value);
     }
 
+    /**
+     * Returns the shared {@link Success} computation of no value, for computations run only for their effect
+     * @return the successful computation
+     */
+    static Success<Void> unit() {
+        return Success.ofNull();
+    }
+
     /**
      * Returns a {@link Failure} computation for the given {@link Throwable}
      * @param exception the exception
@@ -207,6 +355,17 @@ public interface Try<T> extends Serializable {
         return Failure.of(exception);
     }
 
+    /**
+     * Returns a {@link Failure} computation of a {@link StacklessException} with the given {@code message}, which
+     * is cheap to create as no stack trace is captured
+     * @param message the detail message of the exception
+     * @param <T> the type of the value of the computation
+     * @return the failed computation
+     */
+    static <T> Failure<T> failureNoStack(String message) {
+        return Failure.of(new StacklessException(message));
+    }
+
     /**
      * Returns a {@link Failure} computation for the given {@link Throwable}
      * @param valueClass the class of the value of the computation, used for generic inference
@@ -231,4 +390,420 @@ public interface Try<T> extends Serializable {
             return Failure.of(exception);
         }
     }
+
+    /**
+     * Returns the successful computation of the values of the {@code computations}, in order, if all of them are
+     * successful; otherwise, returns the first failed computation without examining the rest
+     * @param computations the computations
+     * @param <T> the type of the values of the computations
+     * @return the computation of the list of values
+     */
+    static <T> Try<List<T>> sequence(Iterable<? extends Try<? extends T>> computations) {
+        List<T> values = computations instanceof Collection
+                ? new ArrayList<>(((Collection<?>) computations).size())
+                : new ArrayList<>();
+        for (Try<? extends T> computation : computations) {
+            if (!computation.isSuccess()) {
+                return Failure.failed(computation);
+            }
+            values.add(computation.getUnchecked());
+        }
+        return Success.of(Collections.unmodifiableList(values));
+    }
+
+    /**
+     * Applies the {@code function} to each of the {@code inputs}, in order, returning the successful computation of
+     * the results if the function succeeds for all of them; otherwise, returns the failed computation of the first
+     * exception thrown without applying the function to the rest
+     * @param inputs the inputs
+     * @param function the function to apply to each input
+     * @param <A> the type of the inputs
+     * @param <B> the type of the results
+     * @return the computation of the list of results
+     */
+    static <A, B> Try<List<B>> traverse(Iterable<? extends A> inputs, TryFunction<? super A, ? extends B> function) {
+        List<B> results = inputs instanceof Collection
+                ? new ArrayList<>(((Collection<?>) inputs).size())
+                : new ArrayList<>();
+        try {
+            for (A input : inputs) {
+                results.add(function.apply(input));
+            }
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+        return Success.of(Collections.unmodifiableList(results));
+    }
+
+    /**
+     * Applies the {@code function} to each of the {@code inputs} in parallel on the common {@link ForkJoinPool},
+     * returning the successful computation of the results in the order of the inputs if the function succeeds for
+     * all of them; otherwise, returns the failed computation of the first exception thrown.  Once the function has
+     * thrown it is not applied to any more of the inputs.
+     * @param inputs the inputs
+     * @param function the function to apply to each input
+     * @param <A> the type of the inputs
+     * @param <B> the type of the results
+     * @return the computation of the list of results
+     */
+    static <A, B> Try<List<B>> traverseParallel(List<? extends A> inputs, TryFunction<? super A, ? extends B> function) {
+        return ParallelTraversal.traverse(inputs, function, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Applies the {@code function} to each of the {@code inputs} in parallel on the {@code pool}, returning the
+     * successful computation of the results in the order of the inputs if the function succeeds for all of them;
+     * otherwise, returns the failed computation of the first exception thrown.  Once the function has thrown it is
+     * not applied to any more of the inputs.
+     * @param inputs the inputs
+     * @param function the function to apply to each input
+     * @param pool the pool on which the function is applied
+     * @param <A> the type of the inputs
+     * @param <B> the type of the results
+     * @return the computation of the list of results
+     */
+    static <A, B> Try<List<B>> traverseParallel(List<? extends A> inputs, TryFunction<? super A, ? extends B> function,
+                                                ForkJoinPool pool) {
+        return ParallelTraversal.traverse(inputs, function, pool);
+    }
+
+    /**
+     * Applies the {@code function} to each of the {@code inputs} in parallel on the {@code pool}, returning the
+     * successful computation of the results in the order of the inputs if the function succeeds for all of them;
+     * otherwise, returns the failed computation of the first exception thrown.  Once the function has thrown it is
+     * not applied to any more of the inputs.
+     * @param inputs the inputs
+     * @param function the function to apply to each input
+     * @param pool the pool on which the function is applied
+     * @param threshold the largest number of inputs a single task applies the function to without splitting
+     * @param <A> the type of the inputs
+     * @param <B> the type of the results
+     * @return the computation of the list of results
+     */
+    static <A, B> Try<List<B>> traverseParallel(List<? extends A> inputs, TryFunction<? super A, ? extends B> function,
+                                                ForkJoinPool pool, int threshold) {
+        return ParallelTraversal.traverse(inputs, function, pool, threshold);
+    }
+
+    /**
+     * Maps the values of the two computations using the {@code function} if all are successful; otherwise,
+     * returns the first failed computation
+     * @param t1 the first computation
+     * @param t2 the second computation
+     * @param function the function to compute the value of the returned {@link Try}
+     * @param <T1> the type of the first computation
+     * @param <T2> the type of the second computation
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the values of the computations
+     */
+    static <T1, T2, R> Try<R> combine(Try<T1> t1, Try<T2> t2,
+            TryBiFunction<? super T1, ? super T2, ? extends R> function) {
+        if (!t1.isSuccess()) {
+            return Failure.failed(t1);
+        }
+        if (!t2.isSuccess()) {
+            return Failure.failed(t2);
+        }
+        try {
+            return Success.of(function.apply(
+                    t1.getUnchecked(),
+                    t2.getUnchecked()));
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
+
+    /**
+     * Maps the values of the three computations using the {@code function} if all are successful; otherwise,
+     * returns the first failed computation
+     * @param t1 the first computation
+     * @param t2 the second computation
+     * @param t3 the third computation
+     * @param function the function to compute the value of the returned {@link Try}
+     * @param <T1> the type of the first computation
+     * @param <T2> the type of the second computation
+     * @param <T3> the type of the third computation
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the values of the computations
+     */
+    static <T1, T2, T3, R> Try<R> combine(Try<T1> t1, Try<T2> t2, Try<T3> t3,
+            TryFunction3<? super T1, ? super T2, ? super T3, ? extends R> function) {
+        if (!t1.isSuccess()) {
+            return Failure.failed(t1);
+        }
+        if (!t2.isSuccess()) {
+            return Failure.failed(t2);
+        }
+        if (!t3.isSuccess()) {
+            return Failure.failed(t3);
+        }
+        try {
+            return Success.of(function.apply(
+                    t1.getUnchecked(),
+                    t2.getUnchecked(),
+                    t3.getUnchecked()));
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
+
+    /**
+     * Maps the values of the four computations using the {@code function} if all are successful; otherwise,
+     * returns the first failed computation
+     * @param t1 the first computation
+     * @param t2 the second computation
+     * @param t3 the third computation
+     * @param t4 the fourth computation
+     * @param function the function to compute the value of the returned {@link Try}
+     * @param <T1> the type of the first computation
+     * @param <T2> the type of the second computation
+     * @param <T3> the type of the third computation
+     * @param <T4> the type of the fourth computation
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the values of the computations
+     */
+    static <T1, T2, T3, T4, R> Try<R> combine(Try<T1> t1, Try<T2> t2, Try<T3> t3, Try<T4> t4,
+            TryFunction4<? super T1, ? super T2, ? super T3, ? super T4, ? extends R> function) {
+        if (!t1.isSuccess()) {
+            return Failure.failed(t1);
+        }
+        if (!t2.isSuccess()) {
+            return Failure.failed(t2);
+        }
+        if (!t3.isSuccess()) {
+            return Failure.failed(t3);
+        }
+        if (!t4.isSuccess()) {
+            return Failure.failed(t4);
+        }
+        try {
+            return Success.of(function.apply(
+                    t1.getUnchecked(),
+                    t2.getUnchecked(),
+                    t3.getUnchecked(),
+                    t4.getUnchecked()));
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
+
+    /**
+     * Maps the values of the five computations using the {@code function} if all are successful; otherwise,
+     * returns the first failed computation
+     * @param t1 the first computation
+     * @param t2 the second computation
+     * @param t3 the third computation
+     * @param t4 the fourth computation
+     * @param t5 the fifth computation
+     * @param function the function to compute the value of the returned {@link Try}
+     * @param <T1> the type of the first computation
+     * @param <T2> the type of the second computation
+     * @param <T3> the type of the third computation
+     * @param <T4> the type of the fourth computation
+     * @param <T5> the type of the fifth computation
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the values of the computations
+     */
+    static <T1, T2, T3, T4, T5, R> Try<R> combine(Try<T1> t1, Try<T2> t2, Try<T3> t3, Try<T4> t4, Try<T5> t5,
+            TryFunction5<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? extends R> function) {
+        if (!t1.isSuccess()) {
+            return Failure.failed(t1);
+        }
+        if (!t2.isSuccess()) {
+            return Failure.failed(t2);
+        }
+        if (!t3.isSuccess()) {
+            return Failure.failed(t3);
+        }
+        if (!t4.isSuccess()) {
+            return Failure.failed(t4);
+        }
+        if (!t5.isSuccess()) {
+            return Failure.failed(t5);
+        }
+        try {
+            return Success.of(function.apply(
+                    t1.getUnchecked(),
+                    t2.getUnchecked(),
+                    t3.getUnchecked(),
+                    t4.getUnchecked(),
+                    t5.getUnchecked()));
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
+
+    /**
+     * Maps the values of the six computations using the {@code function} if all are successful; otherwise,
+     * returns the first failed computation
+     * @param t1 the first computation
+     * @param t2 the second computation
+     * @param t3 the third computation
+     * @param t4 the fourth computation
+     * @param t5 the fifth computation
+     * @param t6 the sixth computation
+     * @param function the function to compute the value of the returned {@link Try}
+     * @param <T1> the type of the first computation
+     * @param <T2> the type of the second computation
+     * @param <T3> the type of the third computation
+     * @param <T4> the type of the fourth computation
+     * @param <T5> the type of the fifth computation
+     * @param <T6> the type of the sixth computation
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the values of the computations
+     */
+    static <T1, T2, T3, T4, T5, T6, R> Try<R> combine(Try<T1> t1, Try<T2> t2, Try<T3> t3, Try<T4> t4, Try<T5> t5, Try<T6> t6,
+            TryFunction6<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? extends R> function) {
+        if (!t1.isSuccess()) {
+            return Failure.failed(t1);
+        }
+        if (!t2.isSuccess()) {
+            return Failure.failed(t2);
+        }
+        if (!t3.isSuccess()) {
+            return Failure.failed(t3);
+        }
+        if (!t4.isSuccess()) {
+            return Failure.failed(t4);
+        }
+        if (!t5.isSuccess()) {
+            return Failure.failed(t5);
+        }
+        if (!t6.isSuccess()) {
+            return Failure.failed(t6);
+        }
+        try {
+            return Success.of(function.apply(
+                    t1.getUnchecked(),
+                    t2.getUnchecked(),
+                    t3.getUnchecked(),
+                    t4.getUnchecked(),
+                    t5.getUnchecked(),
+                    t6.getUnchecked()));
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
+
+    /**
+     * Maps the values of the seven computations using the {@code function} if all are successful; otherwise,
+     * returns the first failed computation
+     * @param t1 the first computation
+     * @param t2 the second computation
+     * @param t3 the third computation
+     * @param t4 the fourth computation
+     * @param t5 the fifth computation
+     * @param t6 the sixth computation
+     * @param t7 the seventh computation
+     * @param function the function to compute the value of the returned {@link Try}
+     * @param <T1> the type of the first computation
+     * @param <T2> the type of the second computation
+     * @param <T3> the type of the third computation
+     * @param <T4> the type of the fourth computation
+     * @param <T5> the type of the fifth computation
+     * @param <T6> the type of the sixth computation
+     * @param <T7> the type of the seventh computation
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the values of the computations
+     */
+    static <T1, T2, T3, T4, T5, T6, T7, R> Try<R> combine(Try<T1> t1, Try<T2> t2, Try<T3> t3, Try<T4> t4, Try<T5> t5, Try<T6> t6, Try<T7> t7,
+            TryFunction7<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? extends R> function) {
+        if (!t1.isSuccess()) {
+            return Failure.failed(t1);
+        }
+        if (!t2.isSuccess()) {
+            return Failure.failed(t2);
+        }
+        if (!t3.isSuccess()) {
+            return Failure.failed(t3);
+        }
+        if (!t4.isSuccess()) {
+            return Failure.failed(t4);
+        }
+        if (!t5.isSuccess()) {
+            return Failure.failed(t5);
+        }
+        if (!t6.isSuccess()) {
+            return Failure.failed(t6);
+        }
+        if (!t7.isSuccess()) {
+            return Failure.failed(t7);
+        }
+        try {
+            return Success.of(function.apply(
+                    t1.getUnchecked(),
+                    t2.getUnchecked(),
+                    t3.getUnchecked(),
+                    t4.getUnchecked(),
+                    t5.getUnchecked(),
+                    t6.getUnchecked(),
+                    t7.getUnchecked()));
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
+
+    /**
+     * Maps the values of the eight computations using the {@code function} if all are successful; otherwise,
+     * returns the first failed computation
+     * @param t1 the first computation
+     * @param t2 the second computation
+     * @param t3 the third computation
+     * @param t4 the fourth computation
+     * @param t5 the fifth computation
+     * @param t6 the sixth computation
+     * @param t7 the seventh computation
+     * @param t8 the eighth computation
+     * @param function the function to compute the value of the returned {@link Try}
+     * @param <T1> the type of the first computation
+     * @param <T2> the type of the second computation
+     * @param <T3> the type of the third computation
+     * @param <T4> the type of the fourth computation
+     * @param <T5> the type of the fifth computation
+     * @param <T6> the type of the sixth computation
+     * @param <T7> the type of the seventh computation
+     * @param <T8> the type of the eighth computation
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the values of the computations
+     */
+    static <T1, T2, T3, T4, T5, T6, T7, T8, R> Try<R> combine(Try<T1> t1, Try<T2> t2, Try<T3> t3, Try<T4> t4, Try<T5> t5, Try<T6> t6, Try<T7> t7, Try<T8> t8,
+            TryFunction8<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? extends R> function) {
+        if (!t1.isSuccess()) {
+            return Failure.failed(t1);
+        }
+        if (!t2.isSuccess()) {
+            return Failure.failed(t2);
+        }
+        if (!t3.isSuccess()) {
+            return Failure.failed(t3);
+        }
+        if (!t4.isSuccess()) {
+            return Failure.failed(t4);
+        }
+        if (!t5.isSuccess()) {
+            return Failure.failed(t5);
+        }
+        if (!t6.isSuccess()) {
+            return Failure.failed(t6);
+        }
+        if (!t7.isSuccess()) {
+            return Failure.failed(t7);
+        }
+        if (!t8.isSuccess()) {
+            return Failure.failed(t8);
+        }
+        try {
+            return Success.of(function.apply(
+                    t1.getUnchecked(),
+                    t2.getUnchecked(),
+                    t3.getUnchecked(),
+                    t4.getUnchecked(),
+                    t5.getUnchecked(),
+                    t6.getUnchecked(),
+                    t7.getUnchecked(),
+                    t8.getUnchecked()));
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
 }
@@ -0,0 +1,607 @@
+package com.halofour.functionally.util;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Encodes {@link Try} computations directly into a {@link ByteBuffer}, heap or direct, and decodes them back,
+ * without any intermediate byte arrays.
+ * <p>
+ * Each computation is encoded as a tag byte followed by either its value, written by the {@link ValueCodec}, or
+ * a compact descriptor of its exception: the class name, the message and at most {@link #withStackFrames(int)}
+ * stack frames.  Strings are written as their UTF-8 length followed by their UTF-8 bytes, and a {@code null}
+ * value is encoded by its tag alone.  When decoded the exception is recreated through its constructor accepting
+ * a message, or as a {@link CompactException} if the class is not available or has no such constructor.
+ * <p>
+ * The {@link TryInt}, {@link TryLong} and {@link TryDouble} overloads encode their values without boxing.
+ * All methods use and advance the position of the buffer, and throw {@link BufferOverflowException} if the
+ * buffer has too little space remaining; {@link #encodedSize(Try)} returns the exact space needed.
+ * A {@link TryCodec} is immutable and safe to share between threads.
+ * @param <T> the type of the values of the computations
+ */
+public final class TryCodec<T> {
+    private static final byte SUCCESS = 0;
+    private static final byte SUCCESS_NULL = 1;
+    private static final byte FAILURE = 2;
+
+    private static final int NULL_LENGTH = -1;
+    /**
+     * The fewest bytes a stack frame is encoded in, as the lengths of its three strings and its line number
+     */
+    private static final int MIN_FRAME_BYTES = 4 * Integer.BYTES;
+
+    private final ValueCodec<T> valueCodec;
+    private final int maxFrames;
+
+    private TryCodec(ValueCodec<T> valueCodec, int maxFrames) {
+        this.valueCodec = valueCodec;
+        this.maxFrames = maxFrames;
+    }
+
+    /**
+     * Creates a {@link TryCodec} which encodes the values of successful computations with the {@code valueCodec}
+     * and the exceptions of failed computations without their stack frames
+     * @param valueCodec the codec of the values
+     * @param <T> the type of the values
+     * @return the codec
+     */
+    public static <T> TryCodec<T> of(ValueCodec<T> valueCodec) {
+        Objects.requireNonNull(valueCodec, "valueCodec must not be null.");
+        return new TryCodec<>(valueCodec, 0);
+    }
+
+    /**
+     * Returns a {@link TryCodec} which encodes at most {@code maxFrames} of the stack frames of each exception
+     * @param maxFrames the maximum number of stack frames to encode, which may be zero
+     * @return the codec
+     */
+    public TryCodec<T> withStackFrames(int maxFrames) {
+        if (maxFrames < 0) {
+            throw new IllegalArgumentException("maxFrames must not be negative.");
+        }
+        return maxFrames == this.maxFrames ? this : new TryCodec<>(valueCodec, maxFrames);
+    }
+
+    /**
+     * Returns the number of bytes needed to encode the {@code computation}
+     * @param computation the computation
+     * @return the encoded size in bytes
+     */
+    public int encodedSize(Try<? extends T> computation) {
+        if (computation.isFailure()) {
+            return 1 + failureSize(computation.getException().get());
+        }
+        T value = computation.getUnchecked();
+        return value == null ? 1 : 1 + valueCodec.encodedSize(value);
+    }
+
+    /**
+     * Encodes the {@code computation} into the {@code buffer}
+     * @param computation the computation
+     * @param buffer the buffer
+     * @return the {@code buffer}
+     */
+    public ByteBuffer encode(Try<? extends T> computation, ByteBuffer buffer) {
+        if (computation.isFailure()) {
+            buffer.put(FAILURE);
+            putFailure(buffer, computation.getException().get());
+            return buffer;
+        }
+        T value = computation.getUnchecked();
+        if (value == null) {
+            buffer.put(SUCCESS_NULL);
+        } else {
+            buffer.put(SUCCESS);
+            valueCodec.encode(value, buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Decodes a computation from the {@code buffer}
+     * @param buffer the buffer
+     * @return the computation
+     * @throws IllegalArgumentException if the buffer does not contain an encoded computation
+     */
+    public Try<T> decode(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case SUCCESS:
+                return Success.of(valueCodec.decode(buffer));
+            case SUCCESS_NULL:
+                return Success.ofNull();
+            case FAILURE:
+                return Failure.of(getFailure(buffer));
+            default:
+                throw unknownTag(tag);
+        }
+    }
+
+    /**
+     * Encodes the {@code computations} into the {@code buffer}, preceded by their count
+     * @param computations the computations
+     * @param buffer the buffer
+     * @return the {@code buffer}
+     */
+    public ByteBuffer encodeAll(Iterable<? extends Try<? extends T>> computations, ByteBuffer buffer) {
+        int countPosition = buffer.position();
+        buffer.putInt(0);
+        int count = 0;
+        for (Try<? extends T> computation : computations) {
+            encode(computation, buffer);
+            count++;
+        }
+        buffer.putInt(countPosition, count);
+        return buffer;
+    }
+
+    /**
+     * Returns the computations encoded into the {@code buffer} by {@link #encodeAll(Iterable, ByteBuffer)}.
+     * The computations are decoded lazily, one at a time as they are iterated, from a slice of the buffer taken
+     * at its current position; the position of the {@code buffer} itself is not changed.  Each iterator reads the
+     * slice independently.
+     * @param buffer the buffer
+     * @return the computations
+     */
+    public Iterable<Try<T>> decodeAll(ByteBuffer buffer) {
+        ByteBuffer slice = buffer.slice().order(buffer.order());
+        int count = slice.getInt(0);
+        return () -> new Decoder(slice, count);
+    }
+
+    /**
+     * Returns the number of bytes needed to encode the {@code computation}
+     * @param computation the computation
+     * @return the encoded size in bytes
+     */
+    public int encodedSize(TryInt computation) {
+        return computation.isSuccess() ? 1 + Integer.BYTES : 1 + failureSize(computation.getException().get());
+    }
+
+    /**
+     * Encodes the {@code computation} into the {@code buffer} without boxing its value
+     * @param computation the computation
+     * @param buffer the buffer
+     * @return the {@code buffer}
+     */
+    public ByteBuffer encode(TryInt computation, ByteBuffer buffer) {
+        if (computation.isSuccess()) {
+            return buffer.put(SUCCESS).putInt(computation.getOrElse(0));
+        }
+        buffer.put(FAILURE);
+        putFailure(buffer, computation.getException().get());
+        return buffer;
+    }
+
+    /**
+     * Decodes a {@link TryInt} computation from the {@code buffer} without boxing its value
+     * @param buffer the buffer
+     * @return the computation
+     * @throws IllegalArgumentException if the buffer does not contain an encoded {@code int} computation
+     */
+    public TryInt decodeInt(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case SUCCESS:
+                return TryInt.success(buffer.getInt());
+            case FAILURE:
+                return TryInt.failure(getFailure(buffer));
+            default:
+                throw unknownTag(tag);
+        }
+    }
+
+    /**
+     * Returns the number of bytes needed to encode the {@code computation}
+     * @param computation the computation
+     * @return the encoded size in bytes
+     */
+    public int encodedSize(TryLong computation) {
+        return computation.isSuccess() ? 1 + Long.BYTES : 1 + failureSize(computation.getException().get());
+    }
+
+    /**
+     * Encodes the {@code computation} into the {@code buffer} without boxing its value
+     * @param computation the computation
+     * @param buffer the buffer
+     * @return the {@code buffer}
+     */
+    public ByteBuffer encode(TryLong computation, ByteBuffer buffer) {
+        if (computation.isSuccess()) {
+            return buffer.put(SUCCESS).putLong(computation.getOrElse(0L));
+        }
+        buffer.put(FAILURE);
+        putFailure(buffer, computation.getException().get());
+        return buffer;
+    }
+
+    /**
+     * Decodes a {@link TryLong} computation from the {@code buffer} without boxing its value
+     * @param buffer the buffer
+     * @return the computation
+     * @throws IllegalArgumentException if the buffer does not contain an encoded {@code long} computation
+     */
+    public TryLong decodeLong(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case SUCCESS:
+                return TryLong.success(buffer.getLong());
+            case FAILURE:
+                return TryLong.failure(getFailure(buffer));
+            default:
+                throw unknownTag(tag);
+        }
+    }
+
+    /**
+     * Returns the number of bytes needed to encode the {@code computation}
+     * @param computation the computation
+     * @return the encoded size in bytes
+     */
+    public int encodedSize(TryDouble computation) {
+        return computation.isSuccess() ? 1 + Double.BYTES : 1 + failureSize(computation.getException().get());
+    }
+
+    /**
+     * Encodes the {@code computation} into the {@code buffer} without boxing its value
+     * @param computation the computation
+     * @param buffer the buffer
+     * @return the {@code buffer}
+     */
+    public ByteBuffer encode(TryDouble computation, ByteBuffer buffer) {
+        if (computation.isSuccess()) {
+            return buffer.put(SUCCESS).putDouble(computation.getOrElse(0.0));
+        }
+        buffer.put(FAILURE);
+        putFailure(buffer, computation.getException().get());
+        return buffer;
+    }
+
+    /**
+     * Decodes a {@link TryDouble} computation from the {@code buffer} without boxing its value
+     * @param buffer the buffer
+     * @return the computation
+     * @throws IllegalArgumentException if the buffer does not contain an encoded {@code double} computation
+     */
+    public TryDouble decodeDouble(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case SUCCESS:
+                return TryDouble.success(buffer.getDouble());
+            case FAILURE:
+                return TryDouble.failure(getFailure(buffer));
+            default:
+                throw unknownTag(tag);
+        }
+    }
+
+    private int failureSize(Throwable exception) {
+        int size = stringSize(exception.getClass().getName()) + stringSize(exception.getMessage()) + Integer.BYTES;
+        StackTraceElement[] stackTrace = maxFrames > 0 ? exception.getStackTrace() : null;
+        int frames = stackTrace != null ? Math.min(maxFrames, stackTrace.length) : 0;
+        for (int i = 0; i < frames; i++) {
+            StackTraceElement frame = stackTrace[i];
+            size += stringSize(frame.getClassName()) + stringSize(frame.getMethodName())
+                    + stringSize(frame.getFileName()) + Integer.BYTES;
+        }
+        return size;
+    }
+
+    private void putFailure(ByteBuffer buffer, Throwable exception) {
+        putString(buffer, exception.getClass().getName());
+        putString(buffer, exception.getMessage());
+        StackTraceElement[] stackTrace = maxFrames > 0 ? exception.getStackTrace() : null;
+        int frames = stackTrace != null ? Math.min(maxFrames, stackTrace.length) : 0;
+        buffer.putInt(frames);
+        for (int i = 0; i < frames; i++) {
+            StackTraceElement frame = stackTrace[i];
+            putString(buffer, frame.getClassName());
+            putString(buffer, frame.getMethodName());
+            putString(buffer, frame.getFileName());
+            buffer.putInt(frame.getLineNumber());
+        }
+    }
+
+    private static Throwable getFailure(ByteBuffer buffer) {
+        String className = getString(buffer);
+        String message = getString(buffer);
+        int frames = buffer.getInt();
+        if (className == null || frames < 0 || frames > buffer.remaining() / MIN_FRAME_BYTES) {
+            throw new IllegalArgumentException("Malformed failure descriptor.");
+        }
+        StackTraceElement[] stackTrace = new StackTraceElement[frames];
+        for (int i = 0; i < frames; i++) {
+            stackTrace[i] = new StackTraceElement(getString(buffer), getString(buffer), getString(buffer), buffer.getInt());
+        }
+        Throwable exception = SerializedTry.instantiate(className, message);
+        exception.setStackTrace(stackTrace);
+        return exception;
+    }
+
+    private static IllegalArgumentException unknownTag(byte tag) {
+        return new IllegalArgumentException("Unknown encoded Try tag: " + tag);
+    }
+
+    /**
+     * Returns the number of bytes needed to encode the {@code value} with {@link #putString(ByteBuffer, String)}
+     * @param value the string, which may be {@code null}
+     * @return the encoded size in bytes
+     */
+    static int stringSize(String value) {
+        return value == null ? Integer.BYTES : Integer.BYTES + utf8Length(value);
+    }
+
+    /**
+     * Writes the {@code value} as its UTF-8 length followed by its UTF-8 bytes, or a length of {@code -1} if it is
+     * {@code null}.  Unpaired surrogates are written as three bytes each, so that every string is read back intact.
+     * @param buffer the buffer
+     * @param value the string, which may be {@code null}
+     */
+    static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        int length = value.length();
+        buffer.putInt(utf8Length(value));
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xc0 | c >> 6))
+                        .put((byte) (0x80 | c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xf0 | codePoint >> 18))
+                        .put((byte) (0x80 | codePoint >> 12 & 0x3f))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3f))
+                        .put((byte) (0x80 | codePoint & 0x3f));
+            } else {
+                buffer.put((byte) (0xe0 | c >> 12))
+                        .put((byte) (0x80 | c >> 6 & 0x3f))
+                        .put((byte) (0x80 | c & 0x3f));
+            }
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #putString(ByteBuffer, String)}
+     * @param buffer the buffer
+     * @return the string, which may be {@code null}
+     * @throws IllegalArgumentException if the length or the UTF-8 bytes of the string run past the buffer
+     */
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw malformedString();
+        }
+        char[] chars = new char[length];
+        int count = 0;
+        int end = buffer.position() + length;
+        while (buffer.position() < end) {
+            int b = buffer.get() & 0xff;
+            int trailing = b < 0x80 ? 0 : b < 0xe0 ? 1 : b < 0xf0 ? 2 : 3;
+            if (trailing > end - buffer.position()) {
+                throw malformedString();
+            }
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if (b < 0xe0) {
+                chars[count++] = (char) ((b & 0x1f) << 6 | buffer.get() & 0x3f);
+            } else if (b < 0xf0) {
+                chars[count++] = (char) ((b & 0x0f) << 12 | (buffer.get() & 0x3f) << 6 | buffer.get() & 0x3f);
+            } else {
+                int codePoint = (b & 0x07) << 18 | (buffer.get() & 0x3f) << 12 | (buffer.get() & 0x3f) << 6 | buffer.get() & 0x3f;
+                count += Character.toChars(codePoint, chars, count);
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private static IllegalArgumentException malformedString() {
+        return new IllegalArgumentException("Malformed encoded string.");
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int size = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                }
+                size += 2;
+            } else if (c >= 0x80) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Encodes and decodes the values of successful computations.  The value is never {@code null}.
+     * @param <T> the type of the values
+     */
+    public interface ValueCodec<T> {
+        /**
+         * Returns the number of bytes needed to encode the {@code value}
+         * @param value the value
+         * @return the encoded size in bytes
+         */
+        int encodedSize(T value);
+
+        /**
+         * Encodes the {@code value} at the position of the {@code buffer}, advancing it
+         * @param value the value
+         * @param buffer the buffer
+         */
+        void encode(T value, ByteBuffer buffer);
+
+        /**
+         * Decodes a value from the position of the {@code buffer}, advancing it
+         * @param buffer the buffer
+         * @return the value
+         */
+        T decode(ByteBuffer buffer);
+
+        /**
+         * Returns the codec of {@link Integer} values, written as four bytes
+         * @return the codec
+         */
+        static ValueCodec<Integer> ints() {
+            return ValueCodecs.INTS;
+        }
+
+        /**
+         * Returns the codec of {@link Long} values, written as eight bytes
+         * @return the codec
+         */
+        static ValueCodec<Long> longs() {
+            return ValueCodecs.LONGS;
+        }
+
+        /**
+         * Returns the codec of {@link Double} values, written as eight bytes
+         * @return the codec
+         */
+        static ValueCodec<Double> doubles() {
+            return ValueCodecs.DOUBLES;
+        }
+
+        /**
+         * Returns the codec of {@link Boolean} values, written as one byte
+         * @return the codec
+         */
+        static ValueCodec<Boolean> booleans() {
+            return ValueCodecs.BOOLEANS;
+        }
+
+        /**
+         * Returns the codec of {@link String} values, written as their UTF-8 length followed by their UTF-8 bytes
+         * @return the codec
+         */
+        static ValueCodec<String> strings() {
+            return ValueCodecs.STRINGS;
+        }
+    }
+
+    private static final class ValueCodecs {
+        static final ValueCodec<Integer> INTS = new ValueCodec<Integer>() {
+            @Override
+            public int encodedSize(Integer value) {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void encode(Integer value, ByteBuffer buffer) {
+                buffer.putInt(value);
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+
+        static final ValueCodec<Long> LONGS = new ValueCodec<Long>() {
+            @Override
+            public int encodedSize(Long value) {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void encode(Long value, ByteBuffer buffer) {
+                buffer.putLong(value);
+            }
+
+            @Override
+            public Long decode(ByteBuffer buffer) {
+                return buffer.getLong();
+            }
+        };
+
+        static final ValueCodec<Double> DOUBLES = new ValueCodec<Double>() {
+            @Override
+            public int encodedSize(Double value) {
+                return Double.BYTES;
+            }
+
+            @Override
+            public void encode(Double value, ByteBuffer buffer) {
+                buffer.putDouble(value);
+            }
+
+            @Override
+            public Double decode(ByteBuffer buffer) {
+                return buffer.getDouble();
+            }
+        };
+
+        static final ValueCodec<Boolean> BOOLEANS = new ValueCodec<Boolean>() {
+            @Override
+            public int encodedSize(Boolean value) {
+                return 1;
+            }
+
+            @Override
+            public void encode(Boolean value, ByteBuffer buffer) {
+                buffer.put(value ? (byte) 1 : (byte) 0);
+            }
+
+            @Override
+            public Boolean decode(ByteBuffer buffer) {
+                return buffer.get() != 0;
+            }
+        };
+
+        static final ValueCodec<String> STRINGS = new ValueCodec<String>() {
+            @Override
+            public int encodedSize(String value) {
+                return stringSize(value);
+            }
+
+            @Override
+            public void encode(String value, ByteBuffer buffer) {
+                putString(buffer, value);
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer) {
+                return getString(buffer);
+            }
+        };
+    }
+
+    private final class Decoder implements Iterator<Try<T>> {
+        private final ByteBuffer buffer;
+        private int remaining;
+
+        Decoder(ByteBuffer slice, int count) {
+            this.buffer = slice.duplicate().order(slice.order());
+            this.buffer.position(Integer.BYTES);
+            this.remaining = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Try<T> next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            return decode(buffer);
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.halofour.functionally.util;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+
+import com.halofour.functionally.util.function.TryDoubleFunction;
+import com.halofour.functionally.util.function.TryDoubleSupplier;
+import com.halofour.functionally.util.function.TryDoubleToIntFunction;
+import com.halofour.functionally.util.function.TryDoubleToLongFunction;
+import com.halofour.functionally.util.function.TryDoubleUnaryOperator;
+import com.halofour.functionally.util.function.TryFunction;
+import com.halofour.functionally.util.function.TryToDoubleFunction;
+
+/**
+ * The {@link TryDouble} type represents a computation that may either result in an exception, or return a
+ * successfully computed {@code double} value.  It is the primitive specialization of {@link Try} for {@code double} and
+ * holds its value unboxed, so a chain of operations on a successful computation allocates a single instance per
+ * step and never boxes the value.  A failed computation is returned as-is by every operation which does not
+ * recover from it.
+ */
+public final class TryDouble implements Serializable {
+    private static final long serialVersionUID = -1184220735520361427L;
+
+    private final double value;
+    private final Throwable exception;
+
+    private TryDouble(double value, Throwable exception) {
+        this.value = value;
+        this.exception = exception;
+    }
+
+    /**
+     * Returns {@code true} if computation completed successfully; otherwise, returns {@code false}.
+     * @return {@code true} is successful
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * Returns {@code true} if failed to complete successfully; otherwise, returns {@code false}.
+     * @return {@code true} if failed
+     */
+    public boolean isFailure() {
+        return exception != null;
+    }
+
+    /**
+     * Returns {@code true} if failed to complete successfully with the specified exception class; otherwise, returns {@code false}.
+     * @param exceptionClass the class of the exception
+     * @return {@code true} if failed with the specified exception class
+     */
+    public boolean isFailure(Class<? extends Throwable> exceptionClass) {
+        return exceptionClass.isInstance(exception);
+    }
+
+    /**
+     * Returns the value of the computation if successful; otherwise, throws the exception
+     * @return the value of the computation
+     * @throws Throwable the exception which caused the computation to fail
+     */
+    public double getAsDouble() throws Throwable {
+        if (exception != null) {
+            throw exception;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the exception of the computation if it failed; otherwise {@link Optional#empty()}
+     * @return the exception of the failed computation
+     */
+    public Optional<Throwable> getException() {
+        return Optional.ofNullable(exception);
+    }
+
+    /**
+     * Returns the value of the computation if successful; otherwise, returns {@code defaultValue}
+     * @param defaultValue The default value to return if the computation failed
+     * @return the value of the computation or the {@code defaultValue}
+     */
+    public double getOrElse(double defaultValue) {
+        return exception == null ? value : defaultValue;
+    }
+
+    /**
+     * Returns this instance if the computation is successful; otherwise, returns {@code other}
+     * @param other The other computation
+     * @return the current computation or the {@code other}
+     */
+    public TryDouble orElse(TryDouble other) {
+        return exception == null ? this : other;
+    }
+
+    /**
+     * Returns the value of the computation if successful; otherwise, returns {@link OptionalDouble#empty()}
+     * @return An {@link OptionalDouble} of the value of the computation
+     */
+    public OptionalDouble toOptional() {
+        return exception == null ? OptionalDouble.of(value) : OptionalDouble.empty();
+    }
+
+    /**
+     * Maps the value of the computation using the {@code function} if successful; otherwise, returns {@code this}
+     * @param function the function to compute the value of the returned {@link TryDouble}
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    public TryDouble map(TryDoubleUnaryOperator function) {
+        if (exception != null) {
+            return this;
+        }
+        try {
+            return new TryDouble(function.applyAsDouble(value), null);
+        } catch (Throwable exception) {
+            return failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to a {@code int} using the {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the value of the returned {@link TryInt}
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    public TryInt mapToInt(TryDoubleToIntFunction function) {
+        if (exception != null) {
+            return TryInt.failure(exception);
+        }
+        try {
+            return TryInt.success(function.applyAsInt(value));
+        } catch (Throwable exception) {
+            return TryInt.failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to a {@code long} using the {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the value of the returned {@link TryLong}
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    public TryLong mapToLong(TryDoubleToLongFunction function) {
+        if (exception != null) {
+            return TryLong.failure(exception);
+        }
+        try {
+            return TryLong.success(function.applyAsLong(value));
+        } catch (Throwable exception) {
+            return TryLong.failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation using the {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the value of the returned {@link Try}
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    public <R> Try<R> mapToObj(TryDoubleFunction<? extends R> function) {
+        if (exception != null) {
+            return Failure.of(exception);
+        }
+        try {
+            return Success.of(function.apply(value));
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns {@code this}
+     * @param function the function to compute the returned {@link TryDouble}
+     * @return the return value from {@code function}
+     */
+    public TryDouble flatMap(TryDoubleFunction<TryDouble> function) {
+        if (exception != null) {
+            return this;
+        }
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the returned {@link TryInt}
+     * @return the return value from {@code function}
+     */
+    public TryInt flatMapToInt(TryDoubleFunction<TryInt> function) {
+        if (exception != null) {
+            return TryInt.failure(exception);
+        }
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return TryInt.failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the returned {@link TryLong}
+     * @return the return value from {@code function}
+     */
+    public TryLong flatMapToLong(TryDoubleFunction<TryLong> function) {
+        if (exception != null) {
+            return TryLong.failure(exception);
+        }
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return TryLong.failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the returned {@link Try}
+     * @param <R> the function's return type
+     * @return the return value from {@code function}
+     */
+    public <R> Try<R> flatMapToObj(TryDoubleFunction<Try<R>> function) {
+        if (exception != null) {
+            return Failure.of(exception);
+        }
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
+
+    /**
+     * Filters the value of this successful operation based on the {@code predicate} returning a failed computation
+     * of {@link java.util.NoSuchElementException} if the predicate does not match.
+     * @param predicate the predicate to apply to the computation
+     * @return {@code this} if the predicate matches;
+     */
+    public TryDouble filter(DoublePredicate predicate) {
+        if (exception != null) {
+            return this;
+        }
+        try {
+            if (predicate.test(value)) {
+                return this;
+            }
+            return failure(ControlFlowExceptions.predicateRejected());
+        } catch (Throwable exception) {
+            return failure(exception);
+        }
+    }
+
+    /**
+     * Applies the given {@code function} to the computation if it had failed; otherwise, returns {@code this}
+     * @param function the function to apply to the exception of the failed computation
+     * @return the computation of the {@code function} applied to the exception of the failed computation
+     */
+    public TryDouble recover(TryToDoubleFunction<? super Throwable> function) {
+        return recover(Throwable.class, function);
+    }
+
+    /**
+     * Applies the given {@code function} to the computation if it has failed with the specified exception class; otherwise, returns {@code this}
+     * @param exceptionClass the class of the exception
+     * @param function the function to apply to the exception of the failed computation
+     * @param <E> the type of the exception
+     * @return the computation of the {@code function} applied to the exception of the failed computation
+     */
+    public <E extends Throwable> TryDouble recover(Class<E> exceptionClass, TryToDoubleFunction<? super E> function) {
+        if (exceptionClass.isInstance(exception)) {
+            try {
+                return new TryDouble(function.applyAsDouble(exceptionClass.cast(exception)), null);
+            } catch (Throwable exception) {
+                return failure(exception);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Applies the return value of {@code function} to the computation if it has failed; otherwise, returns {@code this}
+     * @param function the function to apply to the exception of the failed computation
+     * @return the return value of {@code function}
+     */
+    public TryDouble recoverWith(TryFunction<? super Throwable, TryDouble> function) {
+        if (exception != null) {
+            try {
+                return function.apply(exception);
+            } catch (Throwable exception) {
+                return failure(exception);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Invokes the {@code consumer} with the computed value if the computation is successful.
+     * @param consumer the consumer function
+     */
+    public void ifSuccess(DoubleConsumer consumer) {
+        if (exception == null) {
+            consumer.accept(value);
+        }
+    }
+
+    /**
+     * Invokes the {@code consumer} with the exception if the computation had failed
+     * @param consumer the consumer function
+     */
+    public void ifFailure(Consumer<? super Throwable> consumer) {
+        if (exception != null) {
+            consumer.accept(exception);
+        }
+    }
+
+    /**
+     * Converts the computation to a {@link Try} of the boxed value
+     * @return the boxed computation
+     */
+    public Try<Double> boxed() {
+        return exception == null ? Success.of(value) : Failure.of(exception);
+    }
+
+    @Override
+    public int hashCode() {
+        return exception == null ? Double.hashCode(value) : exception.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (obj instanceof TryDouble) {
+            TryDouble other = (TryDouble) obj;
+            if (exception == null) {
+                return other.exception == null && Double.compare(value, other.value) == 0;
+            }
+            return exception.equals(other.exception);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return exception == null
+                ? String.format("Success[%s]", value)
+                : String.format("Failure[%s]", exception);
+    }
+
+    /**
+     * Returns a successful computation of the given {@code value}
+     * @param value the value of the computation
+     * @return the successful computation
+     */
+    public static TryDouble success(double value) {
+        return new TryDouble(value, null);
+    }
+
+    /**
+     * Returns a failed computation for the given {@link Throwable}
+     * @param exception the exception
+     * @return the failed computation
+     */
+    public static TryDouble failure(Throwable exception) {
+        Objects.requireNonNull(exception, "exception must not be null.");
+        if (Failure.isFatal(exception)) {
+            Failure.rethrow(exception);
+        }
+        return new TryDouble(0.0d, exception);
+    }
+
+    /**
+     * Returns a computation wrapping the result or exception of the {@code supplier}
+     * @param supplier the source of the computation
+     * @return the computation
+     */
+    public static TryDouble from(TryDoubleSupplier supplier) {
+        try {
+            return new TryDouble(supplier.getAsDouble(), null);
+        } catch (Throwable exception) {
+            return failure(exception);
+        }
+    }
+
+    /**
+     * Converts the computation of a boxed value to a {@link TryDouble}.  A successful computation of {@code null}
+     * is converted to a failed computation of {@link NullPointerException}.
+     * @param computation the computation of the boxed value
+     * @return the primitive computation
+     */
+    public static TryDouble unboxed(Try<Double> computation) {
+        if (computation.isSuccess()) {
+            Double value = computation.getUnchecked();
+            return value != null
+                    ? new TryDouble(value, null)
+                    : failure(new NullPointerException("The value of the computation is null."));
+        }
+        return failure(computation.getException().get());
+    }
+}
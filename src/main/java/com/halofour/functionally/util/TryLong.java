@@ -0,0 +1,407 @@
+package com.halofour.functionally.util;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+import com.halofour.functionally.util.function.TryFunction;
+import com.halofour.functionally.util.function.TryLongFunction;
+import com.halofour.functionally.util.function.TryLongSupplier;
+import com.halofour.functionally.util.function.TryLongToDoubleFunction;
+import com.halofour.functionally.util.function.TryLongToIntFunction;
+import com.halofour.functionally.util.function.TryLongUnaryOperator;
+import com.halofour.functionally.util.function.TryToLongFunction;
+
+/**
+ * The {@link TryLong} type represents a computation that may either result in an exception, or return a
+ * successfully computed {@code long} value.  It is the primitive specialization of {@link Try} for {@code long} and
+ * holds its value unboxed, so a chain of operations on a successful computation allocates a single instance per
+ * step and never boxes the value.  A failed computation is returned as-is by every operation which does not
+ * recover from it.
+ */
+public final class TryLong implements Serializable {
+    private static final long serialVersionUID = 3297713845081420951L;
+
+    private final long value;
+    private final Throwable exception;
+
+    private TryLong(long value, Throwable exception) {
+        this.value = value;
+        this.exception = exception;
+    }
+
+    /**
+     * Returns {@code true} if computation completed successfully; otherwise, returns {@code false}.
+     * @return {@code true} is successful
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * Returns {@code true} if failed to complete successfully; otherwise, returns {@code false}.
+     * @return {@code true} if failed
+     */
+    public boolean isFailure() {
+        return exception != null;
+    }
+
+    /**
+     * Returns {@code true} if failed to complete successfully with the specified exception class; otherwise, returns {@code false}.
+     * @param exceptionClass the class of the exception
+     * @return {@code true} if failed with the specified exception class
+     */
+    public boolean isFailure(Class<? extends Throwable> exceptionClass) {
+        return exceptionClass.isInstance(exception);
+    }
+
+    /**
+     * Returns the value of the computation if successful; otherwise, throws the exception
+     * @return the value of the computation
+     * @throws Throwable the exception which caused the computation to fail
+     */
+    public long getAsLong() throws Throwable {
+        if (exception != null) {
+            throw exception;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the exception of the computation if it failed; otherwise {@link Optional#empty()}
+     * @return the exception of the failed computation
+     */
+    public Optional<Throwable> getException() {
+        return Optional.ofNullable(exception);
+    }
+
+    /**
+     * Returns the value of the computation if successful; otherwise, returns {@code defaultValue}
+     * @param defaultValue The default value to return if the computation failed
+     * @return the value of the computation or the {@code defaultValue}
+     */
+    public long getOrElse(long defaultValue) {
+        return exception == null ? value : defaultValue;
+    }
+
+    /**
+     * Returns this instance if the computation is successful; otherwise, returns {@code other}
+     * @param other The other computation
+     * @return the current computation or the {@code other}
+     */
+    public TryLong orElse(TryLong other) {
+        return exception == null ? this : other;
+    }
+
+    /**
+     * Returns the value of the computation if successful; otherwise, returns {@link OptionalLong#empty()}
+     * @return An {@link OptionalLong} of the value of the computation
+     */
+    public OptionalLong toOptional() {
+        return exception == null ? OptionalLong.of(value) : OptionalLong.empty();
+    }
+
+    /**
+     * Maps the value of the computation using the {@code function} if successful; otherwise, returns {@code this}
+     * @param function the function to compute the value of the returned {@link TryLong}
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    public TryLong map(TryLongUnaryOperator function) {
+        if (exception != null) {
+            return this;
+        }
+        try {
+            return new TryLong(function.applyAsLong(value), null);
+        } catch (Throwable exception) {
+            return failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to a {@code int} using the {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the value of the returned {@link TryInt}
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    public TryInt mapToInt(TryLongToIntFunction function) {
+        if (exception != null) {
+            return TryInt.failure(exception);
+        }
+        try {
+            return TryInt.success(function.applyAsInt(value));
+        } catch (Throwable exception) {
+            return TryInt.failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to a {@code double} using the {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the value of the returned {@link TryDouble}
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    public TryDouble mapToDouble(TryLongToDoubleFunction function) {
+        if (exception != null) {
+            return TryDouble.failure(exception);
+        }
+        try {
+            return TryDouble.success(function.applyAsDouble(value));
+        } catch (Throwable exception) {
+            return TryDouble.failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation using the {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the value of the returned {@link Try}
+     * @param <R> the function's return type
+     * @return the computation of the {@code function} applied to the value of the current computation
+     */
+    public <R> Try<R> mapToObj(TryLongFunction<? extends R> function) {
+        if (exception != null) {
+            return Failure.of(exception);
+        }
+        try {
+            return Success.of(function.apply(value));
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns {@code this}
+     * @param function the function to compute the returned {@link TryLong}
+     * @return the return value from {@code function}
+     */
+    public TryLong flatMap(TryLongFunction<TryLong> function) {
+        if (exception != null) {
+            return this;
+        }
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the returned {@link TryInt}
+     * @return the return value from {@code function}
+     */
+    public TryInt flatMapToInt(TryLongFunction<TryInt> function) {
+        if (exception != null) {
+            return TryInt.failure(exception);
+        }
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return TryInt.failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the returned {@link TryDouble}
+     * @return the return value from {@code function}
+     */
+    public TryDouble flatMapToDouble(TryLongFunction<TryDouble> function) {
+        if (exception != null) {
+            return TryDouble.failure(exception);
+        }
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return TryDouble.failure(exception);
+        }
+    }
+
+    /**
+     * Maps the value of the computation to the return value of {@code function} if successful; otherwise, returns the failed computation
+     * @param function the function to compute the returned {@link Try}
+     * @param <R> the function's return type
+     * @return the return value from {@code function}
+     */
+    public <R> Try<R> flatMapToObj(TryLongFunction<Try<R>> function) {
+        if (exception != null) {
+            return Failure.of(exception);
+        }
+        try {
+            return function.apply(value);
+        } catch (Throwable exception) {
+            return Failure.of(exception);
+        }
+    }
+
+    /**
+     * Filters the value of this successful operation based on the {@code predicate} returning a failed computation
+     * of {@link java.util.NoSuchElementException} if the predicate does not match.
+     * @param predicate the predicate to apply to the computation
+     * @return {@code this} if the predicate matches;
+     */
+    public TryLong filter(LongPredicate predicate) {
+        if (exception != null) {
+            return this;
+        }
+        try {
+            if (predicate.test(value)) {
+                return this;
+            }
+            return failure(ControlFlowExceptions.predicateRejected());
+        } catch (Throwable exception) {
+            return failure(exception);
+        }
+    }
+
+    /**
+     * Applies the given {@code function} to the computation if it had failed; otherwise, returns {@code this}
+     * @param function the function to apply to the exception of the failed computation
+     * @return the computation of the {@code function} applied to the exception of the failed computation
+     */
+    public TryLong recover(TryToLongFunction<? super Throwable> function) {
+        return recover(Throwable.class, function);
+    }
+
+    /**
+     * Applies the given {@code function} to the computation if it has failed with the specified exception class; otherwise, returns {@code this}
+     * @param exceptionClass the class of the exception
+     * @param function the function to apply to the exception of the failed computation
+     * @param <E> the type of the exception
+     * @return the computation of the {@code function} applied to the exception of the failed computation
+     */
+    public <E extends Throwable> TryLong recover(Class<E> exceptionClass, TryToLongFunction<? super E> function) {
+        if (exceptionClass.isInstance(exception)) {
+            try {
+                return new TryLong(function.applyAsLong(exceptionClass.cast(exception)), null);
+            } catch (Throwable exception) {
+                return failure(exception);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Applies the return value of {@code function} to the computation if it has failed; otherwise, returns {@code this}
+     * @param function the function to apply to the exception of the failed computation
+     * @return the return value of {@code function}
+     */
+    public TryLong recoverWith(TryFunction<? super Throwable, TryLong> function) {
+        if (exception != null) {
+            try {
+                return function.apply(exception);
+            } catch (Throwable exception) {
+                return failure(exception);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Invokes the {@code consumer} with the computed value if the computation is successful.
+     * @param consumer the consumer function
+     */
+    public void ifSuccess(LongConsumer consumer) {
+        if (exception == null) {
+            consumer.accept(value);
+        }
+    }
+
+    /**
+     * Invokes the {@code consumer} with the exception if the computation had failed
+     * @param consumer the consumer function
+     */
+    public void ifFailure(Consumer<? super Throwable> consumer) {
+        if (exception != null) {
+            consumer.accept(exception);
+        }
+    }
+
+    /**
+     * Converts the computation to a {@link Try} of the boxed value
+     * @return the boxed computation
+     */
+    public Try<Long> boxed() {
+        return exception == null ? Success.of(value) : Failure.of(exception);
+    }
+
+    @Override
+    public int hashCode() {
+        return exception == null ? Long.hashCode(value) : exception.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (obj instanceof TryLong) {
+            TryLong other = (TryLong) obj;
+            if (exception == null) {
+                return other.exception == null && value == other.value;
+            }
+            return exception.equals(other.exception);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return exception == null
+                ? String.format("Success[%s]", value)
+                : String.format("Failure[%s]", exception);
+    }
+
+    /**
+     * Returns a successful computation of the given {@code value}
+     * @param value the value of the computation
+     * @return the successful computation
+     */
+    public static TryLong success(long value) {
+        return new TryLong(value, null);
+    }
+
+    /**
+     * Returns a failed computation for the given {@link Throwable}
+     * @param exception the exception
+     * @return the failed computation
+     */
+    public static TryLong failure(Throwable exception) {
+        Objects.requireNonNull(exception, "exception must not be null.");
+        if (Failure.isFatal(exception)) {
+            Failure.rethrow(exception);
+        }
+        return new TryLong(0L, exception);
+    }
+
+    /**
+     * Returns a computation wrapping the result or exception of the {@code supplier}
+     * @param supplier the source of the computation
+     * @return the computation
+     */
+    public static TryLong from(TryLongSupplier supplier) {
+        try {
+            return new TryLong(supplier.getAsLong(), null);
+        } catch (Throwable exception) {
+            return failure(exception);
+        }
+    }
+
+    /**
+     * Converts the computation of a boxed value to a {@link TryLong}.  A successful computation of {@code null}
+     * is converted to a failed computation of {@link NullPointerException}.
+     * @param computation the computation of the boxed value
+     * @return the primitive computation
+     */
+    public static TryLong unboxed(Try<Long> computation) {
+        if (computation.isSuccess()) {
+            Long value = computation.getUnchecked();
+            return value != null
+                    ? new TryLong(value, null)
+                    : failure(new NullPointerException("The value of the computation is null."));
+        }
+        return failure(computation.getException().get());
+    }
+}
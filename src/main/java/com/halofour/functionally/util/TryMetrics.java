@@ -0,0 +1,184 @@
+package com.halofour.functionally.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the computations created by {@link Success#of(Object)} and {@link Failure#of(Throwable)}, the failures
+ * recovered by the {@code recover} operations and the latency of {@link IO#get()}, so that they can be exported
+ * from a {@link #snapshot()} to any metrics system.
+ * <p>
+ * The metrics are disabled unless the JVM is started with {@code -Dfunctionally.metrics=true}.  The flag is read
+ * once into a {@code static final} field which guards every hook, so when it is disabled the JIT folds the hooks
+ * away entirely.  When enabled each metric is a striped {@link LongAdder}, so threads recording concurrently do
+ * not contend on a single counter.
+ */
+public final class TryMetrics {
+    /**
+     * The system property which enables the metrics
+     */
+    public static final String ENABLED_PROPERTY = "functionally.metrics";
+
+    static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final LongAdder SUCCESSES = new LongAdder();
+    private static final LongAdder FAILURES = new LongAdder();
+    private static final ConcurrentHashMap<Class<?>, LongAdder> FAILURES_BY_CLASS = new ConcurrentHashMap<>();
+    private static final LongAdder RECOVERIES = new LongAdder();
+    private static final LongAdder IO_RUNS = new LongAdder();
+    private static final LongAdder IO_NANOS = new LongAdder();
+    private static final LongAccumulator IO_MAX_NANOS = new LongAccumulator(Math::max, 0L);
+
+    private TryMetrics() { }
+
+    /**
+     * Returns {@code true} if the metrics are being recorded
+     * @return {@code true} if enabled; otherwise, {@code false}
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns the current values of the metrics.  The values are read one at a time while they may still be
+     * updated, so the snapshot is not an atomic view across metrics.
+     * @return the snapshot
+     */
+    public static Snapshot snapshot() {
+        Map<Class<? extends Throwable>, Long> failuresByClass = new HashMap<>();
+        FAILURES_BY_CLASS.forEach((exceptionClass, count) ->
+                failuresByClass.put(exceptionClass.asSubclass(Throwable.class), count.sum()));
+        return new Snapshot(SUCCESSES.sum(), FAILURES.sum(), Collections.unmodifiableMap(failuresByClass),
+                RECOVERIES.sum(), IO_RUNS.sum(), IO_NANOS.sum(), IO_MAX_NANOS.get());
+    }
+
+    /**
+     * Resets all of the metrics to zero
+     */
+    public static void reset() {
+        SUCCESSES.reset();
+        FAILURES.reset();
+        FAILURES_BY_CLASS.clear();
+        RECOVERIES.reset();
+        IO_RUNS.reset();
+        IO_NANOS.reset();
+        IO_MAX_NANOS.reset();
+    }
+
+    static void recordSuccess() {
+        SUCCESSES.increment();
+    }
+
+    static void recordFailure(Throwable exception) {
+        FAILURES.increment();
+        Class<?> exceptionClass = exception.getClass();
+        LongAdder count = FAILURES_BY_CLASS.get(exceptionClass);
+        if (count == null) {
+            count = FAILURES_BY_CLASS.computeIfAbsent(exceptionClass, ignored -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    static void recordRecovery() {
+        RECOVERIES.increment();
+    }
+
+    static void recordIO(long nanos) {
+        IO_RUNS.increment();
+        IO_NANOS.add(nanos);
+        IO_MAX_NANOS.accumulate(nanos);
+    }
+
+    /**
+     * The values of the metrics at the time of a {@link TryMetrics#snapshot()}
+     */
+    public static final class Snapshot {
+        private final long successes;
+        private final long failures;
+        private final Map<Class<? extends Throwable>, Long> failuresByClass;
+        private final long recoveries;
+        private final long ioRuns;
+        private final long ioNanos;
+        private final long ioMaxNanos;
+
+        Snapshot(long successes, long failures, Map<Class<? extends Throwable>, Long> failuresByClass,
+                 long recoveries, long ioRuns, long ioNanos, long ioMaxNanos) {
+            this.successes = successes;
+            this.failures = failures;
+            this.failuresByClass = failuresByClass;
+            this.recoveries = recoveries;
+            this.ioRuns = ioRuns;
+            this.ioNanos = ioNanos;
+            this.ioMaxNanos = ioMaxNanos;
+        }
+
+        /**
+         * Gets the number of computations created by {@link Success#of(Object)}
+         * @return the count
+         */
+        public long getSuccesses() {
+            return successes;
+        }
+
+        /**
+         * Gets the number of computations created by {@link Failure#of(Throwable)}
+         * @return the count
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * Gets the number of computations created by {@link Failure#of(Throwable)} for each class of exception
+         * @return the counts by exception class
+         */
+        public Map<Class<? extends Throwable>, Long> getFailuresByClass() {
+            return failuresByClass;
+        }
+
+        /**
+         * Gets the number of failures to which a {@code recover} or {@code recoverWith} function was applied
+         * @return the count
+         */
+        public long getRecoveries() {
+            return recoveries;
+        }
+
+        /**
+         * Gets the number of computations run by {@link IO#get()}
+         * @return the count
+         */
+        public long getIORuns() {
+            return ioRuns;
+        }
+
+        /**
+         * Gets the total time spent in {@link IO#get()}
+         * @param unit the unit of the returned time
+         * @return the total time
+         */
+        public long getIOTotalTime(TimeUnit unit) {
+            return unit.convert(ioNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Gets the longest time spent in a single {@link IO#get()}
+         * @param unit the unit of the returned time
+         * @return the longest time
+         */
+        public long getIOMaxTime(TimeUnit unit) {
+            return unit.convert(ioMaxNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("TryMetrics[successes=%d, failures=%d, recoveries=%d, ioRuns=%d, ioNanos=%d, ioMaxNanos=%d, failuresByClass=%s]",
+                    successes, failures, recoveries, ioRuns, ioNanos, ioMaxNanos, failuresByClass);
+        }
+    }
+}
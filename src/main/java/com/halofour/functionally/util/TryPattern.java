@@ -0,0 +1,202 @@
+package com.halofour.functionally.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.halofour.functionally.util.function.TryFunction;
+import com.halofour.functionally.util.function.TrySupplier;
+
+/**
+ * A reusable pattern which translates the results of computations, built once from the same clauses as
+ * {@link Try#match(Consumer)}.
+ * <p>
+ * The clauses are recorded when the pattern is built and the success and failure clauses are split into
+ * separate tables.  The failure clauses are narrowed per concrete exception class to those which can match it,
+ * up to the first which always matches, so that applying the pattern does not check {@code failure(Class, ...)}
+ * clauses against each exception.  Applying the pattern allocates nothing but the translated result.
+ * @param <T> the type of the value of the computation
+ * @param <R> the type of the translated value
+ */
+public final class TryPattern<T, R> {
+    private static final int ANY = 0;
+    private static final int VALUE = 1;
+    private static final int WHEN = 2;
+    private static final int CLASS = 3;
+    private static final int OR_ELSE = 4;
+    private static final int OR_ELSE_RESULT = 5;
+
+    private static final Clause[] NO_CLAUSES = new Clause[0];
+
+    private final Clause[] successClauses;
+    private final Clause[] failureClauses;
+    private final ClassDispatch<Clause[]> failureClausesByClass = new ClassDispatch<>(this::resolve);
+
+    private TryPattern(Clause[] successClauses, Clause[] failureClauses) {
+        this.successClauses = successClauses;
+        this.failureClauses = failureClauses;
+    }
+
+    /**
+     * Builds a pattern from the clauses configured by {@code match}, which is invoked once
+     * @param match the consumer of the {@link TryMatcher} used to configure the clauses
+     * @param <T> the type of the value of the computation
+     * @param <R> the type of the translated value
+     * @return the pattern
+     */
+    public static <T, R> TryPattern<T, R> of(Consumer<TryMatcher<T, R>> match) {
+        Recorder<T, R> recorder = new Recorder<>();
+        match.accept(recorder);
+        return new TryPattern<>(recorder.successClauses.toArray(NO_CLAUSES), recorder.failureClauses.toArray(NO_CLAUSES));
+    }
+
+    /**
+     * Translates the computation using the first clause matching its result
+     * @param computation the computation
+     * @return the computation based on the translation
+     * @throws UnmatchedPatternException if no clause matches the result
+     */
+    @SuppressWarnings("unchecked")
+    public Try<R> apply(Try<T> computation) {
+        if (computation.isSuccess()) {
+            T value = computation.getUnchecked();
+            for (Clause clause : successClauses) {
+                if (clause.matchesValue(value)) {
+                    return (Try<R>) clause.apply(value);
+                }
+            }
+        } else {
+            Throwable exception = computation.getException().get();
+            for (Clause clause : failureClausesByClass.get(exception.getClass())) {
+                if (clause.kind != WHEN || clause.predicate.test(exception)) {
+                    return (Try<R>) clause.apply(exception);
+                }
+            }
+        }
+        throw new UnmatchedPatternException(computation);
+    }
+
+    private Clause[] resolve(Class<?> exceptionClass) {
+        List<Clause> candidates = new ArrayList<>(failureClauses.length);
+        for (Clause clause : failureClauses) {
+            if (clause.kind != CLASS || clause.exceptionClass.isAssignableFrom(exceptionClass)) {
+                candidates.add(clause);
+                if (clause.kind != WHEN) {
+                    break;
+                }
+            }
+        }
+        return candidates.toArray(NO_CLAUSES);
+    }
+
+    private static final class Clause {
+        final int kind;
+        final Object value;
+        final Class<?> exceptionClass;
+        final Predicate<Object> predicate;
+        final TryFunction<Object, ?> function;
+        final TrySupplier<?> supplier;
+        final Try<?> result;
+
+        @SuppressWarnings("unchecked")
+        Clause(int kind, Object value, Class<?> exceptionClass, Predicate<?> predicate,
+               TryFunction<?, ?> function, TrySupplier<?> supplier, Try<?> result) {
+            this.kind = kind;
+            this.value = value;
+            this.exceptionClass = exceptionClass;
+            this.predicate = (Predicate<Object>) predicate;
+            this.function = (TryFunction<Object, ?>) function;
+            this.supplier = supplier;
+            this.result = result;
+        }
+
+        boolean matchesValue(Object actual) {
+            switch (kind) {
+                case VALUE:
+                    return Objects.equals(value, actual);
+                case WHEN:
+                    return predicate.test(actual);
+                default:
+                    return true;
+            }
+        }
+
+        Try<?> apply(Object argument) {
+            switch (kind) {
+                case OR_ELSE:
+                    return Try.from(supplier);
+                case OR_ELSE_RESULT:
+                    return result;
+                default:
+                    try {
+                        return Success.of(function.apply(argument));
+                    } catch (Throwable exception) {
+                        return Failure.of(exception);
+                    }
+            }
+        }
+    }
+
+    private static final class Recorder<T, R> implements TryMatcher<T, R> {
+        final List<Clause> successClauses = new ArrayList<>();
+        final List<Clause> failureClauses = new ArrayList<>();
+
+        @Override
+        public TryMatcher<T, R> success(TryFunction<? super T, ? extends R> function) {
+            successClauses.add(new Clause(ANY, null, null, null, function, null, null));
+            return this;
+        }
+
+        @Override
+        public TryMatcher<T, R> success(T value, TryFunction<? super T, ? extends R> function) {
+            successClauses.add(new Clause(VALUE, value, null, null, function, null, null));
+            return this;
+        }
+
+        @Override
+        public TryMatcher<T, R> successWhen(Predicate<T> predicate, TryFunction<? super T, ? extends R> function) {
+            successClauses.add(new Clause(WHEN, null, null, predicate, function, null, null));
+            return this;
+        }
+
+        @Override
+        public TryMatcher<T, R> failure(TryFunction<Throwable, ? extends R> function) {
+            failureClauses.add(new Clause(ANY, null, null, null, function, null, null));
+            return this;
+        }
+
+        @Override
+        public <E extends Throwable> TryMatcher<T, R> failure(Class<E> exceptionClass, TryFunction<? super E, ? extends R> function) {
+            failureClauses.add(new Clause(CLASS, null, exceptionClass, null, function, null, null));
+            return this;
+        }
+
+        @Override
+        public TryMatcher<T, R> failureWhen(Predicate<? super Throwable> predicate, TryFunction<? super Throwable, ? extends R> function) {
+            failureClauses.add(new Clause(WHEN, null, null, predicate, function, null, null));
+            return this;
+        }
+
+        @Override
+        public void orElse(TrySupplier<? extends R> supplier) {
+            addToBoth(new Clause(OR_ELSE, null, null, null, null, supplier, null));
+        }
+
+        @Override
+        public void orElseSuccess(R defaultValue) {
+            addToBoth(new Clause(OR_ELSE_RESULT, null, null, null, null, null, Success.of(defaultValue)));
+        }
+
+        @Override
+        public void orElseFailure(Throwable exception) {
+            addToBoth(new Clause(OR_ELSE_RESULT, null, null, null, null, null, Failure.of(exception)));
+        }
+
+        private void addToBoth(Clause clause) {
+            successClauses.add(clause);
+            failureClauses.add(clause);
+        }
+    }
+}
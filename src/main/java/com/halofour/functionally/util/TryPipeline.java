@@ -0,0 +1,236 @@
+package com.halofour.functionally.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.halofour.functionally.util.function.TryFunction;
+
+/**
+ * An immutable chain of {@link Try} operations composed once and applied to many inputs.
+ * <p>
+ * A pipeline is built with the same operations as {@link Try}, each of which returns a new pipeline with the
+ * operation appended as a stage.  Applying the pipeline runs every stage in a single pass over the input, carrying
+ * the current value or exception between stages rather than wrapping it in an intermediate {@link Try}, so that
+ * only the final {@link Try} is allocated however many stages the pipeline has.  When the final value or exception
+ * is still the one returned by a {@code flatMap} or {@code recoverWith} stage that {@link Try} is returned as-is.
+ * @param <A> the type of the input
+ * @param <B> the type of the value of the resulting computation
+ */
+public final class TryPipeline<A, B> {
+    private static final int MAP = 0;
+    private static final int FLAT_MAP = 1;
+    private static final int FILTER = 2;
+    private static final int RECOVER = 3;
+    private static final int RECOVER_WITH = 4;
+
+    private static final TryPipeline<?, ?> IDENTITY = new TryPipeline<>(new Stage[0]);
+
+    private final Stage[] stages;
+
+    private TryPipeline(Stage[] stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Returns the pipeline with no stages, which applied to an input returns the successful computation of the input
+     * @param <A> the type of the input
+     * @return the pipeline
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> TryPipeline<A, A> identity() {
+        return (TryPipeline<A, A>) IDENTITY;
+    }
+
+    /**
+     * Appends a stage which maps the value using the {@code function} if successful
+     * @param function the function to compute the value
+     * @param <R> the function's return type
+     * @return the pipeline
+     * @see Try#map(TryFunction)
+     */
+    public <R> TryPipeline<A, R> map(TryFunction<? super B, ? extends R> function) {
+        return append(new Stage(MAP, function, null, null));
+    }
+
+    /**
+     * Appends a stage which maps the value to the return value of the {@code function} if successful
+     * @param function the function to compute the next computation
+     * @param <R> the function's return type
+     * @return the pipeline
+     * @see Try#flatMap(TryFunction)
+     */
+    public <R> TryPipeline<A, R> flatMap(TryFunction<? super B, Try<R>> function) {
+        return append(new Stage(FLAT_MAP, function, null, null));
+    }
+
+    /**
+     * Appends a stage which fails with a {@link java.util.NoSuchElementException} if the value does not match the
+     * {@code predicate}
+     * @param predicate the predicate to apply to the value
+     * @return the pipeline
+     * @see Try#filter(Predicate)
+     */
+    public TryPipeline<A, B> filter(Predicate<? super B> predicate) {
+        return append(new Stage(FILTER, null, predicate, null));
+    }
+
+    /**
+     * Appends a stage which recovers from any exception using the {@code function}
+     * @param function the function to apply to the exception
+     * @return the pipeline
+     * @see Try#recover(TryFunction)
+     */
+    public TryPipeline<A, B> recover(TryFunction<? super Throwable, ? extends B> function) {
+        return recover(Throwable.class, function);
+    }
+
+    /**
+     * Appends a stage which recovers from exceptions of the specified class using the {@code function}
+     * @param exceptionClass the class of the exception
+     * @param function the function to apply to the exception
+     * @param <E> the type of the exception
+     * @return the pipeline
+     * @see Try#recover(Class, TryFunction)
+     */
+    public <E extends Throwable> TryPipeline<A, B> recover(Class<E> exceptionClass, TryFunction<? super E, ? extends B> function) {
+        return append(new Stage(RECOVER, function, null, exceptionClass));
+    }
+
+    /**
+     * Appends a stage which recovers from any exception with the return value of the {@code function}
+     * @param function the function to apply to the exception
+     * @return the pipeline
+     * @see Try#recoverWith(TryFunction)
+     */
+    public TryPipeline<A, B> recoverWith(TryFunction<? super Throwable, Try<B>> function) {
+        return recoverWith(Throwable.class, function);
+    }
+
+    /**
+     * Appends a stage which recovers from exceptions of the specified class with the return value of the {@code function}
+     * @param exceptionClass the class of the exception
+     * @param function the function to apply to the exception
+     * @param <E> the type of the exception
+     * @return the pipeline
+     * @see Try#recoverWith(Class, TryFunction)
+     */
+    public <E extends Throwable> TryPipeline<A, B> recoverWith(Class<E> exceptionClass, TryFunction<? super E, Try<B>> function) {
+        return append(new Stage(RECOVER_WITH, function, null, exceptionClass));
+    }
+
+    /**
+     * Runs every stage of the pipeline over the {@code input}
+     * @param input the input
+     * @return the resulting computation
+     */
+    @SuppressWarnings("unchecked")
+    public Try<B> apply(A input) {
+        Object value = input;
+        Throwable exception = null;
+        Try<?> current = null;
+        for (Stage stage : stages) {
+            try {
+                switch (stage.kind) {
+                    case MAP:
+                        if (exception == null) {
+                            Object mapped = stage.function.apply(value);
+                            if (mapped != value) {
+                                value = mapped;
+                                current = null;
+                            }
+                        }
+                        break;
+                    case FLAT_MAP:
+                        if (exception == null) {
+                            current = (Try<?>) stage.function.apply(value);
+                            if (current == null) {
+                                exception = new NullPointerException("flatMap function returned null.");
+                            } else if (current.isSuccess()) {
+                                value = current.getUnchecked();
+                            } else {
+                                exception = current.getException().get();
+                            }
+                        }
+                        break;
+                    case FILTER:
+                        if (exception == null && !stage.predicate.test(value)) {
+                            exception = ControlFlowExceptions.predicateRejected();
+                            current = null;
+                        }
+                        break;
+                    case RECOVER:
+                        if (stage.exceptionClass.isInstance(exception)) {
+                            value = stage.function.apply(exception);
+                            exception = null;
+                            current = null;
+                        }
+                        break;
+                    case RECOVER_WITH:
+                        if (stage.exceptionClass.isInstance(exception)) {
+                            current = (Try<?>) stage.function.apply(exception);
+                            if (current == null) {
+                                exception = new NullPointerException("recoverWith function returned null.");
+                            } else if (current.isSuccess()) {
+                                value = current.getUnchecked();
+                                exception = null;
+                            } else {
+                                exception = current.getException().get();
+                            }
+                        }
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown pipeline stage: " + stage.kind);
+                }
+            } catch (Throwable thrown) {
+                if (Failure.isFatal(thrown)) {
+                    Failure.rethrow(thrown);
+                }
+                exception = thrown;
+                current = null;
+            }
+        }
+        if (current != null) {
+            return (Try<B>) current;
+        }
+        return exception == null ? Success.of((B) value) : Failure.of(exception);
+    }
+
+    /**
+     * Runs every stage of the pipeline over each of the {@code inputs}
+     * @param inputs the inputs
+     * @return the resulting computations, in the order of the inputs
+     */
+    public List<Try<B>> applyAll(Iterable<? extends A> inputs) {
+        List<Try<B>> results = inputs instanceof Collection
+                ? new ArrayList<>(((Collection<?>) inputs).size())
+                : new ArrayList<>();
+        for (A input : inputs) {
+            results.add(apply(input));
+        }
+        return results;
+    }
+
+    private <R> TryPipeline<A, R> append(Stage stage) {
+        Stage[] stages = Arrays.copyOf(this.stages, this.stages.length + 1);
+        stages[this.stages.length] = stage;
+        return new TryPipeline<>(stages);
+    }
+
+    private static final class Stage {
+        final int kind;
+        final TryFunction<Object, ?> function;
+        final Predicate<Object> predicate;
+        final Class<?> exceptionClass;
+
+        @SuppressWarnings("unchecked")
+        Stage(int kind, TryFunction<?, ?> function, Predicate<?> predicate, Class<?> exceptionClass) {
+            this.kind = kind;
+            this.function = (TryFunction<Object, ?>) function;
+            this.predicate = (Predicate<Object>) predicate;
+            this.exceptionClass = exceptionClass;
+        }
+    }
+}
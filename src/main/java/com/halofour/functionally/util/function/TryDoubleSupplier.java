@@ -0,0 +1,15 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents a supplier of double-valued results that can fail with an exception.  This is the
+ * {@code double}-producing primitive specialization of {@link TrySupplier}.
+ */
+@FunctionalInterface
+public interface TryDoubleSupplier {
+    /**
+     * Gets a result.
+     * @return the result
+     * @throws Throwable an exception
+     */
+    double getAsDouble() throws Throwable;
+}
@@ -0,0 +1,16 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents a function that accepts a {@code double} argument and produces a {@code long} result and can fail with
+ * an exception.  This is the {@code double}-to-{@code long} primitive specialization of {@link TryFunction}.
+ */
+@FunctionalInterface
+public interface TryDoubleToLongFunction {
+    /**
+     * Applies this function to the given argument.
+     * @param value the function argument
+     * @return the function result
+     * @throws Throwable an exception
+     */
+    long applyAsLong(double value) throws Throwable;
+}
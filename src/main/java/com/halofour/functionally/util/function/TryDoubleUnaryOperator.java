@@ -0,0 +1,16 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents an operation on a single {@code double} operand that produces a {@code double} result and can fail with
+ * an exception.  This is the primitive specialization of {@link TryFunction} for {@code double}.
+ */
+@FunctionalInterface
+public interface TryDoubleUnaryOperator {
+    /**
+     * Applies this operator to the given operand.
+     * @param value the operand
+     * @return the operator result
+     * @throws Throwable an exception
+     */
+    double applyAsDouble(double value) throws Throwable;
+}
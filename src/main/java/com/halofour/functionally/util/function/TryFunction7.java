@@ -0,0 +1,29 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents a function that accepts seven arguments and produces a result. This is the seven-arity specialization of {@link TryFunction}.
+ * @param <T1> the type of the first argument to the function
+ * @param <T2> the type of the second argument to the function
+ * @param <T3> the type of the third argument to the function
+ * @param <T4> the type of the fourth argument to the function
+ * @param <T5> the type of the fifth argument to the function
+ * @param <T6> the type of the sixth argument to the function
+ * @param <T7> the type of the seventh argument to the function
+ * @param <R> the type of the result of the function
+ */
+@FunctionalInterface
+public interface TryFunction7<T1, T2, T3, T4, T5, T6, T7, R> {
+    /**
+     * Applies this function to the given arguments.
+     * @param value1 the first argument
+     * @param value2 the second argument
+     * @param value3 the third argument
+     * @param value4 the fourth argument
+     * @param value5 the fifth argument
+     * @param value6 the sixth argument
+     * @param value7 the seventh argument
+     * @return the function result
+     * @throws Throwable an exception
+     */
+    R apply(T1 value1, T2 value2, T3 value3, T4 value4, T5 value5, T6 value6, T7 value7) throws Throwable;
+}
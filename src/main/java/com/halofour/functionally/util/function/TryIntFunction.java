@@ -0,0 +1,17 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents a function that accepts a {@code int} argument and produces a result and can fail with an exception.
+ * This is the {@code int}-consuming primitive specialization of {@link TryFunction}.
+ * @param <R> the type of the result of the function
+ */
+@FunctionalInterface
+public interface TryIntFunction<R> {
+    /**
+     * Applies this function to the given argument.
+     * @param value the function argument
+     * @return the function result
+     * @throws Throwable an exception
+     */
+    R apply(int value) throws Throwable;
+}
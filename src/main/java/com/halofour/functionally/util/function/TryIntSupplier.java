@@ -0,0 +1,15 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents a supplier of int-valued results that can fail with an exception.  This is the
+ * {@code int}-producing primitive specialization of {@link TrySupplier}.
+ */
+@FunctionalInterface
+public interface TryIntSupplier {
+    /**
+     * Gets a result.
+     * @return the result
+     * @throws Throwable an exception
+     */
+    int getAsInt() throws Throwable;
+}
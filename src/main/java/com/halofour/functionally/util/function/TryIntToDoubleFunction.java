@@ -0,0 +1,16 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents a function that accepts a {@code int} argument and produces a {@code double} result and can fail with
+ * an exception.  This is the {@code int}-to-{@code double} primitive specialization of {@link TryFunction}.
+ */
+@FunctionalInterface
+public interface TryIntToDoubleFunction {
+    /**
+     * Applies this function to the given argument.
+     * @param value the function argument
+     * @return the function result
+     * @throws Throwable an exception
+     */
+    double applyAsDouble(int value) throws Throwable;
+}
@@ -0,0 +1,16 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents an operation on a single {@code int} operand that produces a {@code int} result and can fail with
+ * an exception.  This is the primitive specialization of {@link TryFunction} for {@code int}.
+ */
+@FunctionalInterface
+public interface TryIntUnaryOperator {
+    /**
+     * Applies this operator to the given operand.
+     * @param value the operand
+     * @return the operator result
+     * @throws Throwable an exception
+     */
+    int applyAsInt(int value) throws Throwable;
+}
@@ -0,0 +1,15 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents a supplier of long-valued results that can fail with an exception.  This is the
+ * {@code long}-producing primitive specialization of {@link TrySupplier}.
+ */
+@FunctionalInterface
+public interface TryLongSupplier {
+    /**
+     * Gets a result.
+     * @return the result
+     * @throws Throwable an exception
+     */
+    long getAsLong() throws Throwable;
+}
@@ -0,0 +1,16 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents a function that accepts a {@code long} argument and produces a {@code int} result and can fail with
+ * an exception.  This is the {@code long}-to-{@code int} primitive specialization of {@link TryFunction}.
+ */
+@FunctionalInterface
+public interface TryLongToIntFunction {
+    /**
+     * Applies this function to the given argument.
+     * @param value the function argument
+     * @return the function result
+     * @throws Throwable an exception
+     */
+    int applyAsInt(long value) throws Throwable;
+}
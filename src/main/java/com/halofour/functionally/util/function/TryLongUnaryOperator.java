@@ -0,0 +1,16 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents an operation on a single {@code long} operand that produces a {@code long} result and can fail with
+ * an exception.  This is the primitive specialization of {@link TryFunction} for {@code long}.
+ */
+@FunctionalInterface
+public interface TryLongUnaryOperator {
+    /**
+     * Applies this operator to the given operand.
+     * @param value the operand
+     * @return the operator result
+     * @throws Throwable an exception
+     */
+    long applyAsLong(long value) throws Throwable;
+}
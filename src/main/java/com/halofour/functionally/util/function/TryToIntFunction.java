@@ -0,0 +1,17 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents a function that accepts one argument and produces a {@code int} result and can fail with an exception.
+ * This is the {@code int}-producing primitive specialization of {@link TryFunction}.
+ * @param <T> the type of the input to the function
+ */
+@FunctionalInterface
+public interface TryToIntFunction<T> {
+    /**
+     * Applies this function to the given argument.
+     * @param value the function argument
+     * @return the function result
+     * @throws Throwable an exception
+     */
+    int applyAsInt(T value) throws Throwable;
+}
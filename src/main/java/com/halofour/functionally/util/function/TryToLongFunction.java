@@ -0,0 +1,17 @@
+package com.halofour.functionally.util.function;
+
+/**
+ * Represents a function that accepts one argument and produces a {@code long} result and can fail with an exception.
+ * This is the {@code long}-producing primitive specialization of {@link TryFunction}.
+ * @param <T> the type of the input to the function
+ */
+@FunctionalInterface
+public interface TryToLongFunction<T> {
+    /**
+     * Applies this function to the given argument.
+     * @param value the function argument
+     * @return the function result
+     * @throws Throwable an exception
+     */
+    long applyAsLong(T value) throws Throwable;
+}
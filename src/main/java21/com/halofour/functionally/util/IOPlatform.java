@@ -0,0 +1,49 @@
+package com.halofour.functionally.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the threads on which {@link IO} computations run.
+ * <p>
+ * This is the Java 21 implementation, packaged under {@code META-INF/versions/21} of the multi-release JAR.
+ * The shared blocking pool starts a virtual thread per task, so that a large number of blocking effects can wait
+ * concurrently without holding a platform thread each, unless the JVM is started with
+ * {@code -Dfunctionally.virtualThreads=false}.  It must keep the same members as the Java 8 implementation.
+ */
+final class IOPlatform {
+    /**
+     * The system property which can be set to {@code false} to keep the shared blocking pool on platform threads
+     */
+    static final String VIRTUAL_THREADS_PROPERTY = "functionally.virtualThreads";
+
+    private static final boolean VIRTUAL_BLOCKING = !"false".equals(System.getProperty(VIRTUAL_THREADS_PROPERTY));
+
+    private IOPlatform() { }
+
+    /**
+     * Returns {@code true} if the runtime supports virtual threads
+     * @return {@code true}
+     */
+    static boolean isVirtualThreadsAvailable() {
+        return true;
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task
+     * @param name the prefix of the names of the threads
+     * @return the executor
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+    }
+
+    /**
+     * Creates the shared pool for work which blocks the thread
+     * @param name the prefix of the names of the threads
+     * @return the pool of virtual threads, or of platform threads if virtual threads have been turned off
+     */
+    static ExecutorService newSharedBlockingPool(String name) {
+        return VIRTUAL_BLOCKING ? newVirtualThreadPerTaskExecutor(name) : IOExecutors.newBlockingPool(name);
+    }
+}
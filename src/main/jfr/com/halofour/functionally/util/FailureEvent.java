@@ -0,0 +1,22 @@
+package com.halofour.functionally.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The flight recorder event of the creation of a {@link Failure}, emitted through {@link FlightEvents}
+ */
+@Name("com.halofour.functionally.Failure")
+@Label("Failure")
+@Description("A failed Try computation created by Failure.of")
+@Category({ "Functionally", "Try" })
+final class FailureEvent extends Event {
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Message")
+    String message;
+}
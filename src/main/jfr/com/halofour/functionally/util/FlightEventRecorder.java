@@ -0,0 +1,91 @@
+package com.halofour.functionally.util;
+
+/**
+ * Emits the events of {@link FlightEvents} through the {@code jdk.jfr} API.
+ * <p>
+ * This class and the event classes are compiled from {@code src/main/jfr} for Java 8 but against the API of the
+ * building JDK, since the {@code jdk.jfr} API is not part of the Java 8 platform API.  They are only loaded by
+ * {@link FlightEvents} once the API has been found on the runtime.
+ */
+final class FlightEventRecorder implements FlightEvents.Recorder {
+    @Override
+    public Object beginIORun() {
+        IORunEvent event = new IORunEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endIORun(Object started, Try<?> result) {
+        if (started == null) {
+            return;
+        }
+        IORunEvent event = (IORunEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.succeeded = result.isSuccess();
+            if (result.isFailure()) {
+                event.exceptionClass = ((Failure<?>) result).exception().getClass();
+            }
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginAsync() {
+        IOAsyncEvent event = new IOAsyncEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endAsync(Object started, boolean suspended) {
+        if (started == null) {
+            return;
+        }
+        IOAsyncEvent event = (IOAsyncEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.suspended = suspended;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginBlocked() {
+        IOBlockedEvent event = new IOBlockedEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endBlocked(Object started) {
+        if (started == null) {
+            return;
+        }
+        IOBlockedEvent event = (IOBlockedEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+
+    @Override
+    public void failureCreated(Throwable exception) {
+        FailureEvent event = new FailureEvent();
+        if (event.isEnabled()) {
+            event.exceptionClass = exception.getClass();
+            event.message = exception.getMessage();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.halofour.functionally.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The flight recorder event of an asynchronous boundary crossed by the run of an {@link IO}, emitted through
+ * {@link FlightEvents}
+ */
+@Name("com.halofour.functionally.IOAsync")
+@Label("IO Async Boundary")
+@Description("An asynchronous boundary crossed by an IO computation, for as long as it waited on the callback")
+@Category({ "Functionally", "IO" })
+@StackTrace(false)
+@Threshold("0 ms")
+final class IOAsyncEvent extends Event {
+    @Label("Suspended")
+    @Description("Whether the run-loop suspended and resumed on the completing thread")
+    boolean suspended;
+}
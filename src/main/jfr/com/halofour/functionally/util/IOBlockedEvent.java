@@ -0,0 +1,19 @@
+package com.halofour.functionally.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The flight recorder event of a thread blocked in {@link IO#get()}, emitted through {@link FlightEvents}
+ */
+@Name("com.halofour.functionally.IOBlocked")
+@Label("IO Blocked")
+@Description("A thread blocked in IO.get() waiting for an asynchronous computation")
+@Category({ "Functionally", "IO" })
+@Threshold("0 ms")
+final class IOBlockedEvent extends Event {
+}
@@ -0,0 +1,26 @@
+package com.halofour.functionally.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The flight recorder event of a run of an {@link IO}, emitted through {@link FlightEvents}
+ */
+@Name("com.halofour.functionally.IORun")
+@Label("IO Run")
+@Description("A run of an IO computation from start to end")
+@Category({ "Functionally", "IO" })
+@StackTrace(false)
+@Threshold("0 ms")
+final class IORunEvent extends Event {
+    @Label("Succeeded")
+    boolean succeeded;
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+}
@@ -0,0 +1,144 @@
+package com.halofour.functionally.util;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.halofour.functionally.util.function.TryBiFunction;
+import com.halofour.functionally.util.function.TryFunction;
+
+/**
+ * An implementation of {@link Try} outside of {@link Success} and {@link Failure} which forwards to one of them, to
+ * verify that operations on computations do not depend on their classes
+ * @param <T> the type of the value of the computation
+ */
+final class DelegatingTry<T> implements Try<T> {
+    private final Try<T> delegate;
+
+    private DelegatingTry(Try<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    static <T> Try<T> success(T value) {
+        return new DelegatingTry<>(Success.of(value));
+    }
+
+    static <T> Try<T> failure(Throwable exception) {
+        return new DelegatingTry<>(Failure.of(exception));
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return delegate.isSuccess();
+    }
+
+    @Override
+    public boolean isFailure() {
+        return delegate.isFailure();
+    }
+
+    @Override
+    public boolean isFailure(Class<? extends Throwable> exceptionClass) {
+        return delegate.isFailure(exceptionClass);
+    }
+
+    @Override
+    public T get() throws Throwable {
+        return delegate.get();
+    }
+
+    @Override
+    public Optional<Throwable> getException() {
+        return delegate.getException();
+    }
+
+    @Override
+    public T getOrElse(T defaultValue) {
+        return delegate.getOrElse(defaultValue);
+    }
+
+    @Override
+    public Try<T> orElse(Try<T> other) {
+        return delegate.orElse(other);
+    }
+
+    @Override
+    public Optional<T> toOptional() {
+        return delegate.toOptional();
+    }
+
+    @Override
+    public <R> Try<R> map(TryFunction<? super T, ? extends R> function) {
+        return delegate.map(function);
+    }
+
+    @Override
+    public <R> Try<R> flatMap(TryFunction<? super T, Try<R>> function) {
+        return delegate.flatMap(function);
+    }
+
+    @Override
+    public <U, R> Try<R> combineMap(Try<U> other, TryBiFunction<? super T, ? super U, ? extends R> function) {
+        return delegate.combineMap(other, function);
+    }
+
+    @Override
+    public <U, R> Try<R> combineFlatMap(Try<U> other, TryBiFunction<? super T, ? super U, Try<R>> function) {
+        return delegate.combineFlatMap(other, function);
+    }
+
+    @Override
+    public Try<T> filter(Predicate<T> predicate) {
+        return delegate.filter(predicate);
+    }
+
+    @Override
+    public Try<T> recover(TryFunction<? super Throwable, ? extends T> function) {
+        return delegate.recover(function);
+    }
+
+    @Override
+    public <E extends Throwable> Try<T> recover(Class<E> exceptionClass, TryFunction<? super E, ? extends T> function) {
+        return delegate.recover(exceptionClass, function);
+    }
+
+    @Override
+    public Try<T> recoverWith(TryFunction<? super Throwable, Try<T>> function) {
+        return delegate.recoverWith(function);
+    }
+
+    @Override
+    public <E extends Throwable> Try<T> recoverWith(Class<E> exceptionClass, TryFunction<? super E, Try<T>> function) {
+        return delegate.recoverWith(exceptionClass, function);
+    }
+
+    @Override
+    public <R> Try<R> fold(TryFunction<? super Throwable, ? extends R> onFailure, TryFunction<? super T, ? extends R> onSuccess) {
+        return delegate.fold(onFailure, onSuccess);
+    }
+
+    @Override
+    public Try<Throwable> failed() {
+        return delegate.failed();
+    }
+
+    @Override
+    public void ifSuccess(Consumer<? super T> consumer) {
+        delegate.ifSuccess(consumer);
+    }
+
+    @Override
+    public void ifFailure(Consumer<? super Throwable> consumer) {
+        delegate.ifFailure(consumer);
+    }
+
+    @Override
+    public <E extends Throwable> void ifFailure(Class<E> exceptionClass, Consumer<? super E> consumer) {
+        delegate.ifFailure(exceptionClass, consumer);
+    }
+
+    @Override
+    public <R> Try<R> match(Consumer<TryMatcher<T, R>> match) {
+        return delegate.match(match);
+    }
+}
@@ -0,0 +1,117 @@
+package com.halofour.functionally.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FailureRetentionTest {
+    private static final String SUCCESS = "SUCCESS";
+    private static final String FAILURE = "FAILURE";
+
+    @Test
+    public void testTrimStackTrace() {
+        Exception cause = deepException(64, FAILURE);
+        Exception exception = new IllegalStateException(FAILURE, cause);
+
+        Try<String> result = FailureRetention.trimStackTrace(4).retain(Try.failure(exception));
+
+        assertThat(result.getException().get()).isSameAs(exception);
+        assertThat(exception.getStackTrace()).hasSize(4);
+        assertThat(cause.getStackTrace()).hasSize(4);
+    }
+
+    @Test
+    public void testRetainOtherImplementation() {
+        Exception exception = deepException(64, FAILURE);
+
+        Try<String> result = FailureRetention.trimStackTrace(1).retain(DelegatingTry.failure(exception));
+
+        assertThat(result.getException().get()).isSameAs(exception);
+        assertThat(exception.getStackTrace()).hasSize(1);
+        assertThat(FailureRetention.trimStackTrace(1).retain(DelegatingTry.success(SUCCESS)).getOrElse(null)).isEqualTo(SUCCESS);
+    }
+
+    @Test
+    public void testTrimStackTraceKeepsShorterStackTrace() {
+        Exception exception = new StacklessException(FAILURE);
+
+        FailureRetention.trimStackTrace(4).retainException(exception);
+
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    public void testInternSharesEquivalentExceptions() {
+        FailureRetention policy = FailureRetention.intern(16);
+        Exception first = newTimeout(FAILURE);
+        Exception second = newTimeout(FAILURE);
+
+        Try<String> firstResult = policy.retain(Try.failure(first));
+        Try<String> secondResult = policy.retain(Try.failure(second));
+
+        assertThat(firstResult.getException().get()).isSameAs(first);
+        assertThat(secondResult.getException().get()).isSameAs(first);
+    }
+
+    @Test
+    public void testInternDistinguishesMessageAndOrigin() {
+        FailureRetention policy = FailureRetention.intern(16);
+        Exception first = newTimeout(FAILURE);
+        Exception otherMessage = newTimeout("OTHER");
+        Exception otherOrigin = new TimeoutException(FAILURE);
+
+        policy.retainException(first);
+
+        assertThat(policy.retainException(otherMessage)).isSameAs(otherMessage);
+        assertThat(policy.retainException(otherOrigin)).isSameAs(otherOrigin);
+    }
+
+    @Test
+    public void testInternIsBounded() {
+        FailureRetention policy = FailureRetention.intern(1);
+        Exception first = newTimeout(FAILURE);
+        Exception other = newTimeout("OTHER");
+
+        policy.retainException(first);
+
+        assertThat(policy.retainException(other)).isSameAs(other);
+        assertThat(policy.retainException(newTimeout("OTHER"))).isNotSameAs(other);
+        assertThat(policy.retainException(newTimeout(FAILURE))).isSameAs(first);
+    }
+
+    @Test
+    public void testRetainedFailureRecoversByClass() throws Throwable {
+        FailureRetention policy = FailureRetention.intern(16).andThen(FailureRetention.trimStackTrace(1));
+        policy.retainException(newTimeout(FAILURE));
+
+        Try<String> result = policy.retain(Try.failure(newTimeout(FAILURE)));
+
+        assertThat(result.isFailure(TimeoutException.class)).isTrue();
+        assertThat(result.getException().get().getStackTrace()).hasSize(1);
+        assertThat(result.recover(TimeoutException.class, exception -> FAILURE).get()).isEqualTo(FAILURE);
+    }
+
+    @Test
+    public void testRetainSuccessReturnsSelf() {
+        Try<String> success = Try.success(FAILURE);
+
+        assertThat(FailureRetention.intern(16).retain(success)).isSameAs(success);
+    }
+
+    @Test
+    public void testRetainSameExceptionReturnsSelf() {
+        Failure<String> failure = Try.failure(newTimeout(FAILURE));
+
+        assertThat(failure.retain(exception -> exception)).isSameAs(failure);
+    }
+
+    private static Exception newTimeout(String message) {
+        return new TimeoutException(message);
+    }
+
+    private static Exception deepException(int depth, String message) {
+        return depth == 0 ? new IllegalArgumentException(message) : deepException(depth - 1, message);
+    }
+}
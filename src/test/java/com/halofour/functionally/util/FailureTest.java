@@ -1,5 +1,6 @@
 package com.halofour.functionally.util;
 
+import java.io.IOException;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -172,6 +173,21 @@ public class FailureTest {
         underTest.get();
     }
 
+    @Test
+    public void testGetUnchecked() {
+        expectedException.expect(is(EXCEPTION));
+
+        underTest.getUnchecked();
+    }
+
+    @Test
+    public void testGetUncheckedDoesNotWrapCheckedException() {
+        Exception checked = new IOException(FAILURE);
+        expectedException.expect(is(checked));
+
+        Try.failure(checked).getUnchecked();
+    }
+
     @Test
     public void testGetException() {
         Optional<Throwable> result = underTest.getException();
@@ -0,0 +1,136 @@
+package com.halofour.functionally.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class FlightEventsTest {
+    private static final String IO_RUN = "com.halofour.functionally.IORun";
+    private static final String IO_ASYNC = "com.halofour.functionally.IOAsync";
+    private static final String IO_BLOCKED = "com.halofour.functionally.IOBlocked";
+    private static final String FAILURE = "com.halofour.functionally.Failure";
+
+    @Before
+    public void setUp() {
+        assumeTrue(FlightEvents.ENABLED);
+    }
+
+    @Test
+    public void testRecordsIOEvents() throws Throwable {
+        List<RecordedEvent> events = record(() -> {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            Thread completer = new Thread(() -> {
+                // a future which is already done is read without an asynchronous suspension
+                while (future.getNumberOfDependents() == 0) {
+                    Thread.yield();
+                }
+                future.complete("SUCCESS");
+            });
+            completer.start();
+            IO<String> io = IO.async(() -> future)
+                    .map(String::toLowerCase);
+            assertThat(io.get()).isEqualTo("success");
+            completer.join();
+        });
+
+        RecordedEvent run = single(events, IO_RUN);
+        assertThat(run.getBoolean("succeeded")).isTrue();
+        assertThat(run.getDuration().isNegative()).isFalse();
+        assertThat(single(events, IO_ASYNC)).isNotNull();
+        assertThat(count(events, IO_BLOCKED)).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    public void testRecordsFailedIORun() throws Throwable {
+        List<RecordedEvent> events = record(() -> {
+            try {
+                IO.failure(new IllegalStateException("FAILURE")).get();
+            } catch (Exception ignored) { }
+        });
+
+        RecordedEvent run = single(events, IO_RUN);
+        assertThat(run.getBoolean("succeeded")).isFalse();
+        assertThat(run.getClass("exceptionClass").getName()).isEqualTo(IllegalStateException.class.getName());
+    }
+
+    @Test
+    public void testRecordsFailureCreation() throws Throwable {
+        List<RecordedEvent> events = record(() -> Failure.of(new IllegalArgumentException("FAILURE")));
+
+        RecordedEvent failure = single(events, FAILURE);
+        assertThat(failure.getClass("exceptionClass").getName()).isEqualTo(IllegalArgumentException.class.getName());
+        assertThat(failure.getString("message")).isEqualTo("FAILURE");
+    }
+
+    @Test
+    public void testThresholdFiltersShortRuns() throws Throwable {
+        List<RecordedEvent> events = record(recording -> recording.enable(IO_RUN).withThreshold(Duration.ofHours(1)),
+                () -> IO.pure("SUCCESS").get());
+
+        assertThat(count(events, IO_RUN)).isZero();
+    }
+
+    @Test
+    public void testNothingRecordedWhenDisabled() throws Throwable {
+        List<RecordedEvent> events = record(recording -> recording.disable(FAILURE),
+                () -> Failure.of(new IllegalArgumentException("FAILURE")));
+
+        assertThat(count(events, FAILURE)).isZero();
+    }
+
+    private static List<RecordedEvent> record(Action action) throws Throwable {
+        return record(recording -> { }, action);
+    }
+
+    private static List<RecordedEvent> record(Settings settings, Action action) throws Throwable {
+        Path file = Files.createTempFile("functionally", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(IO_RUN);
+            recording.enable(IO_ASYNC);
+            recording.enable(IO_BLOCKED);
+            recording.enable(FAILURE);
+            settings.apply(recording);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("com.halofour.functionally."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertThat(matching).hasSize(1);
+        return matching.get(0);
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).count();
+    }
+
+    private interface Action {
+        void run() throws Throwable;
+    }
+
+    private interface Settings {
+        void apply(Recording recording);
+    }
+}
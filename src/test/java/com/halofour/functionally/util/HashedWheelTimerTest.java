@@ -0,0 +1,122 @@
+package com.halofour.functionally.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashedWheelTimerTest {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int TIMEOUTS = 100_000;
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(TICK_NANOS, 8, "test-timer");
+
+    @After
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    public void testSchedule() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(timeout.isExpired()).isTrue();
+        assertThat(timer.pendingTimeouts()).isZero();
+    }
+
+    @Test
+    public void testScheduleSpanningRotations() throws InterruptedException {
+        List<Integer> expired = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        for (int delay : new int[] { 30, 3, 15 }) {
+            long start = System.nanoTime();
+            timer.schedule(() -> {
+                if (System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(delay)) {
+                    expired.add(delay);
+                }
+                latch.countDown();
+            }, Duration.ofMillis(delay));
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(expired).hasSize(3).containsOnly(3, 15, 30);
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(counter::incrementAndGet, 10, TimeUnit.MILLISECONDS);
+        timer.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(timeout.isCancelled()).isTrue();
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(counter.get()).isZero();
+        assertThat(timer.pendingTimeouts()).isZero();
+    }
+
+    @Test
+    public void testCancelAfterExpiry() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(latch::countDown, 1, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    public void testManyTimeouts() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(TIMEOUTS / 2);
+        AtomicInteger cancelledRuns = new AtomicInteger();
+
+        for (int i = 0; i < TIMEOUTS; i++) {
+            if (i % 2 == 0) {
+                timer.schedule(latch::countDown, 10 + i % 50, TimeUnit.MILLISECONDS);
+            } else {
+                timer.schedule(cancelledRuns::incrementAndGet, 10 + i % 50, TimeUnit.MILLISECONDS).cancel();
+            }
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelledRuns.get()).isZero();
+        assertThat(timer.pendingTimeouts()).isZero();
+    }
+
+    @Test
+    public void testNeverExpiringDelay() {
+        HashedWheelTimer.Timeout timeout = timer.schedule(() -> { }, Duration.ofSeconds(Long.MAX_VALUE));
+
+        assertThat(timer.pendingTimeouts()).isEqualTo(1);
+        assertThat(timeout.cancel()).isTrue();
+    }
+
+    @Test
+    public void testScheduleAfterStop() {
+        timer.stop();
+
+        expectedException.expect(IllegalStateException.class);
+        timer.schedule(() -> { }, 1, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,143 @@
+package com.halofour.functionally.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Runs {@link IOExecutors} from a multi-release JAR of the compiled classes, so that the Java 21 {@link IOPlatform}
+ * under {@code META-INF/versions/21} is the one which is loaded.
+ */
+public class IOPlatformTest {
+    private static final String VIRTUAL_THREADS_PROPERTY = "functionally.virtualThreads";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private URL jar;
+
+    @Before
+    public void setUp() throws Exception {
+        assumeTrue(javaVersion() >= 21);
+        Path classes = Paths.get(IOExecutors.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        assumeTrue(Files.isDirectory(classes.resolve("META-INF/versions/21")));
+        jar = multiReleaseJar(classes, temporaryFolder.newFile("functionally.jar").toPath()).toUri().toURL();
+    }
+
+    @Test
+    public void testVirtualThreadsAvailable() throws Exception {
+        try (URLClassLoader loader = newLoader()) {
+            Class<?> executors = loader.loadClass(IOExecutors.class.getName());
+
+            assertThat((Boolean) executors.getMethod("isVirtualThreadsAvailable").invoke(null)).isTrue();
+        }
+    }
+
+    @Test
+    public void testVirtualRunsOnVirtualThread() throws Exception {
+        try (URLClassLoader loader = newLoader()) {
+            Executor virtual = executor(loader, "virtual");
+
+            assertThat(isVirtual(threadOf(virtual))).isTrue();
+        }
+    }
+
+    @Test
+    public void testBlockingRunsOnVirtualThread() throws Exception {
+        String previous = System.clearProperty(VIRTUAL_THREADS_PROPERTY);
+        try (URLClassLoader loader = newLoader()) {
+            Executor blocking = executor(loader, "blocking");
+
+            assertThat(isVirtual(threadOf(blocking))).isTrue();
+        } finally {
+            restoreProperty(previous);
+        }
+    }
+
+    @Test
+    public void testBlockingVirtualThreadsDisabled() throws Exception {
+        String previous = System.setProperty(VIRTUAL_THREADS_PROPERTY, "false");
+        try (URLClassLoader loader = newLoader()) {
+            Executor blocking = executor(loader, "blocking");
+
+            assertThat(isVirtual(threadOf(blocking))).isFalse();
+        } finally {
+            restoreProperty(previous);
+        }
+    }
+
+    private URLClassLoader newLoader() {
+        // the parent is the platform class loader, so that the library classes are only found in the JAR
+        return new URLClassLoader(new URL[] { jar }, ClassLoader.getSystemClassLoader().getParent());
+    }
+
+    private static Executor executor(ClassLoader loader, String name) throws Exception {
+        return (Executor) loader.loadClass(IOExecutors.class.getName()).getMethod(name).invoke(null);
+    }
+
+    private static Thread threadOf(Executor executor) throws Exception {
+        CompletableFuture<Thread> future = new CompletableFuture<>();
+        executor.execute(() -> future.complete(Thread.currentThread()));
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        // the tests are compiled against the Java 8 API
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+
+    private static void restoreProperty(String previous) {
+        if (previous == null) {
+            System.clearProperty(VIRTUAL_THREADS_PROPERTY);
+        } else {
+            System.setProperty(VIRTUAL_THREADS_PROPERTY, previous);
+        }
+    }
+
+    private static int javaVersion() {
+        String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+
+    private static Path multiReleaseJar(Path classes, Path jar) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(new Attributes.Name("Multi-Release"), "true");
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(classes)) {
+            files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        try (OutputStream out = Files.newOutputStream(jar);
+             JarOutputStream output = new JarOutputStream(out, manifest)) {
+            for (Path file : files) {
+                output.putNextEntry(new JarEntry(classes.relativize(file).toString().replace('\\', '/')));
+                Files.copy(file, output);
+                output.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,210 @@
+package com.halofour.functionally.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IOSchedulerTest {
+    private static final int FIBERS = 100_000;
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private IOScheduler scheduler;
+
+    @After
+    public void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testFork() throws Throwable {
+        scheduler = IOScheduler.create(2, "test-fiber");
+
+        Fiber<Integer> fiber = scheduler.fork(IO.apply(() -> 1).map(x -> x + 1));
+
+        assertThat(fiber.join().get()).isEqualTo(2);
+        assertThat(fiber.isDone()).isTrue();
+        assertThat(fiber.getNow()).isEqualTo(Success.of(2));
+    }
+
+    @Test
+    public void testForkRunsOnWorker() throws Throwable {
+        scheduler = IOScheduler.create(1, "test-fiber");
+
+        Fiber<String> fiber = scheduler.fork(IO.apply(() -> Thread.currentThread().getName()));
+
+        assertThat(fiber.join().get()).isEqualTo("test-fiber-1");
+    }
+
+    @Test
+    public void testForkFailure() throws Throwable {
+        scheduler = IOScheduler.create(1, "test-fiber");
+
+        Fiber<Integer> fiber = scheduler.fork(IO.failure(new IllegalStateException("boom")));
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("boom");
+        fiber.join().get();
+    }
+
+    @Test
+    public void testResumesOnWorker() throws Throwable {
+        scheduler = IOScheduler.create(1, "test-fiber");
+
+        IO<String> io = IO.<Integer>async(callback -> new Thread(() -> {
+            try {
+                callback.accept(Success.of(1));
+            } catch (Throwable exception) {
+                throw new RuntimeException(exception);
+            }
+        }, "test-completer").start()).map(ignored -> Thread.currentThread().getName());
+
+        assertThat(scheduler.fork(io).join().get()).isEqualTo("test-fiber-1");
+    }
+
+    @Test
+    public void testSleepResumesOnWorker() throws Throwable {
+        scheduler = IOScheduler.create(1, "test-fiber");
+
+        IO<String> io = IO.sleep(Duration.ofMillis(5)).map(ignored -> Thread.currentThread().getName());
+
+        assertThat(scheduler.fork(io).join().get()).isEqualTo("test-fiber-1");
+    }
+
+    @Test
+    public void testYieldsAutomatically() throws Throwable {
+        scheduler = IOScheduler.create(1, "test-fiber", 16);
+        AtomicBoolean released = new AtomicBoolean();
+
+        Fiber<Void> spinner = scheduler.fork(spinUntil(released));
+        Fiber<Boolean> releaser = scheduler.fork(IO.apply(() -> released.getAndSet(true)));
+
+        assertThat(releaser.join().get()).isFalse();
+        assertThat(spinner.join().get()).isNull();
+        assertThat(scheduler.stats().getYields()).isGreaterThan(0);
+    }
+
+    @Test
+    public void testCede() throws Throwable {
+        scheduler = IOScheduler.create(1, "test-fiber", Integer.MAX_VALUE);
+        List<String> log = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+
+        Fiber<Boolean> blocker = scheduler.fork(IO.apply(() -> started.await(5, TimeUnit.SECONDS)));
+        Fiber<Boolean> first = scheduler.fork(IO.apply(() -> log.add("first-1"))
+                .flatMap(ignored -> IO.cede())
+                .flatMap(ignored -> IO.apply(() -> log.add("first-2"))));
+        Fiber<Boolean> second = scheduler.fork(IO.apply(() -> log.add("second")));
+        started.countDown();
+
+        assertThat(blocker.join().get()).isTrue();
+        assertThat(first.join().get()).isTrue();
+        assertThat(second.join().get()).isTrue();
+        assertThat(log).containsExactly("first-1", "second", "first-2");
+    }
+
+    @Test
+    public void testCedeWithoutScheduler() throws Throwable {
+        assertThat(IO.cede().map(ignored -> 1).get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSteals() throws Throwable {
+        scheduler = IOScheduler.create(2, "test-fiber");
+        CountDownLatch latch = new CountDownLatch(2);
+        IO<Boolean> child = IO.apply(() -> {
+            latch.countDown();
+            return latch.await(5, TimeUnit.SECONDS);
+        });
+
+        IO<List<Boolean>> parent = child.start().flatMap(left -> child.start()
+                .flatMap(right -> left.join().flatMap(l -> right.join().map(r -> {
+                    List<Boolean> results = new ArrayList<>();
+                    results.add(l);
+                    results.add(r);
+                    return results;
+                }))));
+
+        assertThat(scheduler.fork(parent).join().get()).containsExactly(true, true);
+        assertThat(scheduler.stats().getSteals()).isGreaterThan(0);
+    }
+
+    @Test
+    public void testCancel() throws Throwable {
+        scheduler = IOScheduler.create(1, "test-fiber");
+
+        Fiber<Void> fiber = scheduler.fork(IO.cede().forever());
+        fiber.cancel();
+
+        expectedException.expect(CancellationException.class);
+        fiber.join().get();
+    }
+
+    @Test
+    public void testStart() throws Throwable {
+        Integer result = IO.apply(() -> 1).start()
+                .flatMap(Fiber::join)
+                .get();
+
+        assertThat(result).isEqualTo(1);
+    }
+
+    @Test
+    public void testManyFibers() throws Throwable {
+        scheduler = IOScheduler.create(4, "test-fiber");
+        List<Fiber<Integer>> fibers = new ArrayList<>(FIBERS);
+
+        for (int i = 0; i < FIBERS; i++) {
+            int value = i;
+            fibers.add(scheduler.fork(IO.cede().map(ignored -> value)));
+        }
+        long sum = 0;
+        for (Fiber<Integer> fiber : fibers) {
+            sum += fiber.join().get();
+        }
+
+        assertThat(sum).isEqualTo((long) FIBERS * (FIBERS - 1) / 2);
+        IOScheduler.Stats stats = scheduler.stats();
+        assertThat(stats.getWorkers()).isEqualTo(4);
+        assertThat(stats.getFibers()).isZero();
+        assertThat(stats.getExecuted()).isGreaterThanOrEqualTo(2L * FIBERS);
+        assertThat(stats.getYields()).isGreaterThanOrEqualTo(FIBERS);
+    }
+
+    @Test
+    public void testForkAfterShutdown() {
+        scheduler = IOScheduler.create(1, "test-fiber");
+        scheduler.shutdown();
+
+        assertThat(scheduler.isShutdown()).isTrue();
+        expectedException.expect(RejectedExecutionException.class);
+        scheduler.fork(IO.pure(1));
+    }
+
+    @Test
+    public void testCreateRejectsNonPositiveParallelism() {
+        expectedException.expect(IllegalArgumentException.class);
+        IOScheduler.create(0, "test-fiber");
+    }
+
+    private static IO<Void> spinUntil(AtomicBoolean released) {
+        return IO.apply(released::get)
+                .flatMap(done -> done ? IO.<Void>pure(null) : spinUntil(released));
+    }
+}
@@ -1,14 +1,41 @@
 package com.halofour.functionally.util;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.halofour.functionally.util.function.TryConsumer;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeFalse;
 
 public class IOTest {
+    private static final int STEPS = 1_000_000;
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
     @Test
     public void test() throws Throwable {
 
@@ -50,4 +77,737 @@ public class IOTest {
         int result = divide.get();
         assertThat(result).isEqualTo(3);
     }
+
+    @Test
+    public void testAsyncSleep() throws Throwable {
+        Scanner scanner = new Scanner("333\n111\n");
+
+        // simulate waiting for input from the console
+        IO<String> io = IO.sleep(Duration.ofSeconds(1)).map(ignored -> scanner.nextLine());
+
+        IO<Integer> parsed = io.map(Integer::parseInt);
+        IO<Integer> divide = parsed.flatMap(x -> parsed.map(y -> x / y));
+
+        // bad, only here to test
+        int result = divide.get();
+        assertThat(result).isEqualTo(3);
+    }
+
+    @Test
+    public void testApplyIsLazy() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> io = IO.apply(counter::incrementAndGet);
+
+        assertThat(counter.get()).isEqualTo(0);
+        assertThat(io.get()).isEqualTo(1);
+        assertThat(io.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFlatMapRecursionIsStackSafe() throws Throwable {
+        int result = countDown(STEPS).get();
+        assertThat(result).isEqualTo(0);
+    }
+
+    @Test
+    public void testLeftNestedMapIsStackSafe() throws Throwable {
+        IO<Integer> io = IO.pure(0);
+        for (int i = 0; i < STEPS; i++) {
+            io = io.map(x -> x + 1);
+        }
+        int result = io.get();
+        assertThat(result).isEqualTo(STEPS);
+    }
+
+    @Test
+    public void testForever() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> io = IO.apply(() -> {
+            if (counter.incrementAndGet() == STEPS) {
+                throw new IllegalStateException("done");
+            }
+            return counter.get();
+        });
+
+        expectedException.expect(IllegalStateException.class);
+        try {
+            io.forever().get();
+        } finally {
+            assertThat(counter.get()).isEqualTo(STEPS);
+        }
+    }
+
+    @Test
+    public void testMapThrows() throws Throwable {
+        IO<Integer> io = IO.pure("foo").map(Integer::parseInt);
+
+        expectedException.expect(NumberFormatException.class);
+        io.get();
+    }
+
+    @Test
+    public void testFailureSkipsMap() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> io = IO.<Integer>failure(new IllegalArgumentException())
+                .map(counter::addAndGet);
+
+        expectedException.expect(IllegalArgumentException.class);
+        try {
+            io.get();
+        } finally {
+            assertThat(counter.get()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void testAsyncCompletedSynchronously() throws Throwable {
+        IO<Integer> io = IO.pure(0);
+        for (int i = 0; i < STEPS; i++) {
+            io = io.flatMap(x -> IO.async(onFinished -> onFinished.accept(Success.of(x + 1))));
+        }
+        int result = io.get();
+        assertThat(result).isEqualTo(STEPS);
+    }
+
+    @Test
+    public void testAsyncCompletedOnAnotherThread() throws Throwable {
+        IO<Integer> io = IO.pure(0);
+        for (int i = 0; i < 1000; i++) {
+            io = io.flatMap(x -> IO.async(onFinished -> new Thread(() -> {
+                try {
+                    onFinished.accept(Success.of(x + 1));
+                } catch (Throwable ignored) { }
+            }).start()));
+        }
+        int result = io.get();
+        assertThat(result).isEqualTo(1000);
+    }
+
+    @Test
+    public void testAsyncCompletedWithOtherImplementation() throws Throwable {
+        IO<Integer> io = IO.<Integer>async(onFinished -> onFinished.accept(DelegatingTry.success(1)))
+                .flatMap(x -> IO.async(onFinished -> new Thread(() -> {
+                    try {
+                        Thread.sleep(50);
+                        onFinished.accept(DelegatingTry.success(x + 1));
+                    } catch (Throwable ignored) { }
+                }).start()));
+
+        assertThat(io.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo(2);
+    }
+
+    @Test
+    public void testMemoize() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> parsed = IO.apply(counter::incrementAndGet).memoize();
+        IO<Integer> added = parsed.flatMap(x -> parsed.map(y -> x + y));
+
+        assertThat(added.get()).isEqualTo(2);
+        assertThat(added.get()).isEqualTo(2);
+        assertThat(counter.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testMemoizeRetainsFailure() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> io = IO.<Integer>apply(() -> {
+            counter.incrementAndGet();
+            throw new IllegalStateException();
+        }).memoize();
+
+        expectedException.expect(IllegalStateException.class);
+        try {
+            io.get();
+        } catch (IllegalStateException ignored) {
+            io.get();
+        } finally {
+            assertThat(counter.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testMemoizeSharesResultInFlight() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        CountDownLatch subscribed = new CountDownLatch(1);
+        IO<Integer> io = IO.<Integer>async(onFinished -> {
+            counter.incrementAndGet();
+            new Thread(() -> {
+                try {
+                    subscribed.await();
+                    onFinished.accept(Success.of(42));
+                } catch (Throwable ignored) { }
+            }).start();
+        }).memoize();
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return io.get();
+                } catch (Throwable exception) {
+                    throw new CompletionException(exception);
+                }
+            }));
+        }
+        while (counter.get() == 0) {
+            Thread.yield();
+        }
+        subscribed.countDown();
+
+        for (CompletableFuture<Integer> result : results) {
+            assertThat(result.get()).isEqualTo(42);
+        }
+        assertThat(counter.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testMemoizeExpires() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> io = IO.apply(counter::incrementAndGet).memoize(Duration.ofMillis(50), true);
+
+        assertThat(io.get()).isEqualTo(1);
+        assertThat(io.get()).isEqualTo(1);
+        Thread.sleep(100);
+        assertThat(io.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCachedDiscardsFailure() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> io = IO.cached(() -> {
+            if (counter.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return counter.get();
+        }, Duration.ofHours(1));
+
+        try {
+            io.get();
+        } catch (IllegalStateException ignored) { }
+        assertThat(io.get()).isEqualTo(2);
+        assertThat(io.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testShift() throws Throwable {
+        String thread = IO.shift()
+                .map(ignored -> Thread.currentThread().getName())
+                .get();
+
+        assertThat(thread).startsWith("functionally-compute-");
+    }
+
+    @Test
+    public void testBlocking() throws Throwable {
+        AtomicReference<String> blockingThread = new AtomicReference<>();
+        String thread = IO.blocking(() -> blockingThread.getAndSet(Thread.currentThread().getName()))
+                .map(ignored -> Thread.currentThread().getName())
+                .get();
+
+        assertThat(blockingThread.get()).startsWith("functionally-blocking-");
+        assertThat(thread).startsWith("functionally-compute-");
+    }
+
+    @Test
+    public void testEvalOn() throws Throwable {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-executor"));
+        try {
+            AtomicReference<String> evaluatedOn = new AtomicReference<>();
+            String continuedOn = IO.apply(() -> evaluatedOn.getAndSet(Thread.currentThread().getName()))
+                    .evalOn(executor, Runnable::run)
+                    .map(ignored -> Thread.currentThread().getName())
+                    .get();
+
+            assertThat(evaluatedOn.get()).isEqualTo("test-executor");
+            assertThat(continuedOn).isEqualTo("test-executor");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testEvalOnRejected() throws Throwable {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        expectedException.expect(RejectedExecutionException.class);
+        IO.pure(1).evalOn(executor).get();
+    }
+
+    @Test
+    public void testParSequence() throws Throwable {
+        List<TryConsumer<Try<Integer>>> callbacks = new CopyOnWriteArrayList<>();
+        List<IO<Integer>> computations = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int index = i;
+            computations.add(IO.<Integer>async(callbacks::add).map(x -> x + index));
+        }
+
+        CompletableFuture<List<Integer>> result = getAsync(IO.parSequence(computations));
+        while (callbacks.size() < 4) {
+            Thread.yield();
+        }
+        for (TryConsumer<Try<Integer>> callback : callbacks) {
+            callback.accept(Success.of(10));
+        }
+
+        assertThat(result.get()).containsExactly(10, 11, 12, 13);
+    }
+
+    @Test
+    public void testParSequenceFailsFast() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> never = IO.<Integer>async(onFinished -> { }).map(counter::addAndGet);
+        IO<Integer> failed = IO.failure(new IllegalStateException());
+
+        expectedException.expect(IllegalStateException.class);
+        try {
+            IO.parSequence(Arrays.asList(never, failed)).get();
+        } finally {
+            assertThat(counter.get()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void testParCombineMap() throws Throwable {
+        IO<Integer> left = IO.blocking(() -> 333);
+        IO<Integer> right = IO.blocking(() -> 111);
+
+        int result = left.parCombineMap(right, (x, y) -> x / y).get();
+        assertThat(result).isEqualTo(3);
+    }
+
+    @Test
+    public void testParTraverseNBoundsConcurrency() throws Throwable {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> inputs = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+
+        List<Integer> result = IO.parTraverseN(2, inputs, x -> IO.blocking(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            inFlight.decrementAndGet();
+            return x * 2;
+        })).get();
+
+        assertThat(result).containsExactly(2, 4, 6, 8, 10, 12, 14, 16);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void testParTraverseNStopsStartingAfterFailure() throws Throwable {
+        AtomicInteger started = new AtomicInteger();
+        List<Integer> inputs = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+
+        expectedException.expect(ArithmeticException.class);
+        try {
+            IO.parTraverseN(1, inputs, x -> IO.apply(() -> {
+                started.incrementAndGet();
+                return x / (x - 2);
+            })).get();
+        } finally {
+            assertThat(started.get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void testParTraverseNUnordered() throws Throwable {
+        Map<Integer, TryConsumer<Try<Integer>>> callbacks = new ConcurrentHashMap<>();
+        List<Integer> inputs = Arrays.asList(1, 2, 3);
+
+        CompletableFuture<List<Integer>> result = getAsync(IO.parTraverseNUnordered(3, inputs,
+                x -> IO.<Integer>async(onFinished -> callbacks.put(x, onFinished))));
+        while (callbacks.size() < 3) {
+            Thread.yield();
+        }
+        callbacks.get(3).accept(Success.of(3));
+        callbacks.get(1).accept(Success.of(1));
+        callbacks.get(2).accept(Success.of(2));
+
+        assertThat(result.get()).containsExactly(3, 1, 2);
+    }
+
+    @Test
+    public void testAsyncCompletedFuture() throws Throwable {
+        IO<Integer> io = IO.pure(0);
+        for (int i = 0; i < STEPS; i++) {
+            io = io.flatMap(x -> IO.async(() -> CompletableFuture.completedFuture(x + 1)));
+        }
+
+        assertThat(io.get()).isEqualTo(STEPS);
+    }
+
+    @Test
+    public void testAsyncFailedFuture() throws Throwable {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalArgumentException());
+
+        expectedException.expect(IllegalArgumentException.class);
+        IO.async(() -> future).get();
+    }
+
+    @Test
+    public void testAsyncCancelledFuture() throws Throwable {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        future.cancel(false);
+
+        expectedException.expect(CancellationException.class);
+        IO.async(() -> future).get();
+    }
+
+    @Test
+    public void testAsyncPendingFuture() throws Throwable {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletableFuture<Integer> result = getAsync(IO.async(() -> future).map(x -> x + 1));
+
+        future.complete(1);
+
+        assertThat(result.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testAsyncNullFuture() throws Throwable {
+        expectedException.expect(NullPointerException.class);
+        IO.<Integer>async(() -> null).get();
+    }
+
+    @Test
+    public void testRunAsync() throws Throwable {
+        AtomicReference<TryConsumer<Try<Integer>>> callback = new AtomicReference<>();
+        AtomicReference<Try<Integer>> result = new AtomicReference<>();
+
+        IO.<Integer>async(callback::set)
+                .map(x -> x + 1)
+                .runAsync(result::set);
+
+        assertThat(result.get()).isNull();
+        callback.get().accept(Success.of(1));
+        assertThat(result.get()).isEqualTo(Success.of(2));
+    }
+
+    @Test
+    public void testRunAsyncCompletesSynchronously() {
+        AtomicReference<Try<Integer>> result = new AtomicReference<>();
+
+        IO.pure(1).runAsync(result::set);
+
+        assertThat(result.get()).isEqualTo(Success.of(1));
+    }
+
+    @Test
+    public void testToCompletableFuture() throws Throwable {
+        CompletableFuture<Integer> future = IO.pure(1).map(x -> x + 1).toCompletableFuture();
+
+        assertThat(future.getNow(null)).isEqualTo(2);
+    }
+
+    @Test
+    public void testToCompletableFutureFailure() throws Throwable {
+        IllegalArgumentException exception = new IllegalArgumentException();
+
+        CompletableFuture<Integer> future = IO.<Integer>failure(exception).toCompletableFuture();
+
+        assertThat(future.isCompletedExceptionally()).isTrue();
+        assertThat(future.handle((value, failure) -> failure).get()).isSameAs(exception);
+    }
+
+    @Test
+    public void testGetRethrowsOriginalException() throws Throwable {
+        IllegalStateException exception = new IllegalStateException();
+
+        try {
+            IO.failure(exception).map(x -> x).get();
+        } catch (IllegalStateException caught) {
+            assertThat(caught).isSameAs(exception);
+            return;
+        }
+        throw new AssertionError("Expected IllegalStateException");
+    }
+
+    @Test
+    public void testAttemptSuccess() throws Throwable {
+        assertThat(IO.pure(1).attempt().get()).isEqualTo(Success.of(1));
+    }
+
+    @Test
+    public void testAttemptFailure() throws Throwable {
+        IllegalStateException exception = new IllegalStateException();
+
+        Try<Integer> result = IO.<Integer>failure(exception).map(x -> x + 1).attempt().get();
+
+        assertThat(result.getException().get()).isSameAs(exception);
+    }
+
+    @Test
+    public void testRecover() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> io = IO.<Integer>apply(() -> {
+            throw new IllegalStateException();
+        }).map(counter::addAndGet).recover(exception -> -1).map(x -> x * 2);
+
+        assertThat(io.get()).isEqualTo(-2);
+        assertThat(counter.get()).isZero();
+    }
+
+    @Test
+    public void testRecoverSkippedOnSuccess() throws Throwable {
+        assertThat(IO.pure(1).recover(exception -> -1).map(x -> x + 1).get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRecoverByClass() throws Throwable {
+        IO<Integer> io = IO.<Integer>failure(new IllegalArgumentException())
+                .recover(IllegalStateException.class, exception -> 1)
+                .recover(IllegalArgumentException.class, exception -> 2);
+
+        assertThat(io.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRecoverByClassNotMatched() throws Throwable {
+        IO<Integer> io = IO.<Integer>failure(new IllegalArgumentException())
+                .recover(IllegalStateException.class, exception -> 1);
+
+        expectedException.expect(IllegalArgumentException.class);
+        io.get();
+    }
+
+    @Test
+    public void testRecoverThrows() throws Throwable {
+        IO<Integer> io = IO.<Integer>failure(new IllegalArgumentException())
+                .recover(exception -> {
+                    throw new IllegalStateException();
+                });
+
+        expectedException.expect(IllegalStateException.class);
+        io.get();
+    }
+
+    @Test
+    public void testNestedRecoverHandlesInnerFailureFirst() throws Throwable {
+        IO<String> io = IO.<String>failure(new IllegalArgumentException())
+                .recover(exception -> "inner")
+                .flatMap(value -> IO.<String>failure(new IllegalStateException(value)))
+                .recover(exception -> "outer " + exception.getMessage());
+
+        assertThat(io.get()).isEqualTo("outer inner");
+    }
+
+    @Test
+    public void testRecoverWith() throws Throwable {
+        IO<Integer> io = IO.<Integer>failure(new IllegalArgumentException())
+                .recoverWith(exception -> IO.async(() -> CompletableFuture.supplyAsync(() -> 3)));
+
+        assertThat(io.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testRecoverWithByClass() throws Throwable {
+        IO<Integer> io = IO.<Integer>failure(new IllegalArgumentException("FAILURE"))
+                .recoverWith(IllegalArgumentException.class, exception -> IO.pure(exception.getMessage().length()));
+
+        assertThat(io.get()).isEqualTo(7);
+    }
+
+    @Test
+    public void testRecoverWithReturnsNull() throws Throwable {
+        IO<Integer> io = IO.<Integer>failure(new IllegalArgumentException())
+                .recoverWith(exception -> null);
+
+        expectedException.expect(NullPointerException.class);
+        io.get();
+    }
+
+    @Test
+    public void testRecoverAsyncFailure() throws Throwable {
+        IO<Integer> io = IO.<Integer>async(callback -> new Thread(() -> {
+            try {
+                callback.accept(Failure.of(new IllegalStateException()));
+            } catch (Throwable ignored) { }
+        }).start()).recover(exception -> 5);
+
+        assertThat(io.get()).isEqualTo(5);
+    }
+
+    @Test
+    public void testRecoverIsStackSafe() throws Throwable {
+        IO<Integer> io = IO.failure(new IllegalStateException());
+        for (int i = 0; i < STEPS; i++) {
+            io = io.recoverWith(exception -> IO.failure(exception));
+        }
+
+        expectedException.expect(IllegalStateException.class);
+        io.get();
+    }
+
+    @Test
+    public void testFoldSuccess() throws Throwable {
+        assertThat(IO.pure(1).fold(exception -> "failure", value -> "success " + value).get()).isEqualTo("success 1");
+    }
+
+    @Test
+    public void testFoldFailure() throws Throwable {
+        IO<String> io = IO.<Integer>failure(new IllegalStateException())
+                .fold(exception -> "failure", value -> "success " + value);
+
+        assertThat(io.get()).isEqualTo("failure");
+    }
+
+    @Test
+    public void testFoldSuccessThrowsIsNotRecovered() throws Throwable {
+        IO<String> io = IO.pure(1).fold(exception -> "failure", value -> {
+            throw new IllegalStateException();
+        });
+
+        expectedException.expect(IllegalStateException.class);
+        io.get();
+    }
+
+    @Test
+    public void testVirtualUnavailableBeforeJava21() {
+        assumeFalse(IOExecutors.isVirtualThreadsAvailable());
+
+        expectedException.expect(UnsupportedOperationException.class);
+        IOExecutors.virtual();
+    }
+
+    @Test
+    public void testNewVirtualThreadPerTaskExecutorUnavailableBeforeJava21() {
+        assumeFalse(IOExecutors.isVirtualThreadsAvailable());
+
+        expectedException.expect(UnsupportedOperationException.class);
+        IOExecutors.newVirtualThreadPerTaskExecutor("test");
+    }
+
+    private static <T> CompletableFuture<T> getAsync(IO<T> io) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return io.get();
+            } catch (Throwable exception) {
+                throw new CompletionException(exception);
+            }
+        });
+    }
+
+    @Test
+    public void testSleep() throws Throwable {
+        long start = System.nanoTime();
+
+        Integer result = IO.sleep(Duration.ofMillis(20)).map(ignored -> 1).get();
+
+        assertThat(result).isEqualTo(1);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+    }
+
+    @Test
+    public void testSleepContinuesOffTimerThread() throws Throwable {
+        String thread = IO.sleep(Duration.ofMillis(1)).map(ignored -> Thread.currentThread().getName()).get();
+
+        assertThat(thread).doesNotContain("timer");
+    }
+
+    @Test
+    public void testDelayByIsLazy() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> io = IO.apply(counter::incrementAndGet).delayBy(Duration.ofMillis(10));
+
+        assertThat(counter.get()).isZero();
+        assertThat(io.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTimeoutCompletesFirst() throws Throwable {
+        Integer result = IO.sleep(Duration.ofMillis(1)).map(ignored -> 1)
+                .timeout(Duration.ofSeconds(5))
+                .get();
+
+        assertThat(result).isEqualTo(1);
+    }
+
+    @Test
+    public void testTimeoutFailsFirst() throws Throwable {
+        IO<Integer> io = IO.sleep(Duration.ofSeconds(5)).map(ignored -> 1)
+                .timeout(Duration.ofMillis(10));
+
+        expectedException.expect(TimeoutException.class);
+        io.get();
+    }
+
+    @Test
+    public void testTimeoutCancelsComputation() throws Throwable {
+        AtomicInteger counter = new AtomicInteger();
+        IO<Integer> io = IO.sleep(Duration.ofMillis(50)).map(ignored -> counter.incrementAndGet())
+                .timeout(Duration.ofMillis(5))
+                .recover(TimeoutException.class, exception -> -1);
+
+        assertThat(io.get()).isEqualTo(-1);
+        Thread.sleep(100);
+        assertThat(counter.get()).isZero();
+    }
+
+    @Test
+    public void testTimeoutOfFailure() throws Throwable {
+        IO<Integer> io = IO.<Integer>failure(new IllegalStateException("boom")).timeout(Duration.ofSeconds(5));
+
+        expectedException.expect(IllegalStateException.class);
+        io.get();
+    }
+
+    @Test
+    public void testFatalErrorOnCallbackThreadCompletesRun() throws Throwable {
+        IO<Integer> io = IO.<Integer>async(callback -> {
+            Thread thread = new Thread(() -> {
+                try {
+                    callback.accept(Success.of(1));
+                } catch (Throwable ignored) { }
+            }, "test-completer");
+            thread.setUncaughtExceptionHandler((t, e) -> { });
+            thread.start();
+        }).map(value -> {
+            throw new LinkageError("fatal");
+        });
+
+        expectedException.expect(LinkageError.class);
+        expectedException.expectMessage("fatal");
+        io.get();
+    }
+
+    @Test
+    public void testAsyncCallbackJoinedByRegistrar() throws Throwable {
+        IO<Integer> io = IO.async(callback -> {
+            Thread thread = new Thread(() -> {
+                try {
+                    callback.accept(Success.of(1));
+                } catch (Throwable ignored) { }
+            }, "test-completer");
+            thread.start();
+            thread.join();
+        });
+
+        assertThat(io.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testParTraverseDoesNotStartAfterFailure() throws Throwable {
+        AtomicReference<TryConsumer<Try<Integer>>> first = new AtomicReference<>();
+        AtomicInteger started = new AtomicInteger();
+        IO<List<Integer>> io = IOParallel.traverse(Arrays.asList(0, 1), index -> {
+            if (index == 0) {
+                return IO.<Integer>async(first::set);
+            }
+            // fails the traversal while the second computation is being created
+            first.get().accept(Failure.of(new IllegalStateException("boom")));
+            return IO.apply(started::incrementAndGet);
+        }, 2, true, Runnable::run);
+
+        assertThat(io.attempt().get().isFailure(IllegalStateException.class)).isTrue();
+        assertThat(started.get()).isZero();
+    }
+
+    private static IO<Integer> countDown(int n) {
+        if (n == 0) {
+            return IO.pure(0);
+        }
+        return IO.pure(n).flatMap(x -> countDown(x - 1));
+    }
 }
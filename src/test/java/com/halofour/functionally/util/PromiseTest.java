@@ -0,0 +1,123 @@
+package com.halofour.functionally.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PromiseTest {
+    private static final Exception EXCEPTION = new IllegalArgumentException("FAILURE");
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void testComplete() throws Throwable {
+        Promise<String> promise = new Promise<>();
+
+        assertThat(promise.isDone()).isFalse();
+        assertThat(promise.getNow()).isNull();
+        assertThat(promise.complete(Success.of("SUCCESS"))).isTrue();
+
+        assertThat(promise.isDone()).isTrue();
+        assertThat(promise.getNow()).isEqualTo(Success.of("SUCCESS"));
+    }
+
+    @Test
+    public void testCompletesOnce() throws Throwable {
+        Promise<String> promise = new Promise<>();
+        promise.complete(Success.of("SUCCESS"));
+
+        assertThat(promise.complete(Failure.of(EXCEPTION))).isFalse();
+        assertThat(promise.getNow()).isEqualTo(Success.of("SUCCESS"));
+    }
+
+    @Test
+    public void testCallbacksInvokedInRegistrationOrder() throws Throwable {
+        Promise<String> promise = new Promise<>();
+        List<String> invoked = new ArrayList<>();
+        promise.onComplete(result -> invoked.add("first"));
+        promise.onComplete(result -> invoked.add("second"));
+        promise.onComplete(result -> invoked.add("third"));
+
+        promise.complete(Success.of("SUCCESS"));
+
+        assertThat(invoked).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    public void testCallbackAfterCompletionInvokedImmediately() throws Throwable {
+        Promise<String> promise = new Promise<>();
+        promise.complete(Failure.of(EXCEPTION));
+        List<Try<String>> results = new ArrayList<>();
+
+        promise.onComplete(results::add);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testCallbackReceivesFailureUnwrapped() throws Throwable {
+        Promise<String> promise = new Promise<>();
+        List<Throwable> exceptions = new ArrayList<>();
+        promise.onComplete(result -> exceptions.add(result.getException().get()));
+
+        promise.complete(Failure.of(EXCEPTION));
+
+        assertThat(exceptions).containsExactly(EXCEPTION);
+    }
+
+    @Test
+    public void testCallbackExceptionDoesNotStopOtherCallbacks() throws Throwable {
+        Promise<String> promise = new Promise<>();
+        AtomicInteger invoked = new AtomicInteger();
+        promise.onComplete(result -> {
+            throw new IllegalStateException();
+        });
+        promise.onComplete(result -> invoked.incrementAndGet());
+
+        expectedException.expect(IllegalStateException.class);
+        try {
+            promise.complete(Success.of("SUCCESS"));
+        } finally {
+            assertThat(invoked.get()).isEqualTo(1);
+            assertThat(promise.isDone()).isTrue();
+        }
+    }
+
+    @Test
+    public void testConcurrentCallbacks() throws Throwable {
+        Promise<Integer> promise = new Promise<>();
+        AtomicInteger invoked = new AtomicInteger();
+        CountDownLatch registered = new CountDownLatch(4);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 1000; j++) {
+                        promise.onComplete(result -> invoked.incrementAndGet());
+                        if (j == 500) {
+                            registered.countDown();
+                        }
+                    }
+                } catch (Throwable ignored) { }
+            });
+            threads[i].start();
+        }
+        registered.await();
+
+        promise.complete(Success.of(1));
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(invoked.get()).isEqualTo(4000);
+    }
+}
@@ -0,0 +1,68 @@
+package com.halofour.functionally.util;
+
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecoveryTableTest {
+    private static final String SUCCESS = "SUCCESS";
+    private static final String FAILURE = "FAILURE";
+    private static final Exception EXCEPTION = new IllegalArgumentException(FAILURE);
+
+    private final RecoveryTable<String> table = RecoveryTable.<String, Exception>of(Exception.class, exception -> "exception")
+            .on(IOException.class, exception -> "io")
+            .on(FileNotFoundException.class, exception -> "not found")
+            .onWith(TimeoutException.class, exception -> Try.success("timeout"));
+
+    @Test
+    public void testRecoverMostSpecific() throws Throwable {
+        assertThat(Try.<String>failure(new FileNotFoundException()).recoverAll(table).get()).isEqualTo("not found");
+        assertThat(Try.<String>failure(new IOException()).recoverAll(table).get()).isEqualTo("io");
+        assertThat(Try.<String>failure(new TimeoutException()).recoverAll(table).get()).isEqualTo("timeout");
+        assertThat(Try.<String>failure(EXCEPTION).recoverAll(table).get()).isEqualTo("exception");
+    }
+
+    @Test
+    public void testRecoverSubclassOfRegisteredClass() throws Throwable {
+        Exception exception = new FileNotFoundException() { };
+
+        assertThat(Try.<String>failure(exception).recoverAll(table).get()).isEqualTo("not found");
+    }
+
+    @Test
+    public void testUnregisteredExceptionReturnsSelf() {
+        Try<String> failure = Try.failure(new StackOverflowErrorLike());
+
+        assertThat(failure.recoverAll(table)).isSameAs(failure);
+    }
+
+    @Test
+    public void testSuccessReturnsSelf() {
+        Try<String> success = Try.success(SUCCESS);
+
+        assertThat(success.recoverAll(table)).isSameAs(success);
+    }
+
+    @Test
+    public void testFunctionThrows() {
+        RecoveryTable<String> throwing = RecoveryTable.of(IllegalArgumentException.class, exception -> { throw exception; });
+
+        assertThat(Try.<String>failure(EXCEPTION).recoverAll(throwing).getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testOnReturnsCopy() throws Throwable {
+        RecoveryTable<String> replaced = table.on(IOException.class, exception -> "replaced");
+
+        assertThat(Try.<String>failure(new IOException()).recoverAll(replaced).get()).isEqualTo("replaced");
+        assertThat(Try.<String>failure(new IOException()).recoverAll(table).get()).isEqualTo("io");
+    }
+
+    private static final class StackOverflowErrorLike extends Error {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,225 @@
+package com.halofour.functionally.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SerializedTryTest {
+    private static final String FAILURE = "FAILURE";
+    private static final int ROUND_TRIPS = 500;
+
+    /**
+     * A {@code Failure[IllegalStateException: FAILURE]} caused by an {@code IOException: root}, as serialized with
+     * the default form of {@link Failure} before {@link SerializedTry}
+     */
+    private static final String LEGACY_FAILURE =
+            "rO0ABXNyACZjb20uaGFsb2ZvdXIuZnVuY3Rpb25hbGx5LnV0aWwuRmFpbHVyZSIKn4yMfGJSAgABTAAJZXhjZXB0aW9udAAVTGph" +
+            "dmEvbGFuZy9UaHJvd2FibGU7eHBzcgAfamF2YS5sYW5nLklsbGVnYWxTdGF0ZUV4Y2VwdGlvbuZXVeaaRvJIAgAAeHIAGmphdmEu" +
+            "bGFuZy5SdW50aW1lRXhjZXB0aW9unl8GRwo0g+UCAAB4cgATamF2YS5sYW5nLkV4Y2VwdGlvbtD9Hz4aOxzEAgAAeHIAE2phdmEu" +
+            "bGFuZy5UaHJvd2FibGXVxjUnOXe4ywMABEwABWNhdXNlcQB+AAFMAA1kZXRhaWxNZXNzYWdldAASTGphdmEvbGFuZy9TdHJpbmc7" +
+            "WwAKc3RhY2tUcmFjZXQAHltMamF2YS9sYW5nL1N0YWNrVHJhY2VFbGVtZW50O0wAFHN1cHByZXNzZWRFeGNlcHRpb25zdAAQTGph" +
+            "dmEvdXRpbC9MaXN0O3hwc3IAE2phdmEuaW8uSU9FeGNlcHRpb25sgHNkZSXwqwIAAHhxAH4ABXEAfgAMdAAEcm9vdHVyAB5bTGph" +
+            "dmEubGFuZy5TdGFja1RyYWNlRWxlbWVudDsCRio8PP0iOQIAAHhwAAAAAHNyAB9qYXZhLnV0aWwuQ29sbGVjdGlvbnMkRW1wdHlM" +
+            "aXN0ergXtDynnt4CAAB4cHh0AAdGQUlMVVJFdXEAfgAOAAAAAXNyABtqYXZhLmxhbmcuU3RhY2tUcmFjZUVsZW1lbnRhCcWaJjbd" +
+            "hQIACEIABmZvcm1hdEkACmxpbmVOdW1iZXJMAA9jbGFzc0xvYWRlck5hbWVxAH4AB0wADmRlY2xhcmluZ0NsYXNzcQB+AAdMAAhm" +
+            "aWxlTmFtZXEAfgAHTAAKbWV0aG9kTmFtZXEAfgAHTAAKbW9kdWxlTmFtZXEAfgAHTAANbW9kdWxlVmVyc2lvbnEAfgAHeHAAAAAA" +
+            "B3B0AAZMZWdhY3l0AAtMZWdhY3kuamF2YXQAA3J1bnBwcQB+ABF4";
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void testSuccessRoundTrip() throws Exception {
+        Try<String> result = roundTrip(Success.of("SUCCESS"));
+
+        assertThat(result).isEqualTo(Success.of("SUCCESS"));
+    }
+
+    @Test
+    public void testSuccessRoundTripSharesCommonValues() throws Exception {
+        assertThat(roundTrip(Success.of(true))).isSameAs(Success.of(true));
+        assertThat(roundTrip(Success.of(42))).isSameAs(Success.of(42));
+        assertThat(roundTrip(Success.ofNull())).isSameAs(Success.ofNull());
+    }
+
+    @Test
+    public void testSuccessIsSmallerThanDefaultSerialization() throws Exception {
+        assertThat(serialize(Success.of("SUCCESS")).length).isLessThan(80);
+    }
+
+    @Test
+    public void testFailureRoundTrip() throws Exception {
+        IllegalStateException exception = new IllegalStateException(FAILURE, new IOException("cause"));
+
+        Try<String> result = roundTrip(Failure.of(exception));
+
+        assertThat(result.isFailure()).isTrue();
+        Throwable deserialized = result.getException().get();
+        assertThat(deserialized).isExactlyInstanceOf(IllegalStateException.class).hasMessage(FAILURE);
+        assertThat(deserialized.getCause()).isInstanceOf(IOException.class);
+        assertThat(deserialized.getStackTrace()).isEqualTo(exception.getStackTrace());
+    }
+
+    @Test
+    public void testLegacyFailureRoundTrip() throws Exception {
+        Try<String> legacy = deserialize(Base64.getDecoder().decode(LEGACY_FAILURE));
+
+        Try<String> result = roundTrip(legacy);
+
+        Throwable deserialized = result.getException().get();
+        assertThat(deserialized).isExactlyInstanceOf(IllegalStateException.class).hasMessage(FAILURE);
+        assertThat(deserialized.getCause()).isExactlyInstanceOf(IOException.class).hasMessage("root");
+        assertThat(deserialized.getStackTrace()).hasSize(1);
+        assertThat(deserialized.getStackTrace()[0].getClassName()).isEqualTo("Legacy");
+    }
+
+    @Test
+    public void testCompactFailureRoundTrip() throws Exception {
+        IllegalStateException exception = new IllegalStateException(FAILURE, new IOException("cause"));
+
+        Try<String> result = roundTrip(Failure.<String>of(exception).compact(3));
+
+        Throwable deserialized = result.getException().get();
+        assertThat(deserialized).isExactlyInstanceOf(IllegalStateException.class).hasMessage(FAILURE);
+        assertThat(deserialized.getCause()).isNull();
+        assertSameFrames(deserialized.getStackTrace(), Arrays.copyOf(exception.getStackTrace(), 3));
+    }
+
+    @Test
+    public void testCompactFailureWithoutFrames() throws Exception {
+        Try<String> result = roundTrip(Failure.<String>of(new IllegalStateException()).compact(0));
+
+        Throwable deserialized = result.getException().get();
+        assertThat(deserialized).isExactlyInstanceOf(IllegalStateException.class);
+        assertThat(deserialized.getMessage()).isNull();
+        assertThat(deserialized.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    public void testCompactFailureWithoutMessageConstructor() throws Exception {
+        Try<String> result = roundTrip(Failure.<String>of(new NoMessageException()).compact(1));
+
+        Throwable deserialized = result.getException().get();
+        assertThat(deserialized).isExactlyInstanceOf(CompactException.class).hasMessage("no message");
+        assertThat(((CompactException) deserialized).getExceptionClassName()).isEqualTo(NoMessageException.class.getName());
+        assertThat(deserialized.toString()).isEqualTo(NoMessageException.class.getName() + ": no message");
+        assertThat(deserialized.getStackTrace()).hasSize(1);
+    }
+
+    @Test
+    public void testCompactFailureIsSmallerThanFullFailure() throws Exception {
+        Failure<String> failure = Failure.of(deepException(64));
+
+        int full = serialize(failure).length;
+        int compact = serialize(failure.compact(4)).length;
+
+        assertThat(compact).isLessThan(full / 10);
+        assertThat(serialize(failure.compact(0)).length).isLessThan(compact);
+    }
+
+    @Test
+    public void testCompactFailureRoundTripIsFasterThanFullFailure() throws Exception {
+        Failure<String> failure = Failure.of(deepException(64));
+        Failure<String> compact = failure.compact(4);
+        for (int i = 0; i < ROUND_TRIPS; i++) {
+            roundTrip(failure);
+            roundTrip(compact);
+        }
+
+        long fullNanos = time(failure);
+        long compactNanos = time(compact);
+
+        assertThat(compactNanos).isLessThan(fullNanos);
+    }
+
+    @Test
+    public void testCompactRejectsNegativeFrames() {
+        Failure<String> failure = Failure.of(new IllegalStateException());
+
+        expectedException.expect(IllegalArgumentException.class);
+        failure.compact(-1);
+    }
+
+    @Test
+    public void testCompactIsEqualToFailure() {
+        Failure<String> failure = Failure.of(new IllegalStateException());
+
+        assertThat(failure.compact(2)).isEqualTo(failure);
+        assertThat(failure.compact(2).compact(2)).isEqualTo(failure);
+    }
+
+    @Test
+    public void testRetainPreservesCompact() throws Exception {
+        Failure<String> failure = Failure.<String>of(new IllegalStateException(FAILURE, new IOException())).compact(0);
+
+        Try<String> result = roundTrip(failure.retain(FailureRetention.trimStackTrace(1)));
+
+        assertThat(result.getException().get().getCause()).isNull();
+    }
+
+    private static long time(Try<String> computation) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUND_TRIPS; i++) {
+            roundTrip(computation);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Throwable deepException(int depth) {
+        if (depth == 0) {
+            return new IllegalStateException(FAILURE, new IOException("cause"));
+        }
+        return deepException(depth - 1);
+    }
+
+    private static <T> Try<T> roundTrip(Try<T> computation) throws Exception {
+        return deserialize(serialize(computation));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Try<T> deserialize(byte[] bytes) throws Exception {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (Try<T>) input.readObject();
+        }
+    }
+
+    private static byte[] serialize(Try<?> computation) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(computation);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static class NoMessageException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public NoMessageException() {
+            super("no message");
+        }
+    }
+
+    /**
+     * Compares the frames field by field, as on Java 9 and later {@link StackTraceElement#equals(Object)} also
+     * compares the module and class loader, which the compact form does not carry
+     */
+    private static void assertSameFrames(StackTraceElement[] actual, StackTraceElement[] expected) {
+        assertThat(actual).hasSize(expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(actual[i].getClassName()).isEqualTo(expected[i].getClassName());
+            assertThat(actual[i].getMethodName()).isEqualTo(expected[i].getMethodName());
+            assertThat(actual[i].getFileName()).isEqualTo(expected[i].getFileName());
+            assertThat(actual[i].getLineNumber()).isEqualTo(expected[i].getLineNumber());
+        }
+    }
+}
@@ -11,6 +11,10 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -100,6 +104,11 @@ public class SuccessTest {
         assertThat(underTest.get()).isEqualTo(SUCCESS);
     }
 
+    @Test
+    public void testGetUnchecked() {
+        assertThat(underTest.getUnchecked()).isEqualTo(SUCCESS);
+    }
+
     @Test
     public void testGetException() {
         Optional<Throwable> result = underTest.getException();
@@ -290,6 +299,7 @@ public class SuccessTest {
 
         assertThat(result).isInstanceOf(Failure.class);
         assertThat(result.getException().get()).isInstanceOf(NoSuchElementException.class);
+        assertThat(result.getException().get().getStackTrace()).isEmpty();
 
         verify(predicate, times(1)).test(SUCCESS);
     }
@@ -375,6 +385,7 @@ public class SuccessTest {
 
         assertThat(inverted).isInstanceOf(Failure.class);
         assertThat(inverted.getException().get()).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(inverted.getException().get().getStackTrace()).isEmpty();
     }
 
     @Test
@@ -616,4 +627,63 @@ public class SuccessTest {
     public void testEqualsOtherObject() {
         assertThat(underTest.equals(new Object())).isFalse();
     }
+
+    @Test
+    public void testMapSameValueReturnsSelf() throws Throwable {
+        doReturn(SUCCESS).when(mapFunction).apply(SUCCESS);
+
+        Try<String> result = underTest.map(mapFunction);
+
+        assertThat(result).isSameAs(underTest);
+    }
+
+    @Test
+    public void testOfSharesCommonValues() {
+        assertThat(Success.of(null)).isSameAs(Success.ofNull());
+        assertThat(Success.of(Boolean.TRUE)).isSameAs(Success.of(true));
+        assertThat(Success.of(Boolean.FALSE)).isSameAs(Success.of(false));
+        assertThat(Success.of(Optional.empty())).isSameAs(Success.of(Optional.empty()));
+        assertThat(Success.of(-128)).isSameAs(Success.of(-128));
+        assertThat(Success.of(127)).isSameAs(Success.of(127));
+    }
+
+    @Test
+    public void testOfDoesNotShareOtherValues() throws Exception {
+        assertThat(Success.of(128)).isNotSameAs(Success.of(128));
+        assertThat(Success.of(uncachedInteger(1))).isNotSameAs(Success.of(1));
+        assertThat(Success.of(Optional.of(SUCCESS))).isNotSameAs(Success.of(Optional.of(SUCCESS)));
+    }
+
+    @Test
+    public void testOfSharedValuePreservesIdentity() throws Exception {
+        Integer value = uncachedInteger(1);
+
+        assertThat(value).isNotSameAs(Integer.valueOf(1));
+        assertThat(Success.of(value).get()).isSameAs(value);
+    }
+
+    @Test
+    public void testDeserializesToSharedInstance() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(Success.of(true));
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(input.readObject()).isSameAs(Success.of(true));
+        }
+    }
+
+    /**
+     * Returns an {@link Integer} of the {@code value} which is not the instance cached by {@link Integer#valueOf(int)},
+     * by copying it through serialization rather than through its deprecated constructor
+     */
+    private static Integer uncachedInteger(int value) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(value);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (Integer) input.readObject();
+        }
+    }
 }
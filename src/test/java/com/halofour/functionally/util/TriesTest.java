@@ -0,0 +1,117 @@
+package com.halofour.functionally.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TriesTest {
+    private static final int COUNT = 100_000;
+    private static final Exception EXCEPTION = new IllegalArgumentException("FAILURE");
+
+    @Test
+    public void testPartitioning() {
+        Tries.Partition<String> partition = Stream.of(Try.success("a"), Try.<String>failure(EXCEPTION), Try.success("b"))
+                .collect(Tries.partitioning());
+
+        assertThat(partition.getValues()).containsExactly("a", "b");
+        assertThat(partition.getExceptions()).containsExactly(EXCEPTION);
+    }
+
+    @Test
+    public void testOtherImplementations() throws Throwable {
+        List<Try<String>> computations = Arrays.asList(DelegatingTry.success("a"), DelegatingTry.<String>failure(EXCEPTION),
+                DelegatingTry.success("b"));
+
+        Tries.Partition<String> partition = computations.stream().collect(Tries.partitioning());
+        assertThat(partition.getValues()).containsExactly("a", "b");
+        assertThat(partition.getExceptions()).containsExactly(EXCEPTION);
+        assertThat(computations.stream().collect(Tries.successes())).containsExactly("a", "b");
+        assertThat(computations.stream().collect(Tries.failureCountsByClass()))
+                .hasSize(1).containsEntry(IllegalArgumentException.class, 1L);
+        assertThat(computations.stream().collect(Tries.reducing("", String::concat))).isEqualTo("ab");
+        assertThat(computations.stream().collect(Tries.firstFailureOrList()).getException().get()).isSameAs(EXCEPTION);
+        assertThat(Stream.of(DelegatingTry.success("a")).collect(Tries.firstFailureOrList()).get()).containsExactly("a");
+    }
+
+    @Test
+    public void testPartitioningParallel() {
+        Tries.Partition<Integer> partition = computations().parallel().collect(Tries.partitioning());
+
+        assertThat(partition.getValues()).hasSize(COUNT - COUNT / 3 - 1);
+        assertThat(partition.getValues()).isSorted();
+        assertThat(partition.getExceptions()).hasSize(COUNT / 3 + 1);
+    }
+
+    @Test
+    public void testSuccessesParallel() {
+        List<Integer> values = computations().parallel().collect(Tries.successes());
+
+        assertThat(values).hasSize(COUNT - COUNT / 3 - 1);
+        assertThat(values).isSorted();
+    }
+
+    @Test
+    public void testFailureCountsByClass() {
+        Map<Class<? extends Throwable>, Long> counts = Stream.of(Try.failure(EXCEPTION), Try.success(1),
+                Try.failure(new IOException()), Try.failure(new IllegalArgumentException()))
+                .collect(Tries.failureCountsByClass());
+
+        assertThat(counts).hasSize(2)
+                .containsEntry(IllegalArgumentException.class, 2L)
+                .containsEntry(IOException.class, 1L);
+    }
+
+    @Test
+    public void testFailureCountsByClassParallel() {
+        Map<Class<? extends Throwable>, Long> counts = computations().parallel().collect(Tries.failureCountsByClass());
+
+        assertThat(counts).hasSize(1).containsEntry(IllegalArgumentException.class, (long) COUNT / 3 + 1);
+    }
+
+    @Test
+    public void testFirstFailureOrList() throws Throwable {
+        Try<List<Integer>> result = IntStream.range(0, COUNT).boxed().parallel()
+                .map(Try::success)
+                .collect(Tries.firstFailureOrList());
+
+        assertThat(result.get()).hasSize(COUNT).isSorted();
+    }
+
+    @Test
+    public void testFirstFailureOrListReturnsFirstFailure() {
+        Exception first = new IllegalStateException();
+
+        Try<List<Integer>> result = IntStream.range(0, COUNT).boxed().parallel()
+                .map(value -> value == 1000 ? Try.<Integer>failure(first)
+                        : value > 1000 ? Try.<Integer>failure(EXCEPTION) : Try.success(value))
+                .collect(Tries.firstFailureOrList());
+
+        assertThat(result.getException().get()).isSameAs(first);
+    }
+
+    @Test
+    public void testReducing() {
+        int sum = computations().parallel().collect(Tries.reducing(0, Integer::sum));
+
+        assertThat(sum).isEqualTo(IntStream.range(0, COUNT).filter(value -> value % 3 != 0).sum());
+    }
+
+    @Test
+    public void testReducingEmpty() {
+        int sum = Stream.<Try<Integer>>of(Try.failure(EXCEPTION)).collect(Tries.reducing(0, Integer::sum));
+
+        assertThat(sum).isEqualTo(0);
+    }
+
+    private static Stream<Try<Integer>> computations() {
+        return IntStream.range(0, COUNT).boxed()
+                .map(value -> value % 3 == 0 ? Try.<Integer>failure(new IllegalArgumentException()) : Try.success(value));
+    }
+}
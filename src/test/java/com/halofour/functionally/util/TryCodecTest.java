@@ -0,0 +1,274 @@
+package com.halofour.functionally.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TryCodecTest {
+    private static final String SUCCESS = "SUCCESS";
+    private static final String FAILURE = "FAILURE";
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private final TryCodec<String> strings = TryCodec.of(TryCodec.ValueCodec.strings());
+
+    @Test
+    public void testSuccessRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        strings.encode(Success.of(SUCCESS), buffer).flip();
+
+        assertThat(strings.decode(buffer)).isEqualTo(Success.of(SUCCESS));
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void testSuccessOfNullRoundTrip() {
+        TryCodec<Integer> ints = TryCodec.of(TryCodec.ValueCodec.ints());
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+
+        ints.encode(Success.ofNull(), buffer).flip();
+
+        assertThat(ints.decode(buffer)).isSameAs(Success.ofNull());
+    }
+
+    @Test
+    public void testOtherImplementationsRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        strings.encode(DelegatingTry.success(SUCCESS), buffer);
+        strings.encode(DelegatingTry.failure(new IllegalStateException(FAILURE)), buffer).flip();
+
+        assertThat(strings.encodedSize(DelegatingTry.success(SUCCESS))).isEqualTo(strings.encodedSize(Success.of(SUCCESS)));
+        assertThat(strings.decode(buffer)).isEqualTo(Success.of(SUCCESS));
+        assertThat(strings.decode(buffer).getException().get())
+                .isExactlyInstanceOf(IllegalStateException.class).hasMessage(FAILURE);
+    }
+
+    @Test
+    public void testEncodedSizeMatchesEncoding() {
+        List<Try<String>> computations = Arrays.asList(
+                Success.of(SUCCESS),
+                Success.of("\u00e9\u4e2d\ud83d\ude00"),
+                Success.ofNull(),
+                Failure.of(new IllegalStateException(FAILURE)),
+                Failure.of(new IllegalStateException()));
+        TryCodec<String> codec = strings.withStackFrames(2);
+
+        for (Try<String> computation : computations) {
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            codec.encode(computation, buffer);
+            assertThat(buffer.position()).isEqualTo(codec.encodedSize(computation));
+        }
+    }
+
+    @Test
+    public void testStringsRoundTripThroughDirectBuffer() {
+        String value = "ascii \u00e9 \u4e2d \ud83d\ude00 \ud800 end";
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+        strings.encode(Success.of(value), buffer).flip();
+
+        assertThat(strings.decode(buffer)).isEqualTo(Success.of(value));
+    }
+
+    @Test
+    public void testFailureRoundTrip() {
+        IllegalStateException exception = new IllegalStateException(FAILURE, new IOException("cause"));
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        strings.encode(Failure.of(exception), buffer).flip();
+
+        Throwable decoded = strings.decode(buffer).getException().get();
+        assertThat(decoded).isExactlyInstanceOf(IllegalStateException.class).hasMessage(FAILURE);
+        assertThat(decoded.getCause()).isNull();
+        assertThat(decoded.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    public void testFailureRoundTripWithStackFrames() {
+        IllegalStateException exception = new IllegalStateException(FAILURE);
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        TryCodec<String> codec = strings.withStackFrames(3);
+
+        codec.encode(Failure.of(exception), buffer).flip();
+
+        Throwable decoded = codec.decode(buffer).getException().get();
+        assertSameFrames(decoded.getStackTrace(), Arrays.copyOf(exception.getStackTrace(), 3));
+    }
+
+    @Test
+    public void testFailureOfUnknownClassDecodesAsCompactException() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.put((byte) 2);
+        TryCodec.putString(buffer, "com.example.MissingException");
+        TryCodec.putString(buffer, FAILURE);
+        buffer.putInt(0).flip();
+
+        Throwable decoded = strings.decode(buffer).getException().get();
+
+        assertThat(decoded).isExactlyInstanceOf(CompactException.class).hasMessage(FAILURE);
+        assertThat(((CompactException) decoded).getExceptionClassName()).isEqualTo("com.example.MissingException");
+    }
+
+    @Test
+    public void testFatalFailureClassDecodesAsCompactException() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.put((byte) 2);
+        TryCodec.putString(buffer, OutOfMemoryError.class.getName());
+        TryCodec.putString(buffer, FAILURE);
+        buffer.putInt(0).flip();
+
+        assertThat(strings.decode(buffer).getException().get()).isExactlyInstanceOf(CompactException.class);
+    }
+
+    @Test
+    public void testDecodeRejectsFrameCountBeyondBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.put((byte) 2);
+        TryCodec.putString(buffer, IllegalStateException.class.getName());
+        TryCodec.putString(buffer, FAILURE);
+        buffer.putInt(Integer.MAX_VALUE).flip();
+
+        expectedException.expect(IllegalArgumentException.class);
+        strings.decode(buffer);
+    }
+
+    @Test
+    public void testDecodeRejectsStringLengthBeyondBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) 0).putInt(Integer.MAX_VALUE).flip();
+
+        expectedException.expect(IllegalArgumentException.class);
+        strings.decode(buffer);
+    }
+
+    @Test
+    public void testDecodeRejectsTruncatedUtf8() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) 0).putInt(1).put((byte) 0xf0).putInt(0).flip();
+
+        expectedException.expect(IllegalArgumentException.class);
+        strings.decode(buffer);
+    }
+
+    @Test
+    public void testDecodeUnknownTag() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 42 });
+
+        expectedException.expect(IllegalArgumentException.class);
+        strings.decode(buffer);
+    }
+
+    @Test
+    public void testPrimitiveRoundTrips() {
+        TryCodec<Object> codec = TryCodec.of(new FailingValueCodec());
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+
+        codec.encode(TryInt.success(42), buffer);
+        codec.encode(TryLong.success(Long.MAX_VALUE), buffer);
+        codec.encode(TryDouble.success(1.5), buffer);
+        codec.encode(TryInt.failure(new IllegalStateException(FAILURE)), buffer);
+        buffer.flip();
+
+        assertThat(codec.decodeInt(buffer)).isEqualTo(TryInt.success(42));
+        assertThat(codec.decodeLong(buffer)).isEqualTo(TryLong.success(Long.MAX_VALUE));
+        assertThat(codec.decodeDouble(buffer)).isEqualTo(TryDouble.success(1.5));
+        assertThat(codec.decodeInt(buffer).getException().get()).hasMessage(FAILURE);
+    }
+
+    @Test
+    public void testPrimitiveEncodedSize() {
+        TryCodec<Object> codec = TryCodec.of(new FailingValueCodec());
+
+        assertThat(codec.encodedSize(TryInt.success(1))).isEqualTo(5);
+        assertThat(codec.encodedSize(TryLong.success(1L))).isEqualTo(9);
+        assertThat(codec.encodedSize(TryDouble.success(1.0))).isEqualTo(9);
+    }
+
+    @Test
+    public void testEncodeAllDecodesLazily() {
+        TryCodec<Integer> ints = TryCodec.of(TryCodec.ValueCodec.ints());
+        List<Try<Integer>> computations = Arrays.asList(
+                Success.of(1), Failure.of(new IllegalStateException(FAILURE)), Success.of(3));
+        ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) 99);
+        ints.encodeAll(computations, buffer).flip();
+        buffer.get();
+
+        Iterable<Try<Integer>> decoded = ints.decodeAll(buffer);
+
+        assertThat(buffer.position()).isEqualTo(1);
+        Iterator<Try<Integer>> iterator = decoded.iterator();
+        assertThat(iterator.next()).isEqualTo(Success.of(1));
+        assertThat(iterator.next().getException().get()).isExactlyInstanceOf(IllegalStateException.class);
+        assertThat(iterator.next()).isEqualTo(Success.of(3));
+        assertThat(iterator.hasNext()).isFalse();
+
+        List<Try<Integer>> again = new ArrayList<>();
+        decoded.forEach(again::add);
+        assertThat(again).hasSize(3);
+    }
+
+    @Test
+    public void testValueCodecs() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        TryCodec.of(TryCodec.ValueCodec.booleans()).encode(Success.of(true), buffer);
+        TryCodec.of(TryCodec.ValueCodec.longs()).encode(Success.of(7L), buffer);
+        TryCodec.of(TryCodec.ValueCodec.doubles()).encode(Success.of(2.5), buffer);
+        buffer.flip();
+
+        assertThat(TryCodec.of(TryCodec.ValueCodec.booleans()).decode(buffer)).isSameAs(Success.of(true));
+        assertThat(TryCodec.of(TryCodec.ValueCodec.longs()).decode(buffer)).isEqualTo(Success.of(7L));
+        assertThat(TryCodec.of(TryCodec.ValueCodec.doubles()).decode(buffer)).isEqualTo(Success.of(2.5));
+    }
+
+    @Test
+    public void testWithStackFramesRejectsNegative() {
+        expectedException.expect(IllegalArgumentException.class);
+        strings.withStackFrames(-1);
+    }
+
+    private static final class FailingValueCodec implements TryCodec.ValueCodec<Object> {
+        @Override
+        public int encodedSize(Object value) {
+            throw new AssertionError("boxed codec used");
+        }
+
+        @Override
+        public void encode(Object value, ByteBuffer buffer) {
+            throw new AssertionError("boxed codec used");
+        }
+
+        @Override
+        public Object decode(ByteBuffer buffer) {
+            throw new AssertionError("boxed codec used");
+        }
+    }
+
+    /**
+     * Compares the frames field by field, as on Java 9 and later {@link StackTraceElement#equals(Object)} also
+     * compares the module and class loader, which the compact form does not carry
+     */
+    private static void assertSameFrames(StackTraceElement[] actual, StackTraceElement[] expected) {
+        assertThat(actual).hasSize(expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(actual[i].getClassName()).isEqualTo(expected[i].getClassName());
+            assertThat(actual[i].getMethodName()).isEqualTo(expected[i].getMethodName());
+            assertThat(actual[i].getFileName()).isEqualTo(expected[i].getFileName());
+            assertThat(actual[i].getLineNumber()).isEqualTo(expected[i].getLineNumber());
+        }
+    }
+}
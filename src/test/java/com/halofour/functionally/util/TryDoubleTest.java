@@ -0,0 +1,46 @@
+package com.halofour.functionally.util;
+
+import org.junit.Test;
+
+import java.util.OptionalDouble;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TryDoubleTest {
+    private static final Exception EXCEPTION = new IllegalArgumentException("FAILURE");
+
+    @Test
+    public void testMap() throws Throwable {
+        TryDouble t = TryDouble.from(() -> Double.parseDouble("1.5")).map(value -> value * 2);
+
+        assertThat(t.getAsDouble()).isEqualTo(3.0);
+        assertThat(t.toOptional()).isEqualTo(OptionalDouble.of(3.0));
+        assertThat(t.mapToLong(Math::round).getAsLong()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testFailure() {
+        TryDouble t = TryDouble.failure(EXCEPTION);
+
+        assertThat(t.map(value -> value + 1)).isSameAs(t);
+        assertThat(t.getOrElse(-1.0)).isEqualTo(-1.0);
+        assertThat(t.mapToInt(value -> (int) value).isFailure(IllegalArgumentException.class)).isTrue();
+    }
+
+    @Test
+    public void testEquals() {
+        assertThat(TryDouble.success(Double.NaN)).isEqualTo(TryDouble.success(Double.NaN));
+        assertThat(TryDouble.success(0.0)).isNotEqualTo(TryDouble.success(-0.0));
+    }
+
+    @Test
+    public void testUnboxed() {
+        assertThat(TryDouble.unboxed(DelegatingTry.success(0.25))).isEqualTo(TryDouble.success(0.25));
+        assertThat(TryDouble.unboxed(DelegatingTry.success(null)).isFailure(NullPointerException.class)).isTrue();
+    }
+
+    @Test
+    public void testTryMapToDouble() throws Throwable {
+        assertThat(Try.success("0.25").mapToDouble(Double::parseDouble).getAsDouble()).isEqualTo(0.25);
+    }
+}
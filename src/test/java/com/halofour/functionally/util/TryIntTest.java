@@ -0,0 +1,157 @@
+package com.halofour.functionally.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TryIntTest {
+    private static final Exception EXCEPTION = new IllegalArgumentException("FAILURE");
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void testSuccess() throws Throwable {
+        TryInt t = TryInt.success(42);
+
+        assertThat(t.isSuccess()).isTrue();
+        assertThat(t.isFailure()).isFalse();
+        assertThat(t.getAsInt()).isEqualTo(42);
+        assertThat(t.getOrElse(0)).isEqualTo(42);
+        assertThat(t.getException().isPresent()).isFalse();
+        assertThat(t.toOptional()).isEqualTo(OptionalInt.of(42));
+    }
+
+    @Test
+    public void testFailure() throws Throwable {
+        TryInt t = TryInt.failure(EXCEPTION);
+
+        assertThat(t.isSuccess()).isFalse();
+        assertThat(t.isFailure()).isTrue();
+        assertThat(t.isFailure(IllegalArgumentException.class)).isTrue();
+        assertThat(t.isFailure(IllegalStateException.class)).isFalse();
+        assertThat(t.getOrElse(0)).isEqualTo(0);
+        assertThat(t.toOptional()).isEqualTo(OptionalInt.empty());
+
+        expectedException.expect(IllegalArgumentException.class);
+        t.getAsInt();
+    }
+
+    @Test
+    public void testFailureFatal() {
+        expectedException.expect(OutOfMemoryError.class);
+        TryInt.failure(new OutOfMemoryError());
+    }
+
+    @Test
+    public void testFrom() throws Throwable {
+        assertThat(TryInt.from(() -> Integer.parseInt("42")).getAsInt()).isEqualTo(42);
+        assertThat(TryInt.from(() -> Integer.parseInt("x")).isFailure(NumberFormatException.class)).isTrue();
+    }
+
+    @Test
+    public void testMap() throws Throwable {
+        assertThat(TryInt.success(21).map(value -> value * 2).getAsInt()).isEqualTo(42);
+        assertThat(TryInt.success(21).map(value -> { throw EXCEPTION; }).getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testMapFailureReturnsSelf() {
+        TryInt t = TryInt.failure(EXCEPTION);
+
+        assertThat(t.map(value -> value * 2)).isSameAs(t);
+        assertThat(t.flatMap(TryInt::success)).isSameAs(t);
+        assertThat(t.filter(value -> true)).isSameAs(t);
+    }
+
+    @Test
+    public void testMapToLongAndDouble() throws Throwable {
+        assertThat(TryInt.success(2).mapToLong(value -> value * 10_000_000_000L).getAsLong()).isEqualTo(20_000_000_000L);
+        assertThat(TryInt.success(1).mapToDouble(value -> value / 4.0).getAsDouble()).isEqualTo(0.25);
+        assertThat(TryInt.failure(EXCEPTION).mapToLong(value -> value).getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testMapToObj() throws Throwable {
+        assertThat(TryInt.success(42).mapToObj(Integer::toString).get()).isEqualTo("42");
+        assertThat(TryInt.failure(EXCEPTION).mapToObj(Integer::toString).isFailure()).isTrue();
+    }
+
+    @Test
+    public void testFlatMap() throws Throwable {
+        assertThat(TryInt.success(21).flatMap(value -> TryInt.success(value * 2)).getAsInt()).isEqualTo(42);
+        assertThat(TryInt.success(21).flatMapToLong(value -> TryLong.success(value)).getAsLong()).isEqualTo(21L);
+        assertThat(TryInt.success(21).flatMapToObj(value -> Try.failure(EXCEPTION)).isFailure()).isTrue();
+        assertThat(TryInt.success(21).flatMap(value -> { throw EXCEPTION; }).getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testFilter() {
+        TryInt t = TryInt.success(42);
+
+        assertThat(t.filter(value -> value > 0)).isSameAs(t);
+        assertThat(t.filter(value -> value < 0).isFailure(NoSuchElementException.class)).isTrue();
+    }
+
+    @Test
+    public void testRecover() throws Throwable {
+        TryInt t = TryInt.failure(EXCEPTION);
+
+        assertThat(t.recover(exception -> -1).getAsInt()).isEqualTo(-1);
+        assertThat(t.recover(IllegalStateException.class, exception -> -1)).isSameAs(t);
+        assertThat(t.recoverWith(exception -> TryInt.success(-2)).getAsInt()).isEqualTo(-2);
+        assertThat(TryInt.success(1).recover(exception -> -1).getAsInt()).isEqualTo(1);
+    }
+
+    @Test
+    public void testIfSuccessAndIfFailure() {
+        AtomicInteger value = new AtomicInteger();
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+
+        TryInt.success(42).ifSuccess(value::set);
+        TryInt.success(42).ifFailure(exception::set);
+        assertThat(value.get()).isEqualTo(42);
+        assertThat(exception.get()).isNull();
+
+        TryInt.failure(EXCEPTION).ifSuccess(value::set);
+        TryInt.failure(EXCEPTION).ifFailure(exception::set);
+        assertThat(value.get()).isEqualTo(42);
+        assertThat(exception.get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testBoxedAndUnboxed() throws Throwable {
+        assertThat(TryInt.success(42).boxed()).isEqualTo(Success.of(42));
+        assertThat(TryInt.failure(EXCEPTION).boxed()).isEqualTo(Failure.of(EXCEPTION));
+        assertThat(TryInt.unboxed(Success.of(42))).isEqualTo(TryInt.success(42));
+        assertThat(TryInt.unboxed(Failure.of(EXCEPTION))).isEqualTo(TryInt.failure(EXCEPTION));
+        assertThat(TryInt.unboxed(Success.of(null)).isFailure(NullPointerException.class)).isTrue();
+        assertThat(TryInt.unboxed(DelegatingTry.success(42))).isEqualTo(TryInt.success(42));
+        assertThat(TryInt.unboxed(DelegatingTry.failure(EXCEPTION))).isEqualTo(TryInt.failure(EXCEPTION));
+    }
+
+    @Test
+    public void testTryMapToInt() throws Throwable {
+        assertThat(Try.success("42").mapToInt(Integer::parseInt).getAsInt()).isEqualTo(42);
+        assertThat(Try.success("x").mapToInt(Integer::parseInt).isFailure(NumberFormatException.class)).isTrue();
+        assertThat(Try.<String>failure(EXCEPTION).mapToInt(Integer::parseInt).getException().get()).isSameAs(EXCEPTION);
+        assertThat(Try.success("42").flatMapToInt(value -> TryInt.from(() -> Integer.parseInt(value))).getAsInt()).isEqualTo(42);
+    }
+
+    @Test
+    public void testEqualsAndToString() {
+        assertThat(TryInt.success(42)).isEqualTo(TryInt.success(42));
+        assertThat(TryInt.success(42)).isNotEqualTo(TryInt.success(43));
+        assertThat(TryInt.success(0)).isNotEqualTo(TryInt.failure(EXCEPTION));
+        assertThat(TryInt.success(42).hashCode()).isEqualTo(TryInt.success(42).hashCode());
+        assertThat(TryInt.success(42).toString()).isEqualTo("Success[42]");
+        assertThat(TryInt.failure(EXCEPTION).toString()).isEqualTo(Failure.of(EXCEPTION).toString());
+    }
+}
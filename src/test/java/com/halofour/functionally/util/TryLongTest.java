@@ -0,0 +1,37 @@
+package com.halofour.functionally.util;
+
+import org.junit.Test;
+
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TryLongTest {
+    private static final Exception EXCEPTION = new IllegalArgumentException("FAILURE");
+
+    @Test
+    public void testMap() throws Throwable {
+        TryLong t = TryLong.from(() -> Long.parseLong("21")).map(value -> value * 2);
+
+        assertThat(t.getAsLong()).isEqualTo(42L);
+        assertThat(t.toOptional()).isEqualTo(OptionalLong.of(42L));
+        assertThat(t.mapToInt(Math::toIntExact).getAsInt()).isEqualTo(42);
+        assertThat(TryLong.success(Long.MAX_VALUE).mapToInt(Math::toIntExact).isFailure(ArithmeticException.class)).isTrue();
+    }
+
+    @Test
+    public void testFailure() {
+        TryLong t = TryLong.failure(EXCEPTION);
+
+        assertThat(t.map(value -> value + 1)).isSameAs(t);
+        assertThat(t.getOrElse(-1L)).isEqualTo(-1L);
+        assertThat(t.mapToDouble(value -> value).isFailure(IllegalArgumentException.class)).isTrue();
+    }
+
+    @Test
+    public void testTryMapToLong() throws Throwable {
+        assertThat(Try.success("42").mapToLong(Long::parseLong).getAsLong()).isEqualTo(42L);
+        assertThat(TryLong.unboxed(Try.success(42L)).boxed()).isEqualTo(Success.of(42L));
+        assertThat(TryLong.unboxed(DelegatingTry.success(42L)).boxed()).isEqualTo(Success.of(42L));
+    }
+}
@@ -0,0 +1,125 @@
+package com.halofour.functionally.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TryMetricsTest {
+    @Before
+    public void setUp() {
+        TryMetrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        TryMetrics.reset();
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertThat(TryMetrics.isEnabled()).isEqualTo(Boolean.getBoolean(TryMetrics.ENABLED_PROPERTY));
+    }
+
+    @Test
+    public void testDisabledMetricsAreNotRecorded() {
+        if (TryMetrics.isEnabled()) {
+            return;
+        }
+
+        Success.of("SUCCESS");
+        Try.<String>failure(new IllegalStateException()).recover(exception -> "RECOVERED");
+
+        TryMetrics.Snapshot snapshot = TryMetrics.snapshot();
+        assertThat(snapshot.getSuccesses()).isZero();
+        assertThat(snapshot.getFailures()).isZero();
+        assertThat(snapshot.getRecoveries()).isZero();
+    }
+
+    @Test
+    public void testRecordsSuccessesAndFailures() {
+        TryMetrics.recordSuccess();
+        TryMetrics.recordSuccess();
+        TryMetrics.recordFailure(new IllegalStateException());
+        TryMetrics.recordFailure(new IllegalStateException());
+        TryMetrics.recordFailure(new IllegalArgumentException());
+
+        TryMetrics.Snapshot snapshot = TryMetrics.snapshot();
+
+        assertThat(snapshot.getSuccesses()).isEqualTo(2L);
+        assertThat(snapshot.getFailures()).isEqualTo(3L);
+        assertThat(snapshot.getFailuresByClass())
+                .containsEntry(IllegalStateException.class, 2L)
+                .containsEntry(IllegalArgumentException.class, 1L)
+                .hasSize(2);
+    }
+
+    @Test
+    public void testRecordsRecoveries() {
+        TryMetrics.recordRecovery();
+
+        assertThat(TryMetrics.snapshot().getRecoveries()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testRecordsIOLatency() {
+        TryMetrics.recordIO(TimeUnit.MILLISECONDS.toNanos(3));
+        TryMetrics.recordIO(TimeUnit.MILLISECONDS.toNanos(5));
+
+        TryMetrics.Snapshot snapshot = TryMetrics.snapshot();
+
+        assertThat(snapshot.getIORuns()).isEqualTo(2L);
+        assertThat(snapshot.getIOTotalTime(TimeUnit.MILLISECONDS)).isEqualTo(8L);
+        assertThat(snapshot.getIOMaxTime(TimeUnit.MILLISECONDS)).isEqualTo(5L);
+    }
+
+    @Test
+    public void testRecordsConcurrently() throws Exception {
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    TryMetrics.recordFailure(new IllegalStateException());
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        TryMetrics.Snapshot snapshot = TryMetrics.snapshot();
+
+        assertThat(snapshot.getFailures()).isEqualTo(40000L);
+        assertThat(snapshot.getFailuresByClass()).containsEntry(IllegalStateException.class, 40000L);
+    }
+
+    @Test
+    public void testSnapshotIsUnaffectedByLaterRecording() {
+        TryMetrics.recordSuccess();
+        TryMetrics.Snapshot snapshot = TryMetrics.snapshot();
+
+        TryMetrics.recordSuccess();
+        TryMetrics.recordFailure(new IllegalStateException());
+
+        assertThat(snapshot.getSuccesses()).isEqualTo(1L);
+        assertThat(snapshot.getFailuresByClass()).isEmpty();
+    }
+
+    @Test
+    public void testReset() {
+        TryMetrics.recordSuccess();
+        TryMetrics.recordFailure(new IllegalStateException());
+        TryMetrics.recordIO(1L);
+
+        TryMetrics.reset();
+
+        TryMetrics.Snapshot snapshot = TryMetrics.snapshot();
+        assertThat(snapshot.getSuccesses()).isZero();
+        assertThat(snapshot.getFailuresByClass()).isEmpty();
+        assertThat(snapshot.getIOMaxTime(TimeUnit.NANOSECONDS)).isZero();
+    }
+}
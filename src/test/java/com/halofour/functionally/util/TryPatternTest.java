@@ -0,0 +1,132 @@
+package com.halofour.functionally.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TryPatternTest {
+    private static final String SUCCESS = "SUCCESS";
+    private static final String FAILURE = "FAILURE";
+    private static final Exception EXCEPTION = new IllegalArgumentException(FAILURE);
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void testBuildsOnce() {
+        AtomicInteger builds = new AtomicInteger();
+        TryPattern<String, Integer> pattern = TryPattern.of(match -> {
+            builds.incrementAndGet();
+            match.success(String::length);
+        });
+
+        pattern.apply(Try.success(SUCCESS));
+        pattern.apply(Try.success(FAILURE));
+
+        assertThat(builds.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSuccessClausesInOrder() throws Throwable {
+        TryPattern<String, String> pattern = TryPattern.of(match -> match
+                .success(SUCCESS, value -> "value")
+                .successWhen(value -> value.startsWith("S"), value -> "when")
+                .success(value -> "any")
+                .failure(exception -> "failure"));
+
+        assertThat(pattern.apply(Try.success(SUCCESS)).get()).isEqualTo("value");
+        assertThat(pattern.apply(Try.success("STRING")).get()).isEqualTo("when");
+        assertThat(pattern.apply(Try.success("OTHER")).get()).isEqualTo("any");
+    }
+
+    @Test
+    public void testFailureClausesByClass() throws Throwable {
+        TryPattern<String, String> pattern = TryPattern.of(match -> match
+                .success(value -> value)
+                .failure(FileNotFoundException.class, exception -> "not found")
+                .failure(IOException.class, exception -> "io")
+                .failure(exception -> "any"));
+
+        assertThat(pattern.apply(Try.failure(new FileNotFoundException())).get()).isEqualTo("not found");
+        assertThat(pattern.apply(Try.failure(new IOException())).get()).isEqualTo("io");
+        assertThat(pattern.apply(Try.failure(EXCEPTION)).get()).isEqualTo("any");
+        assertThat(pattern.apply(Try.failure(new FileNotFoundException())).get()).isEqualTo("not found");
+    }
+
+    @Test
+    public void testFailureWhenIsEvaluatedPerException() throws Throwable {
+        TryPattern<String, String> pattern = TryPattern.of(match -> match
+                .failureWhen(exception -> FAILURE.equals(exception.getMessage()), exception -> "when")
+                .failure(IllegalArgumentException.class, exception -> "class"));
+
+        assertThat(pattern.apply(Try.failure(EXCEPTION)).get()).isEqualTo("when");
+        assertThat(pattern.apply(Try.failure(new IllegalArgumentException("OTHER"))).get()).isEqualTo("class");
+    }
+
+    @Test
+    public void testOtherImplementations() throws Throwable {
+        TryPattern<String, String> pattern = TryPattern.of(match -> match
+                .success(value -> "success")
+                .failure(IllegalArgumentException.class, exception -> "failure"));
+
+        assertThat(pattern.apply(DelegatingTry.success(SUCCESS)).get()).isEqualTo("success");
+        assertThat(pattern.apply(DelegatingTry.failure(EXCEPTION)).get()).isEqualTo("failure");
+    }
+
+    @Test
+    public void testFunctionThrows() {
+        TryPattern<String, String> pattern = TryPattern.of(match -> match
+                .success(value -> { throw EXCEPTION; }));
+
+        assertThat(pattern.apply(Try.success(SUCCESS)).getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testOrElse() throws Throwable {
+        TryPattern<String, String> orElse = TryPattern.of(match -> match
+                .failure(IOException.class, exception -> "io")
+                .orElse(() -> "else"));
+        TryPattern<String, String> orElseSuccess = TryPattern.of(match -> match
+                .success(SUCCESS, value -> value)
+                .orElseSuccess("default"));
+        TryPattern<String, String> orElseFailure = TryPattern.of(match -> match
+                .orElseFailure(EXCEPTION));
+
+        assertThat(orElse.apply(Try.failure(EXCEPTION)).get()).isEqualTo("else");
+        assertThat(orElse.apply(Try.success(SUCCESS)).get()).isEqualTo("else");
+        assertThat(orElseSuccess.apply(Try.success("OTHER")).get()).isEqualTo("default");
+        assertThat(orElseFailure.apply(Try.success(SUCCESS)).getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testMatchesSameAsTryMatch() {
+        TryPattern<String, String> pattern = TryPattern.of(TryPatternTest::clauses);
+
+        for (Try<String> computation : new Try[] { Try.success(SUCCESS), Try.success("OTHER"),
+                Try.failure(EXCEPTION), Try.failure(new IOException()) }) {
+            assertThat(pattern.apply(computation)).isEqualTo(computation.match(TryPatternTest::clauses));
+        }
+    }
+
+    @Test
+    public void testNoMatchingPatterns() {
+        TryPattern<String, String> pattern = TryPattern.of(match -> match
+                .failure(IOException.class, exception -> "io"));
+
+        expectedException.expect(UnmatchedPatternException.class);
+        pattern.apply(Try.failure(EXCEPTION));
+    }
+
+    private static void clauses(TryMatcher<String, String> match) {
+        match.success(SUCCESS, value -> "value")
+                .failure(IOException.class, exception -> "io")
+                .failureWhen(exception -> exception.getMessage() != null, Throwable::getMessage)
+                .orElseSuccess("default");
+    }
+}
@@ -0,0 +1,128 @@
+package com.halofour.functionally.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TryPipelineTest {
+    private static final String FAILURE = "FAILURE";
+    private static final Exception EXCEPTION = new IllegalArgumentException(FAILURE);
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private final TryPipeline<String, Integer> pipeline = TryPipeline.<String>identity()
+            .map(Integer::parseInt)
+            .filter(value -> value >= 0)
+            .flatMap(value -> value == 0 ? Try.failure(EXCEPTION) : Try.success(100 / value))
+            .recover(NumberFormatException.class, exception -> -1);
+
+    @Test
+    public void testIdentity() throws Throwable {
+        assertThat(TryPipeline.<String>identity().apply(FAILURE).get()).isEqualTo(FAILURE);
+    }
+
+    @Test
+    public void testApply() throws Throwable {
+        assertThat(pipeline.apply("4").get()).isEqualTo(25);
+    }
+
+    @Test
+    public void testApplyRecovers() throws Throwable {
+        assertThat(pipeline.apply("x").get()).isEqualTo(-1);
+    }
+
+    @Test
+    public void testApplyFiltered() {
+        assertThat(pipeline.apply("-4").isFailure(NoSuchElementException.class)).isTrue();
+    }
+
+    @Test
+    public void testApplyFlatMapFailure() {
+        assertThat(pipeline.apply("0").getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testApplyMatchesChainedOperations() {
+        for (String input : Arrays.asList("4", "x", "-4", "0")) {
+            Try<Integer> chained = Try.success(input)
+                    .map(Integer::parseInt)
+                    .filter(value -> value >= 0)
+                    .flatMap(value -> value == 0 ? Try.<Integer>failure(EXCEPTION) : Try.success(100 / value))
+                    .recover(NumberFormatException.class, exception -> -1);
+
+            assertThat(pipeline.apply(input).isSuccess()).isEqualTo(chained.isSuccess());
+            assertThat(pipeline.apply(input).getOrElse(null)).isEqualTo(chained.getOrElse(null));
+        }
+    }
+
+    @Test
+    public void testRecoverWith() throws Throwable {
+        TryPipeline<String, Integer> recovering = pipeline.recoverWith(exception -> Try.success(0));
+
+        assertThat(recovering.apply("-4").get()).isEqualTo(0);
+        assertThat(recovering.apply("4").get()).isEqualTo(25);
+    }
+
+    @Test
+    public void testOtherImplementations() throws Throwable {
+        TryPipeline<Integer, Integer> flatMapped = TryPipeline.<Integer>identity()
+                .flatMap(value -> DelegatingTry.success(value + 1))
+                .map(value -> value * 2);
+        TryPipeline<Integer, Integer> recovering = TryPipeline.<Integer>identity()
+                .flatMap(value -> DelegatingTry.<Integer>failure(EXCEPTION))
+                .recoverWith(exception -> DelegatingTry.success(0));
+
+        assertThat(flatMapped.apply(1).get()).isEqualTo(4);
+        assertThat(recovering.apply(1).get()).isEqualTo(0);
+        assertThat(TryPipeline.<Integer>identity().flatMap(value -> DelegatingTry.<Integer>failure(EXCEPTION))
+                .apply(1).getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testStagesAfterRecoverRunOnRecoveredValue() throws Throwable {
+        TryPipeline<String, Integer> doubled = pipeline.map(value -> value * 2);
+
+        assertThat(doubled.apply("x").get()).isEqualTo(-2);
+    }
+
+    @Test
+    public void testPipelineIsImmutable() throws Throwable {
+        pipeline.map(value -> value * 2);
+
+        assertThat(pipeline.apply("4").get()).isEqualTo(25);
+    }
+
+    @Test
+    public void testFlatMapReturnsNull() {
+        TryPipeline<String, String> returnsNull = TryPipeline.<String>identity().flatMap(value -> null);
+
+        assertThat(returnsNull.apply(FAILURE).isFailure(NullPointerException.class)).isTrue();
+    }
+
+    @Test
+    public void testFatalExceptionIsRethrown() {
+        TryPipeline<String, String> fatal = TryPipeline.<String>identity().map(value -> {
+            throw new OutOfMemoryError();
+        });
+
+        expectedException.expect(OutOfMemoryError.class);
+        fatal.apply(FAILURE);
+    }
+
+    @Test
+    public void testApplyAll() throws Throwable {
+        List<Try<Integer>> results = pipeline.applyAll(Arrays.asList("4", "x", "-4"));
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).get()).isEqualTo(25);
+        assertThat(results.get(1).get()).isEqualTo(-1);
+        assertThat(results.get(2).isFailure()).isTrue();
+    }
+}
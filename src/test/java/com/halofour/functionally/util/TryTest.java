@@ -8,6 +8,16 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -67,4 +77,154 @@ public class TryTest {
         assertThat(t).isInstanceOf(Failure.class);
         verify(supplier, times(1)).get();
     }
+
+    @Test
+    public void testUnit() throws Throwable {
+        Try<Void> t = Try.unit();
+
+        assertThat(t).isInstanceOf(Success.class);
+        assertThat(t.get()).isNull();
+        assertThat(t).isSameAs(Try.unit());
+    }
+
+    @Test
+    public void testFailureNoStack() {
+        Try<String> t = Try.failureNoStack(FAILURE);
+
+        assertThat(t).isInstanceOf(Failure.class);
+        assertThat(t.getException().get()).isInstanceOf(StacklessException.class).hasMessage(FAILURE);
+        assertThat(t.getException().get().getStackTrace()).isEmpty();
+    }
+
+    @Test
+    public void testSequence() throws Throwable {
+        Try<List<String>> t = Try.sequence(Arrays.asList(Try.success(SUCCESS), Try.success(FAILURE)));
+
+        assertThat(t.get()).containsExactly(SUCCESS, FAILURE);
+    }
+
+    @Test
+    public void testSequenceReturnsFirstFailure() throws Throwable {
+        Try<String> failure = Try.failure(EXCEPTION);
+        Iterator<Try<String>> iterator = Arrays.asList(Try.success(SUCCESS), failure, null).iterator();
+
+        Iterable<Try<String>> computations = () -> iterator;
+
+        Try<List<String>> t = Try.sequence(computations);
+
+        assertThat(t).isSameAs(failure);
+        assertThat(iterator.next()).isNull();
+    }
+
+    @Test
+    public void testSequenceOfOtherImplementations() throws Throwable {
+        Try<List<String>> t = Try.sequence(Arrays.asList(DelegatingTry.success(SUCCESS), DelegatingTry.success(FAILURE)));
+
+        assertThat(t.get()).containsExactly(SUCCESS, FAILURE);
+        assertThat(Try.sequence(Arrays.asList(DelegatingTry.success(SUCCESS), DelegatingTry.<String>failure(EXCEPTION)))
+                .getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testTraverse() throws Throwable {
+        Try<List<Integer>> t = Try.traverse(Arrays.asList("1", "2", "3"), Integer::parseInt);
+
+        assertThat(t.get()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void testTraverseStopsAtFirstFailure() throws Throwable {
+        List<String> applied = new ArrayList<>();
+
+        Try<List<Integer>> t = Try.traverse(Arrays.asList("1", "x", "3"), value -> {
+            applied.add(value);
+            return Integer.parseInt(value);
+        });
+
+        assertThat(t.isFailure(NumberFormatException.class)).isTrue();
+        assertThat(applied).containsExactly("1", "x");
+    }
+
+    @Test
+    public void testCombine() throws Throwable {
+        Try<String> t = Try.combine(Try.success("a"), Try.success("b"), Try.success("c"), Try.success("d"),
+                Try.success("e"), Try.success("f"), Try.success("g"), Try.success("h"),
+                (a, b, c, d, e, f, g, h) -> a + b + c + d + e + f + g + h);
+
+        assertThat(t.get()).isEqualTo("abcdefgh");
+    }
+
+    @Test
+    public void testCombineReturnsFirstFailure() {
+        Try<String> failure = Try.failure(EXCEPTION);
+
+        Try<String> t = Try.combine(Try.success("a"), failure, Try.failure(new IllegalStateException()),
+                (a, b, c) -> a + b + c);
+
+        assertThat(t).isSameAs(failure);
+    }
+
+    @Test
+    public void testCombineOfOtherImplementations() throws Throwable {
+        Try<String> t = Try.combine(DelegatingTry.success("a"), DelegatingTry.success("b"), DelegatingTry.success("c"),
+                DelegatingTry.success("d"), DelegatingTry.success("e"), DelegatingTry.success("f"),
+                DelegatingTry.success("g"), DelegatingTry.success("h"),
+                (a, b, c, d, e, f, g, h) -> a + b + c + d + e + f + g + h);
+
+        assertThat(t.get()).isEqualTo("abcdefgh");
+        assertThat(Try.combine(DelegatingTry.success("a"), DelegatingTry.<String>failure(EXCEPTION), (a, b) -> a + b)
+                .getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testCombineThrows() {
+        Try<String> t = Try.combine(Try.success("a"), Try.success("b"), (a, b) -> {
+            throw EXCEPTION;
+        });
+
+        assertThat(t.getException().get()).isSameAs(EXCEPTION);
+    }
+
+    @Test
+    public void testTraverseParallel() throws Throwable {
+        List<Integer> inputs = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+
+        Try<List<Integer>> t = Try.traverseParallel(inputs, value -> value * 2);
+
+        assertThat(t.get()).hasSize(inputs.size()).isSorted();
+        assertThat(t.get().get(99_999)).isEqualTo(199_998);
+    }
+
+    @Test
+    public void testTraverseParallelStopsAfterFailure() {
+        List<Integer> inputs = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        AtomicInteger applied = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Try<List<Integer>> t = Try.traverseParallel(inputs, value -> {
+                applied.incrementAndGet();
+                if (value == 0) {
+                    throw EXCEPTION;
+                }
+                return value;
+            }, pool, 100);
+
+            assertThat(t.getException().get()).isSameAs(EXCEPTION);
+            assertThat(applied.get()).isLessThan(inputs.size() / 2);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTraverseParallelEmpty() throws Throwable {
+        assertThat(Try.traverseParallel(Collections.<String>emptyList(), String::length).get()).isEmpty();
+    }
+
+    @Test
+    public void testTraverseParallelRejectsThreshold() {
+        expectedException.expect(IllegalArgumentException.class);
+
+        Try.traverseParallel(Arrays.asList(SUCCESS), String::length, ForkJoinPool.commonPool(), 0);
+    }
 }